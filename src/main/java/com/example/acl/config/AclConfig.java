@@ -1,32 +1,55 @@
 package com.example.acl.config;
 
-import com.example.acl.repository.DocumentRepository;
-import com.example.acl.repository.ProjectRepository;
-import com.example.acl.repository.UserRepository;
+import com.example.acl.security.AuthorizationDecisionMemoFilter;
+import com.example.acl.security.CachingAclPermissionEvaluator;
+import com.example.acl.security.CompactAcl;
 import com.example.acl.security.CustomMethodSecurityExpressionHandler;
+import com.example.acl.security.DifferentialJdbcMutableAclService;
+import com.example.acl.security.InMemoryAclStore;
+import com.example.acl.security.InMemoryMutableAclService;
+import com.example.acl.security.IndexedPermissionGrantingStrategy;
+import com.example.acl.security.NegativeCachingLookupStrategy;
+import com.example.acl.security.OffHeapAclCache;
+import com.example.acl.security.RecursiveLookupStrategy;
+import com.example.acl.security.RefreshingAclCache;
+import com.example.acl.security.SecurityExpressionWarmer;
+import com.example.acl.security.TieredAclCache;
+import com.example.acl.service.AclBatchLoader;
+import com.example.acl.service.AclDecisionCache;
 import com.example.acl.service.AclPermissionRegistry;
+import com.example.acl.service.AclPrimaryKeyResolver;
+import com.example.acl.service.AclSidResolver;
+import com.example.acl.service.OwnershipResolver;
+import com.example.acl.service.ProjectMembershipResolver;
+import com.example.acl.service.SidDictionary;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.security.acls.AclPermissionEvaluator;
 import org.springframework.security.acls.domain.AclAuthorizationStrategy;
 import org.springframework.security.acls.domain.AclAuthorizationStrategyImpl;
 import org.springframework.security.acls.domain.ConsoleAuditLogger;
-import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
 import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
-import org.springframework.security.acls.jdbc.BasicLookupStrategy;
-import org.springframework.security.acls.jdbc.JdbcMutableAclService;
 import org.springframework.security.acls.jdbc.LookupStrategy;
 import org.springframework.security.acls.model.AclCache;
 import org.springframework.security.acls.model.MutableAclService;
-import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.unit.DataSize;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -35,20 +58,19 @@ public class AclConfig {
 
     private final DataSource dataSource;
     private final AclPermissionRegistry permissionRegistry;
-
-    // Repositories used by custom method security expressions
-    private final DocumentRepository documentRepository;
-    private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final SidDictionary sidDictionary;
 
     @Bean
     public AclAuthorizationStrategy aclAuthorizationStrategy() {
         return new AclAuthorizationStrategyImpl(new SimpleGrantedAuthority("ROLE_ADMIN"));
     }
 
+    /**
+     * Same decisions as DefaultPermissionGrantingStrategy, answered from a per-ACL index of first ACEs by SID and mask.
+     */
     @Bean
-    public PermissionGrantingStrategy permissionGrantingStrategy() {
-        return new DefaultPermissionGrantingStrategy(new ConsoleAuditLogger());
+    public IndexedPermissionGrantingStrategy permissionGrantingStrategy() {
+        return new IndexedPermissionGrantingStrategy(new ConsoleAuditLogger(), sidDictionary, 10_000);
     }
 
     @Bean
@@ -61,52 +83,169 @@ public class AclConfig {
         return cacheManager;
     }
 
+    /**
+     * With {@code acl.cache.mode=expiring} (the default), the Caffeine-backed "aclCache" alone or, when
+     * {@code acl.cache.off-heap.max-bytes} is set, as the first tier of a {@link TieredAclCache} over an
+     * {@link OffHeapAclCache} of that size. With {@code acl.cache.mode=refreshing}, a {@link RefreshingAclCache}
+     * that loads ACLs itself, one load per object at a time, and reloads them in the background once older than
+     * {@code acl.cache.refresh-after-write}; its statistics are published for "aclRefreshingCache".
+     */
     @Bean
-    public AclCache aclCache(CacheManager cacheManager) {
-        return new SpringCacheBasedAclCache(
+    public AclCache aclCache(CacheManager cacheManager, MeterRegistry meterRegistry,
+                             @Value("${acl.cache.off-heap.max-bytes:0}") DataSize offHeapSize,
+                             @Value("${acl.cache.mode:expiring}") String mode,
+                             @Value("${acl.cache.refresh-after-write:1m}") Duration refreshAfterWrite) {
+        if ("refreshing".equals(mode)) {
+            AclCache noCache = new SpringCacheBasedAclCache(
+                    new NoOpCache("aclLoader"),
+                    permissionGrantingStrategy(),
+                    aclAuthorizationStrategy()
+            );
+            RefreshingAclCache refreshingCache = new RefreshingAclCache(
+                    recursiveLookupStrategy(noCache),
+                    2048,
+                    refreshAfterWrite,
+                    Duration.ofMinutes(15),
+                    ForkJoinPool.commonPool()
+            );
+            CaffeineCacheMetrics.monitor(meterRegistry, refreshingCache.cache(), "aclRefreshingCache");
+            return refreshingCache;
+        }
+        AclCache heapCache = new SpringCacheBasedAclCache(
                 cacheManager.getCache("aclCache"),
                 permissionGrantingStrategy(),
                 aclAuthorizationStrategy()
         );
+        if (offHeapSize.toBytes() <= 0) {
+            return heapCache;
+        }
+        CompactAcl.Context context = new CompactAcl.Context(
+                aclAuthorizationStrategy(),
+                permissionGrantingStrategy(),
+                permissionRegistry,
+                sidDictionary
+        );
+        return new TieredAclCache(heapCache, new OffHeapAclCache(context, offHeapSize.toBytes()), meterRegistry);
     }
 
+    /**
+     * RecursiveLookupStrategy, which loads an ACL with all of its ancestors in one query, or the loading path of a
+     * {@link RefreshingAclCache}, behind a negative cache of object identities that have no ACL, so repeated
+     * probes of ACL-less objects cost no SQL. Hit/miss counters are published as {@code cache.gets} for
+     * "aclNegativeCache".
+     */
     @Bean
-    public LookupStrategy lookupStrategy(AclCache aclCache) {
-        return new BasicLookupStrategy(
+    public NegativeCachingLookupStrategy lookupStrategy(AclCache aclCache, MeterRegistry meterRegistry) {
+        LookupStrategy lookupStrategy = aclCache instanceof RefreshingAclCache refreshingCache
+                ? refreshingCache.lookupStrategy()
+                : recursiveLookupStrategy(aclCache);
+        NegativeCachingLookupStrategy negativeCachingLookupStrategy = new NegativeCachingLookupStrategy(
+                lookupStrategy,
+                10_000,
+                Duration.ofMinutes(5)
+        );
+        CaffeineCacheMetrics.monitor(meterRegistry, negativeCachingLookupStrategy.cache(), "aclNegativeCache");
+        return negativeCachingLookupStrategy;
+    }
+
+    private RecursiveLookupStrategy recursiveLookupStrategy(AclCache aclCache) {
+        return new RecursiveLookupStrategy(
                 dataSource,
                 aclCache,
                 aclAuthorizationStrategy(),
-                new ConsoleAuditLogger()
+                permissionGrantingStrategy(),
+                permissionRegistry,
+                sidDictionary,
+                AclBatchLoader.BATCH_SIZE
         );
     }
 
+    /**
+     * {@code acl.engine=jdbc} (the default) reads ACLs through the lookup strategy above; {@code acl.engine=memory}
+     * serves every read from an {@link InMemoryAclStore} of the whole dataset and writes through to the tables.
+     */
     @Bean
-    public MutableAclService aclService(LookupStrategy lookupStrategy, AclCache aclCache) {
-        JdbcMutableAclService service = new JdbcMutableAclService(
+    public MutableAclService aclService(NegativeCachingLookupStrategy lookupStrategy, AclCache aclCache,
+                                        AclPrimaryKeyResolver primaryKeys,
+                                        @Value("${acl.engine:jdbc}") String engine) {
+        if ("memory".equals(engine)) {
+            InMemoryAclStore store = new InMemoryAclStore(
+                    dataSource,
+                    aclCache,
+                    aclAuthorizationStrategy(),
+                    permissionGrantingStrategy(),
+                    permissionRegistry,
+                    sidDictionary
+            );
+            return new InMemoryMutableAclService(dataSource, store, aclCache, primaryKeys) {
+                @Override
+                protected void aclWritten(ObjectIdentity objectIdentity) {
+                    super.aclWritten(objectIdentity);
+                    permissionGrantingStrategy().forget(objectIdentity);
+                }
+            };
+        }
+        return new DifferentialJdbcMutableAclService(
                 dataSource,
                 lookupStrategy,
-                aclCache
-        );
-        service.setClassIdentityQuery("SELECT @@IDENTITY");
-        service.setSidIdentityQuery("SELECT @@IDENTITY");
-        return service;
+                aclCache,
+                primaryKeys
+        ) {
+            @Override
+            protected void createObjectIdentity(ObjectIdentity object, Sid owner) {
+                super.createObjectIdentity(object, owner);
+                lookupStrategy.forgetMissing(object);
+            }
+
+            @Override
+            protected void aclWritten(ObjectIdentity objectIdentity) {
+                permissionGrantingStrategy().forget(objectIdentity);
+            }
+        };
     }
 
     /**
      * Registers a custom MethodSecurityExpressionHandler that supports:
      * - Spring Security ACL checks via hasPermission/hasPermission(object, permission)
      * - Domain-specific helpers like isDocumentOwner(..) and hasProjectRole(..)
+     * - Batched ACL loading for hasPermission(filterObject, ..) in @PostFilter collections
+     * - Memoized helper decisions, counted as {@code acl.decision.memo} hits and misses
+     * - Opt-in SpEL compilation through {@code acl.security.spel-compiler-mode} (OFF, MIXED or IMMEDIATE)
+     * - ACL decisions shared across requests through the {@link AclDecisionCache}
      */
     @Bean
-    public MethodSecurityExpressionHandler methodSecurityExpressionHandler(MutableAclService aclService) {
+    public CustomMethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            MutableAclService aclService,
+            AclDecisionCache decisionCache,
+            AclSidResolver sidResolver,
+            AclBatchLoader aclBatchLoader,
+            OwnershipResolver ownershipResolver,
+            ProjectMembershipResolver membershipResolver,
+            MeterRegistry meterRegistry,
+            @Value("${acl.security.spel-compiler-mode:OFF}") SpelCompilerMode compilerMode) {
         CustomMethodSecurityExpressionHandler expressionHandler = new CustomMethodSecurityExpressionHandler(
-                documentRepository,
-                projectRepository,
-                userRepository
+                sidResolver,
+                aclBatchLoader,
+                ownershipResolver,
+                membershipResolver,
+                permissionRegistry,
+                meterRegistry
         );
-        AclPermissionEvaluator permissionEvaluator = new AclPermissionEvaluator(aclService);
-        permissionEvaluator.setPermissionFactory(permissionRegistry);
+        expressionHandler.setCompilerMode(compilerMode);
+        AclPermissionEvaluator permissionEvaluator = new CachingAclPermissionEvaluator(aclService, decisionCache, permissionRegistry);
+        permissionEvaluator.setSidRetrievalStrategy(sidResolver);
         expressionHandler.setPermissionEvaluator(permissionEvaluator);
         return expressionHandler;
     }
+
+    @Bean
+    public AuthorizationDecisionMemoFilter authorizationDecisionMemoFilter(CustomMethodSecurityExpressionHandler methodSecurityExpressionHandler) {
+        return new AuthorizationDecisionMemoFilter(methodSecurityExpressionHandler);
+    }
+
+    @Bean
+    public SecurityExpressionWarmer securityExpressionWarmer(ApplicationContext applicationContext,
+                                                             CustomMethodSecurityExpressionHandler methodSecurityExpressionHandler) {
+        return new SecurityExpressionWarmer(applicationContext, methodSecurityExpressionHandler);
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.acl.repository;
+
+/**
+ * SQL fragments shared by the ACL-constrained repository queries. They expect the domain table to be aliased
+ * {@code r} and an {@link AclQueryContext} parameter named {@code ctx}.
+ */
+final class AclQueries {
+
+    /**
+     * A granted permission with the requested mask for one of the caller's SIDs, looked up in
+     * {@code acl_effective_permission}, where inheritance from parent ACLs is already flattened.
+     */
+    static final String ACL_GRANTED = """
+            EXISTS (SELECT 1 FROM acl_effective_permission ep
+                JOIN acl_class ac ON ac.id = ep.class_id
+                JOIN acl_sid s ON s.id = ep.sid_id
+                WHERE ac.class = :#{#ctx.domainClass}
+                  AND ep.object_id = CAST(r.id AS VARCHAR)
+                  AND ep.mask = :#{#ctx.mask}
+                  AND ((s.principal = TRUE AND s.sid = :#{#ctx.principal})
+                    OR (s.principal = FALSE AND s.sid IN (:#{#ctx.authorities}))))
+            """;
+
+    /**
+     * Project-level VIEWER role of {@code CustomMethodSecurityExpressionRoot#hasProjectRole}, for a project
+     * aliased {@code p}: public, owned, shared with the user or shared with one of the user's groups.
+     */
+    static final String PROJECT_VIEWER = """
+            (p.is_public = TRUE
+                OR p.owner_id = :#{#ctx.userId}
+                OR EXISTS (SELECT 1 FROM project_shared_users psu WHERE psu.project_id = p.id AND psu.user_id = :#{#ctx.userId})
+                OR EXISTS (SELECT 1 FROM project_shared_groups psg WHERE psg.project_id = p.id AND psg.group_name IN (:#{#ctx.groups})))
+            """;
+
+    /**
+     * Documents visible under {@code DocumentService}'s read rule: author, project VIEWER or ACL READ.
+     */
+    static final String ACCESSIBLE_DOCUMENTS = " FROM documents r JOIN projects p ON p.id = r.project_id"
+            + " WHERE :#{#ctx.admin} = TRUE OR r.author_id = :#{#ctx.userId} OR " + PROJECT_VIEWER + " OR " + ACL_GRANTED;
+
+    /**
+     * Projects visible under {@code ProjectService}'s read rule: project VIEWER (which covers the owner) or ACL READ.
+     * The primary-key self-join only gives the row the {@code p} alias that {@link #PROJECT_VIEWER} expects.
+     */
+    static final String ACCESSIBLE_PROJECTS = " FROM projects r JOIN projects p ON p.id = r.id"
+            + " WHERE :#{#ctx.admin} = TRUE OR " + PROJECT_VIEWER + " OR " + ACL_GRANTED;
+
+    /**
+     * Comments visible under {@code CommentService}'s read rule: author or ACL READ.
+     */
+    static final String ACCESSIBLE_COMMENTS = " FROM comments r"
+            + " WHERE :#{#ctx.admin} = TRUE OR r.author_id = :#{#ctx.userId} OR " + ACL_GRANTED;
+
+    private AclQueries() {
+    }
+}
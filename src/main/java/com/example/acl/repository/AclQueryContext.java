@@ -0,0 +1,44 @@
+package com.example.acl.repository;
+
+import com.example.acl.domain.User;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Caller identity and requested ACL permission, bound into the ACL-constrained native queries.
+ *
+ * The SID set mirrors {@code SidRetrievalStrategyImpl}: the principal name plus every granted authority.
+ * Empty collections are replaced by a value no SID or group can have, because H2 rejects an empty IN list.
+ */
+public record AclQueryContext(
+        boolean admin,
+        Long userId,
+        List<String> groups,
+        String principal,
+        List<String> authorities,
+        String domainClass,
+        int mask
+) {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final List<String> NONE = List.of("");
+
+    public static AclQueryContext of(Authentication authentication, User user, Class<?> domainClass, Permission permission) {
+        List<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        List<String> groups = user == null ? List.of() : user.getGroups().stream().map(Enum::name).toList();
+        return new AclQueryContext(
+                authorities.contains(ADMIN_AUTHORITY),
+                user != null ? user.getId() : null,
+                groups.isEmpty() ? NONE : groups,
+                authentication.getName(),
+                authorities.isEmpty() ? NONE : authorities,
+                domainClass.getName(),
+                permission.getMask()
+        );
+    }
+}
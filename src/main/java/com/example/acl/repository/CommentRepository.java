@@ -3,9 +3,14 @@ package com.example.acl.repository;
 import com.example.acl.domain.Comment;
 import com.example.acl.domain.Document;
 import com.example.acl.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +21,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByAuthor(User author);
 
     List<Comment> findByDocumentOrderByCreatedAtDesc(Document document);
+
+    @Query(value = "SELECT r.*" + AclQueries.ACCESSIBLE_COMMENTS + " ORDER BY r.id",
+            countQuery = "SELECT COUNT(*)" + AclQueries.ACCESSIBLE_COMMENTS,
+            nativeQuery = true)
+    Page<Comment> findAccessible(@Param("ctx") AclQueryContext ctx, Pageable pageable);
+
+    @Query("SELECT new com.example.acl.repository.OwnerView(c.id, a.username) FROM Comment c JOIN c.author a WHERE c.id IN :ids")
+    List<OwnerView> findAuthors(@Param("ids") Collection<Long> ids);
 }
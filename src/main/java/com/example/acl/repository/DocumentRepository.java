@@ -3,11 +3,14 @@ package com.example.acl.repository;
 import com.example.acl.domain.Document;
 import com.example.acl.domain.Project;
 import com.example.acl.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +29,12 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     @Query("SELECT d FROM Document d LEFT JOIN FETCH d.sharedWith WHERE d.id = :id")
     Optional<Document> findByIdWithSharedUsers(@Param("id") Long id);
+
+    @Query(value = "SELECT r.*" + AclQueries.ACCESSIBLE_DOCUMENTS + " ORDER BY r.id",
+            countQuery = "SELECT COUNT(*)" + AclQueries.ACCESSIBLE_DOCUMENTS,
+            nativeQuery = true)
+    Page<Document> findAccessible(@Param("ctx") AclQueryContext ctx, Pageable pageable);
+
+    @Query("SELECT new com.example.acl.repository.OwnerView(d.id, a.username) FROM Document d JOIN d.author a WHERE d.id IN :ids")
+    List<OwnerView> findAuthors(@Param("ids") Collection<Long> ids);
 }
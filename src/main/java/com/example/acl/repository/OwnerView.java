@@ -0,0 +1,7 @@
+package com.example.acl.repository;
+
+/**
+ * Id of a domain object and the username of its owner or author, without loading either entity.
+ */
+public record OwnerView(Long id, String username) {
+}
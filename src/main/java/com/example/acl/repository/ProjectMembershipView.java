@@ -0,0 +1,20 @@
+package com.example.acl.repository;
+
+/**
+ * How a user relates to a project, for {@code hasProjectRole}: owner, shared with directly or through one of the
+ * user's groups, and whether the project is public.
+ */
+public record ProjectMembershipView(Long projectId, boolean owner, boolean shared, boolean publicAccess) {
+
+    /**
+     * OWNER for the owner; CONTRIBUTOR also for users it is shared with; VIEWER also for anyone on a public project.
+     */
+    public boolean hasRole(String role) {
+        return switch (role) {
+            case "OWNER" -> owner;
+            case "CONTRIBUTOR" -> owner || shared;
+            case "VIEWER" -> owner || shared || publicAccess;
+            default -> false;
+        };
+    }
+}
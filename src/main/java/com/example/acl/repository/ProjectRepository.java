@@ -2,11 +2,14 @@ package com.example.acl.repository;
 
 import com.example.acl.domain.Project;
 import com.example.acl.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +26,23 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT p FROM Project p LEFT JOIN FETCH p.documents WHERE p.id = :id")
     Optional<Project> findByIdWithDocuments(@Param("id") Long id);
+
+    @Query(value = "SELECT r.*" + AclQueries.ACCESSIBLE_PROJECTS + " ORDER BY r.id",
+            countQuery = "SELECT COUNT(*)" + AclQueries.ACCESSIBLE_PROJECTS,
+            nativeQuery = true)
+    Page<Project> findAccessible(@Param("ctx") AclQueryContext ctx, Pageable pageable);
+
+    @Query("SELECT new com.example.acl.repository.OwnerView(p.id, o.username) FROM Project p JOIN p.owner o WHERE p.id IN :ids")
+    List<OwnerView> findOwners(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.example.acl.repository.ProjectMembershipView(p.id,
+                CASE WHEN o.username = :username THEN true ELSE false END,
+                CASE WHEN EXISTS (SELECT 1 FROM Project sp JOIN sp.sharedWith su WHERE sp = p AND su.username = :username)
+                    OR EXISTS (SELECT 1 FROM User u JOIN u.groups g WHERE u.username = :username AND g MEMBER OF p.sharedWithGroups)
+                    THEN true ELSE false END,
+                p.isPublic)
+            FROM Project p JOIN p.owner o WHERE p.id IN :ids
+            """)
+    List<ProjectMembershipView> findMemberships(@Param("ids") Collection<Long> ids, @Param("username") String username);
 }
@@ -0,0 +1,87 @@
+package com.example.acl.security;
+
+import java.util.Arrays;
+
+/**
+ * Immutable ACE list of a {@link CompactAcl} without the ACE ids: parallel arrays of {@code SidDictionary} SID id,
+ * mask and flags. Entries for the ACL's owner hold {@link #OWNER} instead of the owner's SID id, so ACLs that differ
+ * only in who owns them (the owner defaults plus the same group grants, say) have equal templates and can share
+ * one instance through {@link AceTemplates}.
+ */
+final class AceTemplate {
+
+    static final int OWNER = -1;
+
+    private final int[] sids;
+    private final int[] masks;
+    private final byte[] flags;
+    private final int hash;
+
+    private AceTemplate(int[] sids, int[] masks, byte[] flags) {
+        this.sids = sids;
+        this.masks = masks;
+        this.flags = flags;
+        this.hash = 31 * (31 * Arrays.hashCode(sids) + Arrays.hashCode(masks)) + Arrays.hashCode(flags);
+    }
+
+    /**
+     * Template of the entries of an ACL owned by {@code owner} (a SID id, or any negative value for none); the
+     * arrays are copied.
+     */
+    static AceTemplate of(int owner, int[] sids, int[] masks, byte[] flags) {
+        int[] templateSids = Arrays.copyOf(sids, sids.length);
+        for (int i = 0; i < templateSids.length; i++) {
+            if (owner >= 0 && templateSids[i] == owner) {
+                templateSids[i] = OWNER;
+            }
+        }
+        return new AceTemplate(templateSids, Arrays.copyOf(masks, masks.length), Arrays.copyOf(flags, flags.length));
+    }
+
+    int size() {
+        return sids.length;
+    }
+
+    int sid(int entry, int owner) {
+        return sids[entry] == OWNER ? owner : sids[entry];
+    }
+
+    int mask(int entry) {
+        return masks[entry];
+    }
+
+    boolean hasFlag(int entry, byte flag) {
+        return (flags[entry] & flag) != 0;
+    }
+
+    /**
+     * Index of the first entry for the SID id with exactly this mask, or -1.
+     */
+    int firstEntry(int sid, int mask, int owner) {
+        for (int i = 0; i < masks.length; i++) {
+            if (masks[i] == mask && (sids[i] == sid || (sids[i] == OWNER && sid == owner))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bytes held by the arrays.
+     */
+    long bytes() {
+        return (long) sids.length * (2 * Integer.BYTES + 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof AceTemplate template && hash == template.hash
+                && Arrays.equals(sids, template.sids) && Arrays.equals(masks, template.masks)
+                && Arrays.equals(flags, template.flags));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.acl.security;
+
+import com.github.benmanes.caffeine.cache.Interner;
+
+/**
+ * Interns {@link AceTemplate}s so ACLs with the same entries share one instance. Templates are held weakly: one
+ * that no cached or stored ACL uses any more is dropped at the next GC.
+ */
+public final class AceTemplates {
+
+    private final Interner<AceTemplate> templates = Interner.newWeakInterner();
+
+    AceTemplate intern(int owner, int[] sids, int[] masks, byte[] flags) {
+        return templates.intern(AceTemplate.of(owner, sids, masks, flags));
+    }
+}
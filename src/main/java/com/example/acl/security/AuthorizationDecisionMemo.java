@@ -0,0 +1,52 @@
+package com.example.acl.security;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Results of the domain helpers of {@link CustomMethodSecurityExpressionRoot}, keyed by helper name and arguments.
+ *
+ * One memo lives for an HTTP request (installed by {@link AuthorizationDecisionMemoFilter}) or, outside of a
+ * request, for a single method invocation. Decisions are assumed not to change within that scope.
+ */
+public class AuthorizationDecisionMemo {
+
+    static final String REQUEST_ATTRIBUTE = AuthorizationDecisionMemo.class.getName();
+
+    private record Key(String helper, List<Object> arguments) {
+    }
+
+    private final Map<Key, Boolean> decisions = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    AuthorizationDecisionMemo(Counter hits, Counter misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * The remembered decision, or the computed one; arguments must be non-null. Not {@code computeIfAbsent},
+     * since helpers call each other while computing.
+     */
+    public boolean decide(String helper, Supplier<Boolean> decision, Object... arguments) {
+        Key key = new Key(helper, List.of(arguments));
+        Boolean remembered = decisions.get(key);
+        if (remembered != null) {
+            hits.increment();
+            return remembered;
+        }
+        misses.increment();
+        boolean decided = decision.get();
+        decisions.put(key, decided);
+        return decided;
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.acl.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes an {@link AuthorizationDecisionMemo} to the HTTP request, so every secured method called while handling
+ * it shares the helper decisions; the memo is dropped when the request completes.
+ */
+public class AuthorizationDecisionMemoFilter extends OncePerRequestFilter {
+
+    private final CustomMethodSecurityExpressionHandler expressionHandler;
+
+    public AuthorizationDecisionMemoFilter(CustomMethodSecurityExpressionHandler expressionHandler) {
+        this.expressionHandler = expressionHandler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(AuthorizationDecisionMemo.REQUEST_ATTRIBUTE, expressionHandler.newDecisionMemo());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            request.removeAttribute(AuthorizationDecisionMemo.REQUEST_ATTRIBUTE);
+        }
+    }
+}
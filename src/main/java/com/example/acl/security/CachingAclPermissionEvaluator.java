@@ -0,0 +1,73 @@
+package com.example.acl.security;
+
+import com.example.acl.service.AclDecisionCache;
+import org.springframework.security.acls.AclPermissionEvaluator;
+import org.springframework.security.acls.domain.ObjectIdentityRetrievalStrategyImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.AclService;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link AclPermissionEvaluator} answering from the {@link AclDecisionCache}; permissions are resolved the same
+ * way (mask, {@link Permission}, array or name). Falls back to the plain evaluator when the cache is disabled.
+ */
+public class CachingAclPermissionEvaluator extends AclPermissionEvaluator {
+
+    private final ObjectIdentityRetrievalStrategyImpl objectIdentities = new ObjectIdentityRetrievalStrategyImpl();
+    private final AclDecisionCache decisionCache;
+    private final PermissionFactory permissionFactory;
+
+    public CachingAclPermissionEvaluator(AclService aclService, AclDecisionCache decisionCache, PermissionFactory permissionFactory) {
+        super(aclService);
+        this.decisionCache = decisionCache;
+        this.permissionFactory = permissionFactory;
+        setPermissionFactory(permissionFactory);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object domainObject, Object permission) {
+        if (!decisionCache.isEnabled()) {
+            return super.hasPermission(authentication, domainObject, permission);
+        }
+        if (domainObject == null) {
+            return false;
+        }
+        return decisionCache.isGranted(authentication, objectIdentities.getObjectIdentity(domainObject), resolvePermission(permission));
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        if (!decisionCache.isEnabled()) {
+            return super.hasPermission(authentication, targetId, targetType, permission);
+        }
+        ObjectIdentity objectIdentity = objectIdentities.createObjectIdentity(targetId, targetType);
+        return decisionCache.isGranted(authentication, objectIdentity, resolvePermission(permission));
+    }
+
+    private List<Permission> resolvePermission(Object permission) {
+        if (permission instanceof Integer mask) {
+            return List.of(permissionFactory.buildFromMask(mask));
+        }
+        if (permission instanceof Permission single) {
+            return List.of(single);
+        }
+        if (permission instanceof Permission[] several) {
+            return Arrays.asList(several);
+        }
+        if (permission instanceof String name) {
+            try {
+                return List.of(permissionFactory.buildFromName(name));
+            } catch (IllegalArgumentException ex) {
+                return List.of(permissionFactory.buildFromName(name.toUpperCase(Locale.ENGLISH)));
+            }
+        }
+        throw new IllegalArgumentException("Unsupported permission: " + permission);
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.acl.security;
+
+import com.example.acl.service.SidDictionary;
+import org.springframework.security.acls.domain.AccessControlEntryImpl;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.AuditableAcl;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.OwnershipAcl;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ACL as the lookup strategies build it: the ACEs are an interned {@link AceTemplate} of {@link SidDictionary} SID
+ * ids, masks and flags, shared with every ACL that has the same entries apart from the owner, plus the ACE ids,
+ * kept as just the first one when they are consecutive, as they are for ACEs saved together. Only the owner,
+ * parent and those ids are held per ACL instead of a list of {@code AccessControlEntryImpl}s, each with a boxed id
+ * and its own references.
+ *
+ * Reads never allocate entries except {@link #getEntries()}, which builds them on each call, and permission checks
+ * run on the arrays (see {@link IndexedPermissionGrantingStrategy}). The first change turns the ACL into an
+ * {@link AclImpl} copy, which then answers every call, so callers that read, change and save an ACL see the
+ * usual {@code MutableAcl} behaviour, including the authorization strategy's checks. Templates and id arrays are
+ * never changed.
+ */
+public final class CompactAcl implements AuditableAcl, OwnershipAcl {
+
+    static final byte GRANTING = 1;
+    static final byte AUDIT_SUCCESS = 2;
+    static final byte AUDIT_FAILURE = 4;
+
+    private static final Field ACES = ReflectionUtils.findField(AclImpl.class, "aces");
+
+    static {
+        ReflectionUtils.makeAccessible(ACES);
+    }
+
+    /**
+     * What every ACL of a lookup strategy shares: the strategies handed to the {@code AclImpl} view, the
+     * permission factory, the SID dictionary behind the SID ids and the interned templates.
+     */
+    public record Context(AclAuthorizationStrategy aclAuthorizationStrategy, PermissionGrantingStrategy grantingStrategy,
+                          PermissionFactory permissionFactory, SidDictionary sidDictionary, AceTemplates templates) {
+
+        public Context(AclAuthorizationStrategy aclAuthorizationStrategy, PermissionGrantingStrategy grantingStrategy,
+                       PermissionFactory permissionFactory, SidDictionary sidDictionary) {
+            this(aclAuthorizationStrategy, grantingStrategy, permissionFactory, sidDictionary, new AceTemplates());
+        }
+    }
+
+    private final transient Context context;
+    private final ObjectIdentity objectIdentity;
+    private final long id;
+    private final Acl parentAcl;
+    private final Sid owner;
+    private final int ownerSid;
+    private final boolean entriesInheriting;
+    private final AceTemplate template;
+    private final long firstEntryId;
+    private final long[] entryIds;
+    private transient AclImpl mutable;
+
+    /**
+     * ACL of the given entries, interning their template.
+     */
+    CompactAcl(Context context, ObjectIdentity objectIdentity, long id, Acl parentAcl, boolean entriesInheriting, Sid owner,
+               long[] entryIds, int[] sids, int[] masks, byte[] flags) {
+        this(context, objectIdentity, id, parentAcl, entriesInheriting, owner, sidId(context, owner),
+                context.templates().intern(sidId(context, owner), sids, masks, flags),
+                entryIds.length > 0 ? entryIds[0] : 0, unlessConsecutive(entryIds));
+    }
+
+    /**
+     * ACL of an already interned template; {@code entryIds} is null when the ids run on from {@code firstEntryId}.
+     */
+    CompactAcl(Context context, ObjectIdentity objectIdentity, long id, Acl parentAcl, boolean entriesInheriting, Sid owner,
+               int ownerSid, AceTemplate template, long firstEntryId, long[] entryIds) {
+        this.context = context;
+        this.objectIdentity = objectIdentity;
+        this.id = id;
+        this.parentAcl = parentAcl;
+        this.entriesInheriting = entriesInheriting;
+        this.owner = owner;
+        this.ownerSid = ownerSid;
+        this.template = template;
+        this.firstEntryId = firstEntryId;
+        this.entryIds = entryIds;
+    }
+
+    @Override
+    public Serializable getId() {
+        return id;
+    }
+
+    @Override
+    public ObjectIdentity getObjectIdentity() {
+        return objectIdentity;
+    }
+
+    @Override
+    public List<AccessControlEntry> getEntries() {
+        if (mutable != null) {
+            return mutable.getEntries();
+        }
+        List<AccessControlEntry> entries = new ArrayList<>(template.size());
+        for (int i = 0; i < template.size(); i++) {
+            entries.add(entry(i, this));
+        }
+        return entries;
+    }
+
+    @Override
+    public Sid getOwner() {
+        return mutable != null ? mutable.getOwner() : owner;
+    }
+
+    @Override
+    public Acl getParentAcl() {
+        return mutable != null ? mutable.getParentAcl() : parentAcl;
+    }
+
+    @Override
+    public boolean isEntriesInheriting() {
+        return mutable != null ? mutable.isEntriesInheriting() : entriesInheriting;
+    }
+
+    @Override
+    public boolean isGranted(List<Permission> permission, List<Sid> sids, boolean administrativeMode)
+            throws NotFoundException {
+        if (mutable != null) {
+            return mutable.isGranted(permission, sids, administrativeMode);
+        }
+        return context.grantingStrategy().isGranted(this, permission, sids, administrativeMode);
+    }
+
+    /**
+     * Always true: lookups load every SID's entries.
+     */
+    @Override
+    public boolean isSidLoaded(List<Sid> sids) {
+        return true;
+    }
+
+    @Override
+    public void insertAce(int atIndexLocation, Permission permission, Sid sid, boolean granting) throws NotFoundException {
+        mutable().insertAce(atIndexLocation, permission, sid, granting);
+    }
+
+    @Override
+    public void deleteAce(int aceIndex) throws NotFoundException {
+        mutable().deleteAce(aceIndex);
+    }
+
+    @Override
+    public void updateAce(int aceIndex, Permission permission) throws NotFoundException {
+        mutable().updateAce(aceIndex, permission);
+    }
+
+    @Override
+    public void updateAuditing(int aceIndex, boolean auditSuccess, boolean auditFailure) {
+        mutable().updateAuditing(aceIndex, auditSuccess, auditFailure);
+    }
+
+    @Override
+    public void setEntriesInheriting(boolean entriesInheriting) {
+        mutable().setEntriesInheriting(entriesInheriting);
+    }
+
+    @Override
+    public void setParent(Acl newParent) {
+        mutable().setParent(newParent);
+    }
+
+    @Override
+    public void setOwner(Sid newOwner) {
+        mutable().setOwner(newOwner);
+    }
+
+    /**
+     * A private copy to change: it shares the template and ids, which are never changed, and copies the entries of
+     * an ACL that was already changed, keeping their ids.
+     */
+    public CompactAcl copy() {
+        CompactAcl copy = new CompactAcl(context, objectIdentity, id, parentAcl, entriesInheriting, owner, ownerSid,
+                template, firstEntryId, entryIds);
+        if (mutable != null) {
+            AclImpl acl = new AclImpl(objectIdentity, id, context.aclAuthorizationStrategy(), context.grantingStrategy(),
+                    mutable.getParentAcl(), null, mutable.isEntriesInheriting(), mutable.getOwner());
+            List<AccessControlEntry> aces = aces(acl);
+            for (AccessControlEntry entry : mutable.getEntries()) {
+                AuditableAccessControlEntry ace = (AuditableAccessControlEntry) entry;
+                aces.add(new AccessControlEntryImpl(ace.getId(), acl, ace.getSid(), ace.getPermission(), ace.isGranting(),
+                        ace.isAuditSuccess(), ace.isAuditFailure()));
+            }
+            copy.mutable = acl;
+        }
+        return copy;
+    }
+
+    static byte flags(boolean granting, boolean auditSuccess, boolean auditFailure) {
+        return (byte) ((granting ? GRANTING : 0) | (auditSuccess ? AUDIT_SUCCESS : 0) | (auditFailure ? AUDIT_FAILURE : 0));
+    }
+
+    /**
+     * The ids, or null when they are consecutive and so need not be kept.
+     */
+    static long[] unlessConsecutive(long[] entryIds) {
+        for (int i = 1; i < entryIds.length; i++) {
+            if (entryIds[i] != entryIds[0] + i) {
+                return entryIds;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Index of the first entry for the SID id with exactly this mask, or -1.
+     */
+    int firstEntry(int sid, int mask) {
+        return template.firstEntry(sid, mask, ownerSid);
+    }
+
+    boolean hasFlag(int entry, byte flag) {
+        return template.hasFlag(entry, flag);
+    }
+
+    AccessControlEntry entry(int entry) {
+        return entry(entry, this);
+    }
+
+    /**
+     * Whether the ACL is still answered from its arrays, i.e. has not been changed.
+     */
+    boolean isCompact() {
+        return mutable == null;
+    }
+
+    int size() {
+        return template.size();
+    }
+
+    AceTemplate template() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactAcl[id: " + id + "; objectIdentity: " + objectIdentity + "; entries: " + size()
+                + (mutable != null ? "; changed" : "") + "]";
+    }
+
+    private AccessControlEntry entry(int i, Acl acl) {
+        long entryId = entryIds != null ? entryIds[i] : firstEntryId + i;
+        return new AccessControlEntryImpl(entryId, acl, context.sidDictionary().sid(template.sid(i, ownerSid)),
+                context.permissionFactory().buildFromMask(template.mask(i)), hasFlag(i, GRANTING),
+                hasFlag(i, AUDIT_SUCCESS), hasFlag(i, AUDIT_FAILURE));
+    }
+
+    private static int sidId(Context context, Sid sid) {
+        return sid != null ? context.sidDictionary().id(sid) : AceTemplate.OWNER;
+    }
+
+    private AclImpl mutable() {
+        if (mutable == null) {
+            AclImpl acl = new AclImpl(objectIdentity, id, context.aclAuthorizationStrategy(), context.grantingStrategy(),
+                    parentAcl, null, entriesInheriting, owner);
+            List<AccessControlEntry> aces = aces(acl);
+            for (int i = 0; i < template.size(); i++) {
+                aces.add(entry(i, acl));
+            }
+            mutable = acl;
+        }
+        return mutable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AccessControlEntry> aces(AclImpl acl) {
+        return (List<AccessControlEntry>) ReflectionUtils.getField(ACES, acl);
+    }
+}
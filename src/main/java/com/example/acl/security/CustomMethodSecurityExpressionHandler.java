@@ -1,40 +1,144 @@
 package com.example.acl.security;
 
-import com.example.acl.repository.DocumentRepository;
-import com.example.acl.repository.ProjectRepository;
-import com.example.acl.repository.UserRepository;
+import com.example.acl.service.AclBatchLoader;
+import com.example.acl.service.OwnershipResolver;
+import com.example.acl.service.ProjectMembershipResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class CustomMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
 
-    private final DocumentRepository documentRepository;
-    private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final SidRetrievalStrategy sidRetrievalStrategy;
+    private final AclBatchLoader aclBatchLoader;
+    private final OwnershipResolver ownershipResolver;
+    private final ProjectMembershipResolver membershipResolver;
+    private final PermissionFactory permissionFactory;
+    private final Counter memoHits;
+    private final Counter memoMisses;
 
     public CustomMethodSecurityExpressionHandler(
-            DocumentRepository documentRepository,
-            ProjectRepository projectRepository,
-            UserRepository userRepository
+            SidRetrievalStrategy sidRetrievalStrategy,
+            AclBatchLoader aclBatchLoader,
+            OwnershipResolver ownershipResolver,
+            ProjectMembershipResolver membershipResolver,
+            PermissionFactory permissionFactory,
+            MeterRegistry meterRegistry
     ) {
-        this.documentRepository = documentRepository;
-        this.projectRepository = projectRepository;
-        this.userRepository = userRepository;
+        this.sidRetrievalStrategy = sidRetrievalStrategy;
+        this.aclBatchLoader = aclBatchLoader;
+        this.ownershipResolver = ownershipResolver;
+        this.membershipResolver = membershipResolver;
+        this.permissionFactory = permissionFactory;
+        this.memoHits = Counter.builder("acl.decision.memo").tag("result", "hit").register(meterRegistry);
+        this.memoMisses = Counter.builder("acl.decision.memo").tag("result", "miss").register(meterRegistry);
+        setCompilerMode(SpelCompilerMode.OFF);
+    }
+
+    /**
+     * Parses security expressions in the given SpEL compiler mode. Parsed expressions are kept by their text, so
+     * an expression warmed at startup is the one the method interceptors evaluate, and a compiled expression keeps
+     * its generated class.
+     */
+    public void setCompilerMode(SpelCompilerMode compilerMode) {
+        SpelParserConfiguration configuration = new SpelParserConfiguration(compilerMode, getClass().getClassLoader());
+        setExpressionParser(new CachingExpressionParser(new SpelExpressionParser(configuration)));
+    }
+
+    public AuthorizationDecisionMemo newDecisionMemo() {
+        return new AuthorizationDecisionMemo(memoHits, memoMisses);
+    }
+
+    /**
+     * The {@code Supplier<Authentication>} variant used by {@code @EnableMethodSecurity} builds a plain
+     * MethodSecurityExpressionRoot internally, so swap in the custom root to expose the domain helpers.
+     */
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, invocation);
+        context.setRootObject(createSecurityExpressionRoot(authentication.get(), invocation));
+        return context;
+    }
+
+    /**
+     * Collection-aware {@code @PostFilter}: the ACLs of all elements are loaded in batches up front, so
+     * {@code hasPermission(filterObject, ..)} no longer costs an ACL lookup per element.
+     */
+    @Override
+    public Object filter(Object filterTarget, Expression filterExpression, EvaluationContext ctx) {
+        if (filterTarget instanceof Collection<?> collection
+                && !collection.isEmpty()
+                && ctx.getRootObject().getValue() instanceof CustomMethodSecurityExpressionRoot root) {
+            root.setAclBatch(new PostFilterAclBatch(collection, root.getAuthentication(), sidRetrievalStrategy,
+                    aclBatchLoader, permissionFactory, ownershipResolver, membershipResolver));
+        }
+        return super.filter(filterTarget, filterExpression, ctx);
     }
 
     @Override
     protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication, MethodInvocation invocation) {
         CustomMethodSecurityExpressionRoot root = new CustomMethodSecurityExpressionRoot(
                 authentication,
-                documentRepository,
-                projectRepository,
-                userRepository
+                ownershipResolver,
+                membershipResolver
         );
+        root.setDecisionMemo(currentDecisionMemo());
         root.setPermissionEvaluator(getPermissionEvaluator());
         root.setTrustResolver(getTrustResolver());
         root.setRoleHierarchy(getRoleHierarchy());
         return root;
     }
+
+    /**
+     * The memo of the current HTTP request, or a fresh one that lives as long as this method invocation.
+     */
+    private AuthorizationDecisionMemo currentDecisionMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(AuthorizationDecisionMemo.REQUEST_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST) instanceof AuthorizationDecisionMemo memo) {
+            return memo;
+        }
+        return newDecisionMemo();
+    }
+
+    private static final class CachingExpressionParser implements ExpressionParser {
+
+        private final ExpressionParser delegate;
+        private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+        private CachingExpressionParser(ExpressionParser delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Expression parseExpression(String expressionString) throws ParseException {
+            return expressions.computeIfAbsent(expressionString, delegate::parseExpression);
+        }
+
+        @Override
+        public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+            return context == null ? parseExpression(expressionString) : delegate.parseExpression(expressionString, context);
+        }
+    }
 }
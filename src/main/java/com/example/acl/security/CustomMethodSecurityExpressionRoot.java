@@ -2,15 +2,16 @@ package com.example.acl.security;
 
 import com.example.acl.domain.Document;
 import com.example.acl.domain.Project;
-import com.example.acl.domain.User;
-import com.example.acl.repository.DocumentRepository;
-import com.example.acl.repository.ProjectRepository;
-import com.example.acl.repository.UserRepository;
+import com.example.acl.repository.ProjectMembershipView;
+import com.example.acl.service.OwnershipResolver;
+import com.example.acl.service.ProjectMembershipResolver;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
 import org.springframework.security.core.Authentication;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Custom SpEL methods for use in @PreAuthorize, @PostAuthorize and @PostFilter expressions.
@@ -22,37 +23,33 @@ import java.util.Objects;
  *
  * These helpers are meant to be composed together with role checks and ACL checks, e.g.:
  * "hasRole('ADMIN') or hasPermission(#id, 'com.example.acl.domain.Document', 'WRITE') or isDocumentOwner(#id)"
+ *
+ * Helper results are remembered in an {@link AuthorizationDecisionMemo} for the request.
  */
 public class CustomMethodSecurityExpressionRoot extends SecurityExpressionRoot implements MethodSecurityExpressionOperations {
 
-    private final DocumentRepository documentRepository;
-    private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final OwnershipResolver ownershipResolver;
+    private final ProjectMembershipResolver membershipResolver;
 
     private Object filterObject;
     private Object returnObject;
     private Object target;
+    private PostFilterAclBatch aclBatch;
+    private AuthorizationDecisionMemo decisionMemo;
 
     public CustomMethodSecurityExpressionRoot(
             Authentication authentication,
-            DocumentRepository documentRepository,
-            ProjectRepository projectRepository,
-            UserRepository userRepository
+            OwnershipResolver ownershipResolver,
+            ProjectMembershipResolver membershipResolver
     ) {
         super(authentication);
-        this.documentRepository = documentRepository;
-        this.projectRepository = projectRepository;
-        this.userRepository = userRepository;
+        this.ownershipResolver = ownershipResolver;
+        this.membershipResolver = membershipResolver;
     }
 
     public boolean isDocumentOwner(Long documentId) {
         if (documentId == null) return false;
-        String username = getUsername();
-        return documentRepository.findById(documentId)
-                .map(Document::getAuthor)
-                .map(User::getUsername)
-                .filter(username::equals)
-                .isPresent();
+        return decisionMemo.decide("isDocumentOwner", () -> isOwner(Document.class, documentId), documentId);
     }
 
     public boolean isDocumentOwner(Document document) {
@@ -63,37 +60,59 @@ public class CustomMethodSecurityExpressionRoot extends SecurityExpressionRoot i
 
     public boolean isProjectOwner(Long projectId) {
         if (projectId == null) return false;
-        String username = getUsername();
-        return projectRepository.findById(projectId)
-                .map(Project::getOwner)
-                .map(User::getUsername)
-                .filter(username::equals)
-                .isPresent();
+        return decisionMemo.decide("isProjectOwner", () -> isOwner(Project.class, projectId), projectId);
     }
 
     public boolean hasProjectRole(Long projectId, String requiredRole) {
         if (projectId == null || requiredRole == null) return false;
         String role = requiredRole.trim().toUpperCase();
-        return projectRepository.findById(projectId).map(project -> switch (role) {
-            case "OWNER" -> isProjectOwner(projectId);
-            case "CONTRIBUTOR" -> {
-                User user = currentUser();
-                boolean inUsers = project.getSharedWith().stream().anyMatch(u -> Objects.equals(u.getId(), user.getId()));
-                boolean inGroups = project.getSharedWithGroups().stream().anyMatch(user.getGroups()::contains);
-                yield inUsers || inGroups || isProjectOwner(projectId);
-            }
-            case "VIEWER" -> {
-                // Viewer can be public access, contributor or owner
-                boolean publicAccess = project.isPublic();
-                yield publicAccess || hasProjectRole(projectId, "CONTRIBUTOR");
-            }
-            default -> false;
-        }).orElse(false);
+        return decisionMemo.decide("hasProjectRole",
+                () -> projectMembership(projectId).map(membership -> membership.hasRole(role)).orElse(false),
+                projectId, role);
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        if (aclBatch != null && aclBatch.covers(target)) {
+            return aclBatch.isGranted(target, permission);
+        }
+        return super.hasPermission(target, permission);
     }
 
-    private User currentUser() {
+    void setAclBatch(PostFilterAclBatch aclBatch) {
+        this.aclBatch = aclBatch;
+    }
+
+    void setDecisionMemo(AuthorizationDecisionMemo decisionMemo) {
+        this.decisionMemo = decisionMemo;
+    }
+
+    /**
+     * Inside a {@code @PostFilter}, the owners of all elements of the collection are resolved in one batch.
+     */
+    private boolean isOwner(Class<?> domainClass, Long id) {
         String username = getUsername();
-        return userRepository.findByUsername(username).orElse(null);
+        if (aclBatch != null) {
+            Map<Long, String> owners = aclBatch.owners(domainClass);
+            if (owners.containsKey(id)) {
+                return Objects.equals(username, owners.get(id));
+            }
+        }
+        return ownershipResolver.isOwner(domainClass, id, username);
+    }
+
+    /**
+     * Inside a {@code @PostFilter}, the memberships of all projects referenced by the collection are resolved in
+     * one batch.
+     */
+    private Optional<ProjectMembershipView> projectMembership(Long projectId) {
+        if (aclBatch != null) {
+            Map<Long, ProjectMembershipView> memberships = aclBatch.projectMemberships();
+            if (memberships.containsKey(projectId)) {
+                return Optional.of(memberships.get(projectId));
+            }
+        }
+        return membershipResolver.membership(projectId, getUsername());
     }
 
     private String getUsername() {
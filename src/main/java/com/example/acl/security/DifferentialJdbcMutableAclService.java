@@ -0,0 +1,208 @@
+package com.example.acl.security;
+
+import com.example.acl.service.AclPrimaryKeyResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JdbcMutableAclService} whose {@link #updateAcl(MutableAcl)} writes only the ACEs that changed, where the
+ * default deletes every {@code acl_entry} row of the ACL and inserts them all again.
+ *
+ * The ACL's entries are diffed against its stored rows by ACE id: stored rows missing from the ACL are deleted,
+ * ACEs without a stored row are inserted and kept ACEs whose mask or audit flags changed are updated, each kind
+ * as one JDBC batch. {@code ace_order} only has to sort, not be contiguous, so deletions leave gaps and new ACEs
+ * take free numbers between their neighbours; kept rows are renumbered only when there is no room.
+ *
+ * Class and SID primary keys come from {@link AclPrimaryKeyResolver}, which caches them and reads new keys from
+ * the insert's generated keys, so the class and SID identity queries are not used.
+ */
+@Slf4j
+public class DifferentialJdbcMutableAclService extends JdbcMutableAclService {
+
+    private static final String SELECT_ENTRIES =
+            "SELECT id, ace_order, mask, audit_success, audit_failure FROM acl_entry WHERE acl_object_identity = ?";
+    private static final String DELETE_ENTRY = "DELETE FROM acl_entry WHERE id = ?";
+    private static final String UPDATE_ENTRY_ORDER = "UPDATE acl_entry SET ace_order = ? WHERE id = ?";
+    private static final String UPDATE_ENTRY =
+            "UPDATE acl_entry SET ace_order = ?, mask = ?, audit_success = ?, audit_failure = ? WHERE id = ?";
+    private static final String INSERT_ENTRY = """
+            INSERT INTO acl_entry (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private record StoredEntry(long id, int order, int mask, boolean auditSuccess, boolean auditFailure) {
+    }
+
+    private record EntryUpdate(long id, int order, AccessControlEntry entry) {
+    }
+
+    private final AclCache aclCache;
+    private final AclPrimaryKeyResolver primaryKeys;
+
+    public DifferentialJdbcMutableAclService(DataSource dataSource, LookupStrategy lookupStrategy, AclCache aclCache,
+                                             AclPrimaryKeyResolver primaryKeys) {
+        super(dataSource, lookupStrategy, aclCache);
+        this.aclCache = aclCache;
+        this.primaryKeys = primaryKeys;
+    }
+
+    @Override
+    protected Long createOrRetrieveClassPrimaryKey(String type, boolean allowCreate, Class idType) {
+        return primaryKeys.classId(type, allowCreate);
+    }
+
+    @Override
+    protected Long createOrRetrieveSidPrimaryKey(String sidName, boolean sidIsPrincipal, boolean allowCreate) {
+        return primaryKeys.sidId(sidIsPrincipal, sidName, allowCreate);
+    }
+
+    @Override
+    public MutableAcl updateAcl(MutableAcl acl) throws NotFoundException {
+        Assert.notNull(acl.getId(), "Object Identity doesn't provide an identifier");
+        writeEntryChanges(acl);
+        updateObjectIdentity(acl);
+        aclWritten(acl.getObjectIdentity());
+        clearCacheIncludingChildren(acl.getObjectIdentity());
+        return (MutableAcl) readAclById(acl.getObjectIdentity());
+    }
+
+    /**
+     * Called once the rows of an updated ACL are written, before the ACL is evicted and read back.
+     */
+    protected void aclWritten(ObjectIdentity objectIdentity) {
+    }
+
+    private void writeEntryChanges(MutableAcl acl) {
+        Map<Long, StoredEntry> stored = new HashMap<>();
+        jdbcOperations.query(SELECT_ENTRIES, rs -> {
+            stored.put(rs.getLong(1), new StoredEntry(rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getBoolean(4), rs.getBoolean(5)));
+        }, acl.getId());
+
+        List<AccessControlEntry> entries = acl.getEntries();
+        int[] orders = new int[entries.size()];
+        boolean renumber = !fitOrders(entries, stored, orders);
+        if (renumber) {
+            for (int i = 0; i < orders.length; i++) {
+                orders[i] = i;
+            }
+        }
+
+        Set<Long> kept = new HashSet<>();
+        List<EntryUpdate> updates = new ArrayList<>();
+        List<EntryUpdate> moves = new ArrayList<>();
+        List<EntryUpdate> inserts = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            AccessControlEntry entry = entries.get(i);
+            StoredEntry row = entry.getId() != null ? stored.get((Long) entry.getId()) : null;
+            if (row == null || !kept.add(row.id())) {
+                inserts.add(new EntryUpdate(0, orders[i], entry));
+                continue;
+            }
+            if (row.order() != orders[i]) {
+                moves.add(new EntryUpdate(row.id(), orders[i], entry));
+            }
+            if (row.order() != orders[i] || changed(row, entry)) {
+                updates.add(new EntryUpdate(row.id(), orders[i], entry));
+            }
+        }
+        List<Object[]> deletes = stored.keySet().stream()
+                .filter(id -> !kept.contains(id))
+                .map(id -> new Object[]{id})
+                .toList();
+
+        if (!deletes.isEmpty()) {
+            jdbcOperations.batchUpdate(DELETE_ENTRY, deletes);
+        }
+        if (!moves.isEmpty()) {
+            // Park moved rows on negative orders first, so renumbering never collides with a row not yet moved
+            jdbcOperations.batchUpdate(UPDATE_ENTRY_ORDER, moves.stream()
+                    .map(move -> new Object[]{-move.order() - 1, move.id()})
+                    .toList());
+        }
+        if (!updates.isEmpty()) {
+            jdbcOperations.batchUpdate(UPDATE_ENTRY, updates.stream()
+                    .map(update -> new Object[]{update.order(), update.entry().getPermission().getMask(),
+                            auditSuccess(update.entry()), auditFailure(update.entry()), update.id()})
+                    .toList());
+        }
+        if (!inserts.isEmpty()) {
+            jdbcOperations.batchUpdate(INSERT_ENTRY, inserts.stream()
+                    .map(insert -> new Object[]{acl.getId(), insert.order(),
+                            createOrRetrieveSidPrimaryKey(insert.entry().getSid(), true),
+                            insert.entry().getPermission().getMask(), insert.entry().isGranting(),
+                            auditSuccess(insert.entry()), auditFailure(insert.entry())})
+                    .toList());
+        }
+        log.debug("Updated entries of ACL {}: {} inserted, {} updated, {} deleted{}", acl.getObjectIdentity(),
+                inserts.size(), updates.size(), deletes.size(), renumber ? ", renumbered" : "");
+    }
+
+    /**
+     * Keeps the stored order of every kept ACE and places new ACEs on free numbers between their neighbours.
+     * Returns false when kept ACEs are out of order or a run of new ACEs does not fit into its gap.
+     */
+    private static boolean fitOrders(List<AccessControlEntry> entries, Map<Long, StoredEntry> stored, int[] orders) {
+        int previous = -1;
+        int pendingFrom = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Object id = entries.get(i).getId();
+            StoredEntry row = id != null ? stored.get((Long) id) : null;
+            if (row == null) {
+                continue;
+            }
+            if (row.order() - previous - 1 < i - pendingFrom) {
+                return false;
+            }
+            for (int pending = pendingFrom; pending < i; pending++) {
+                orders[pending] = previous + 1 + pending - pendingFrom;
+            }
+            orders[i] = row.order();
+            previous = row.order();
+            pendingFrom = i + 1;
+        }
+        for (int pending = pendingFrom; pending < entries.size(); pending++) {
+            orders[pending] = previous + 1 + pending - pendingFrom;
+        }
+        return true;
+    }
+
+    private static boolean changed(StoredEntry row, AccessControlEntry entry) {
+        return row.mask() != entry.getPermission().getMask()
+                || row.auditSuccess() != auditSuccess(entry)
+                || row.auditFailure() != auditFailure(entry);
+    }
+
+    private static boolean auditSuccess(AccessControlEntry entry) {
+        return entry instanceof AuditableAccessControlEntry auditable && auditable.isAuditSuccess();
+    }
+
+    private static boolean auditFailure(AccessControlEntry entry) {
+        return entry instanceof AuditableAccessControlEntry auditable && auditable.isAuditFailure();
+    }
+
+    private void clearCacheIncludingChildren(ObjectIdentity objectIdentity) {
+        List<ObjectIdentity> children = findChildren(objectIdentity);
+        if (children != null) {
+            for (ObjectIdentity child : children) {
+                clearCacheIncludingChildren(child);
+            }
+        }
+        aclCache.evictFromCache(objectIdentity);
+    }
+}
@@ -0,0 +1,556 @@
+package com.example.acl.security;
+
+import com.example.acl.service.SidDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link LookupStrategy} over an in-memory copy of the whole {@code acl_*} dataset, loaded with one scan on first
+ * use; lookups never touch the database.
+ *
+ * ACLs live in slots of parallel primitive arrays: primary key, class, object identifier, parent slot, owner and
+ * inheritance flag per slot, and per slot the interned {@link AceTemplate} and ACE ids that the
+ * {@link CompactAcl}s built from it share; ACLs with the same entries apart from the owner hold one template, and
+ * consecutive ACE ids are held as just the first. SIDs are {@link SidDictionary} ids, primary keys and identifiers are found through
+ * {@link LongIntHashMap}s, and children are chained through first-child/next-sibling slots. Like
+ * {@link RecursiveLookupStrategy} it answers from the {@link AclCache} first and caches the ACLs it builds, so
+ * objects handed out stay stable until evicted.
+ *
+ * The store does not notice writes by itself: whoever changes the tables calls {@link #reload(Collection)} for
+ * the changed objects, inside the writing transaction and again after a rollback.
+ */
+@Slf4j
+public class InMemoryAclStore implements LookupStrategy {
+
+    private static final String SELECT_ACLS = """
+            SELECT oi.id, ac.class, oi.object_id_identity, oi.parent_object, oi.entries_inheriting,
+                   owner.principal, owner.sid, e.id, e.mask, e.granting, e.audit_success, e.audit_failure,
+                   s.principal, s.sid
+            FROM acl_object_identity oi
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_sid owner ON owner.id = oi.owner_sid
+            LEFT JOIN acl_entry e ON e.acl_object_identity = oi.id
+            LEFT JOIN acl_sid s ON s.id = e.sid
+            ORDER BY oi.id, e.ace_order
+            """;
+
+    private static final String SELECT_ACLS_WITH_ANCESTORS = """
+            WITH RECURSIVE chain(id, parent_object) AS (
+                SELECT oi.id, oi.parent_object FROM acl_object_identity oi
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                WHERE %s
+                UNION ALL
+                SELECT p.id, p.parent_object FROM acl_object_identity p JOIN chain c ON p.id = c.parent_object
+            )
+            SELECT oi.id, ac.class, oi.object_id_identity, oi.parent_object, oi.entries_inheriting,
+                   owner.principal, owner.sid, e.id, e.mask, e.granting, e.audit_success, e.audit_failure,
+                   s.principal, s.sid
+            FROM chain c
+            JOIN acl_object_identity oi ON oi.id = c.id
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_sid owner ON owner.id = oi.owner_sid
+            LEFT JOIN acl_entry e ON e.acl_object_identity = oi.id
+            LEFT JOIN acl_sid s ON s.id = e.sid
+            ORDER BY oi.id, e.ace_order
+            """;
+
+    private static final String OBJECT_CONDITION = "(ac.class = ? AND oi.object_id_identity IN (%s))";
+
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private static final int NONE = -1;
+
+    /**
+     * One ACL as read from the tables; {@code parentId} is 0 for none, the ACEs are held as in {@link CompactAcl}.
+     */
+    private record LoadedAcl(long id, String type, long identifier, long parentId, boolean entriesInheriting, int owner,
+                             AceTemplate template, long firstAceId, long[] aceIds) {
+    }
+
+    /**
+     * Number of ACLs, ACEs and distinct ACE templates held and the bytes of the arrays holding them.
+     */
+    public record Footprint(int acls, long entries, int templates, long bytes) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AclCache aclCache;
+    private final CompactAcl.Context context;
+    private final SidDictionary sidDictionary;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final Map<String, Integer> typeIndex = new HashMap<>();
+    private final List<String> types = new ArrayList<>();
+    private final List<LongIntHashMap> slotsByIdentifier = new ArrayList<>();
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+    private final BitSet inheriting = new BitSet();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int aclCount;
+    private long entryCount;
+
+    private long[] ids = new long[0];
+    private int[] typeOf = new int[0];
+    private long[] identifiers = new long[0];
+    private long[] parentIds = new long[0];
+    private int[] parents = new int[0];
+    private int[] firstChild = new int[0];
+    private int[] nextSibling = new int[0];
+    private int[] owners = new int[0];
+    private AceTemplate[] templates = new AceTemplate[0];
+    private long[] firstAceIds = new long[0];
+    private long[][] aceIds = new long[0][];
+
+    public InMemoryAclStore(DataSource dataSource, AclCache aclCache, AclAuthorizationStrategy aclAuthorizationStrategy,
+                            PermissionGrantingStrategy grantingStrategy, PermissionFactory permissionFactory,
+                            SidDictionary sidDictionary) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(RELOAD_BATCH_SIZE);
+        this.aclCache = aclCache;
+        this.context = new CompactAcl.Context(aclAuthorizationStrategy, grantingStrategy, permissionFactory, sidDictionary);
+        this.sidDictionary = sidDictionary;
+    }
+
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids) {
+        ensureLoaded();
+        Map<ObjectIdentity, Acl> result = new HashMap<>(objects.size() * 2);
+        Map<Integer, Acl> built = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (ObjectIdentity oid : new LinkedHashSet<>(objects)) {
+                MutableAcl cached = aclCache.getFromCache(oid);
+                if (cached != null) {
+                    result.put(oid, cached);
+                    continue;
+                }
+                int slot = slotOf(oid);
+                if (slot != NONE) {
+                    result.put(oid, build(slot, built));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Children of the object, in no particular order, or {@code null} when it has none, as
+     * {@code JdbcAclService.findChildren} answers.
+     */
+    public List<ObjectIdentity> findChildren(ObjectIdentity parent) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(parent);
+            if (slot == NONE || firstChild[slot] == NONE) {
+                return null;
+            }
+            List<ObjectIdentity> children = new ArrayList<>();
+            for (int child = firstChild[slot]; child != NONE; child = nextSibling[child]) {
+                children.add(objectIdentity(child));
+            }
+            return children;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the objects' ACLs, with their ancestors, through the current transaction's connection; objects that
+     * no longer have an ACL are dropped. Nothing to do before the first load, which reads everything anyway.
+     */
+    public void reload(Collection<ObjectIdentity> objects) {
+        if (objects.isEmpty() || !loaded) {
+            return;
+        }
+        List<ObjectIdentity> distinct = new ArrayList<>(new LinkedHashSet<>(objects));
+        for (int from = 0; from < distinct.size(); from += RELOAD_BATCH_SIZE) {
+            List<ObjectIdentity> batch = distinct.subList(from, Math.min(from + RELOAD_BATCH_SIZE, distinct.size()));
+            List<LoadedAcl> rows = new ArrayList<>();
+            query(batch, rows::add);
+            lock.writeLock().lock();
+            try {
+                Set<Long> found = new HashSet<>(rows.size() * 2);
+                List<Integer> slots = new ArrayList<>(rows.size());
+                for (LoadedAcl row : rows) {
+                    found.add(row.id());
+                    slots.add(store(row));
+                }
+                slots.forEach(this::link);
+                for (ObjectIdentity oid : batch) {
+                    int slot = slotOf(oid);
+                    if (slot != NONE && !found.contains(ids[slot])) {
+                        remove(slot);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Drops everything held and reads the tables again.
+     */
+    public void reloadAll() {
+        lock.writeLock().lock();
+        try {
+            loadAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Footprint footprint() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // Template and ACE id array references are counted as compressed, int-sized, oops.
+            long bytes = (long) ids.length * (4 * Long.BYTES + 7 * Integer.BYTES) + inheriting.size() / 8
+                    + slotsById.bytes() + (long) freeSlots.length * Integer.BYTES;
+            for (LongIntHashMap index : slotsByIdentifier) {
+                bytes += index.bytes();
+            }
+            Set<AceTemplate> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (aceIds[slot] != null) {
+                    bytes += (long) aceIds[slot].length * Long.BYTES;
+                }
+                if (templates[slot] != null && distinct.add(templates[slot])) {
+                    bytes += templates[slot].bytes();
+                }
+            }
+            return new Footprint(aclCount, entryCount, distinct.size(), bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loadAll();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadAll() {
+        long started = System.nanoTime();
+        typeIndex.clear();
+        types.clear();
+        slotsByIdentifier.clear();
+        slotsById.clear();
+        inheriting.clear();
+        freeCount = 0;
+        slotCount = 0;
+        aclCount = 0;
+        entryCount = 0;
+        ids = new long[0];
+        typeOf = new int[0];
+        identifiers = new long[0];
+        parentIds = new long[0];
+        parents = new int[0];
+        firstChild = new int[0];
+        nextSibling = new int[0];
+        owners = new int[0];
+        templates = new AceTemplate[0];
+        firstAceIds = new long[0];
+        aceIds = new long[0][];
+        AclReader reader = new AclReader(this::store);
+        jdbcTemplate.query(SELECT_ACLS, reader);
+        reader.flush();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (templates[slot] != null) {
+                link(slot);
+            }
+        }
+        loaded = true;
+        log.info("Loaded {} ACLs with {} ACEs into memory in {} ms", aclCount, entryCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void query(List<ObjectIdentity> batch, Consumer<LoadedAcl> consumer) {
+        Map<String, List<String>> identifiersByType = new LinkedHashMap<>();
+        for (ObjectIdentity oid : batch) {
+            identifiersByType.computeIfAbsent(oid.getType(), type -> new ArrayList<>()).add(oid.getIdentifier().toString());
+        }
+        List<String> conditions = new ArrayList<>(identifiersByType.size());
+        identifiersByType.values().forEach(identifiers -> conditions.add(
+                OBJECT_CONDITION.formatted(String.join(", ", Collections.nCopies(identifiers.size(), "?")))));
+        String sql = SELECT_ACLS_WITH_ANCESTORS.formatted(String.join(" OR ", conditions));
+        AclReader reader = new AclReader(consumer);
+        jdbcTemplate.query(sql, ps -> {
+            int index = 0;
+            for (Map.Entry<String, List<String>> entry : identifiersByType.entrySet()) {
+                ps.setString(++index, entry.getKey());
+                for (String identifier : entry.getValue()) {
+                    ps.setString(++index, identifier);
+                }
+            }
+        }, reader);
+        reader.flush();
+    }
+
+    /**
+     * Puts the ACL into its slot, taking a free one for a new primary key; the parent is linked separately, once
+     * every ACL read along with it is stored.
+     */
+    private int store(LoadedAcl row) {
+        int slot = slotsById.get(row.id());
+        if (slot == NONE) {
+            slot = allocate();
+            int type = typeIndex.computeIfAbsent(row.type(), name -> {
+                types.add(name);
+                slotsByIdentifier.add(new LongIntHashMap());
+                return types.size() - 1;
+            });
+            ids[slot] = row.id();
+            typeOf[slot] = type;
+            identifiers[slot] = row.identifier();
+            slotsById.put(row.id(), slot);
+            slotsByIdentifier.get(type).put(row.identifier(), slot);
+            aclCount++;
+        } else {
+            entryCount -= templates[slot].size();
+        }
+        parentIds[slot] = row.parentId();
+        inheriting.set(slot, row.entriesInheriting());
+        owners[slot] = row.owner();
+        templates[slot] = row.template();
+        firstAceIds[slot] = row.firstAceId();
+        aceIds[slot] = row.aceIds();
+        entryCount += row.template().size();
+        return slot;
+    }
+
+    private void link(int slot) {
+        int parent = parentIds[slot] == 0 ? NONE : slotsById.get(parentIds[slot]);
+        if (parents[slot] == parent) {
+            return;
+        }
+        unlink(slot);
+        parents[slot] = parent;
+        if (parent != NONE) {
+            nextSibling[slot] = firstChild[parent];
+            firstChild[parent] = slot;
+        }
+    }
+
+    private void unlink(int slot) {
+        int parent = parents[slot];
+        if (parent == NONE) {
+            return;
+        }
+        if (firstChild[parent] == slot) {
+            firstChild[parent] = nextSibling[slot];
+        } else {
+            int sibling = firstChild[parent];
+            while (nextSibling[sibling] != slot) {
+                sibling = nextSibling[sibling];
+            }
+            nextSibling[sibling] = nextSibling[slot];
+        }
+        parents[slot] = NONE;
+        nextSibling[slot] = NONE;
+    }
+
+    private void remove(int slot) {
+        unlink(slot);
+        for (int child = firstChild[slot]; child != NONE; ) {
+            int next = nextSibling[child];
+            parents[child] = NONE;
+            nextSibling[child] = NONE;
+            child = next;
+        }
+        firstChild[slot] = NONE;
+        slotsById.remove(ids[slot]);
+        slotsByIdentifier.get(typeOf[slot]).remove(identifiers[slot]);
+        entryCount -= templates[slot].size();
+        aclCount--;
+        templates[slot] = null;
+        aceIds[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == ids.length) {
+                resize(Math.max(1024, ids.length * 2));
+            }
+            slot = slotCount++;
+        }
+        parents[slot] = NONE;
+        firstChild[slot] = NONE;
+        nextSibling[slot] = NONE;
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        typeOf = Arrays.copyOf(typeOf, capacity);
+        identifiers = Arrays.copyOf(identifiers, capacity);
+        parentIds = Arrays.copyOf(parentIds, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        templates = Arrays.copyOf(templates, capacity);
+        firstAceIds = Arrays.copyOf(firstAceIds, capacity);
+        aceIds = Arrays.copyOf(aceIds, capacity);
+    }
+
+    private int slotOf(ObjectIdentity oid) {
+        Integer type = typeIndex.get(oid.getType());
+        if (type == null) {
+            return NONE;
+        }
+        long identifier;
+        if (oid.getIdentifier() instanceof Number number) {
+            identifier = number.longValue();
+        } else {
+            try {
+                identifier = Long.parseLong(oid.getIdentifier().toString());
+            } catch (NumberFormatException ex) {
+                return NONE;
+            }
+        }
+        return slotsByIdentifier.get(type).get(identifier);
+    }
+
+    private ObjectIdentity objectIdentity(int slot) {
+        return new ObjectIdentityImpl(types.get(typeOf[slot]), identifiers[slot]);
+    }
+
+    private Acl build(int slot, Map<Integer, Acl> built) {
+        Acl acl = built.get(slot);
+        if (acl != null) {
+            return acl;
+        }
+        acl = aclCache.getFromCache(ids[slot]);
+        if (acl == null) {
+            Acl parent = parents[slot] == NONE ? null : build(parents[slot], built);
+            Sid owner = owners[slot] == NONE ? null : sidDictionary.sid(owners[slot]);
+            // Templates and id arrays are replaced, never changed, on reload, so the ACL can share them.
+            CompactAcl created = new CompactAcl(context, objectIdentity(slot), ids[slot], parent, inheriting.get(slot), owner,
+                    owners[slot], templates[slot], firstAceIds[slot], aceIds[slot]);
+            aclCache.putInCache(created);
+            acl = created;
+        }
+        built.put(slot, acl);
+        return acl;
+    }
+
+    /**
+     * Folds the rows of one ACL (one row per ACE, ordered by ACL and ACE order) into a {@link LoadedAcl}.
+     */
+    private final class AclReader implements RowCallbackHandler {
+
+        private final Consumer<LoadedAcl> consumer;
+        private long id;
+        private String type;
+        private long identifier;
+        private long parentId;
+        private boolean entriesInheriting;
+        private int owner;
+        private long[] entryIds = new long[8];
+        private int[] entrySids = new int[8];
+        private int[] entryMasks = new int[8];
+        private byte[] entryFlags = new byte[8];
+        private int entries;
+
+        AclReader(Consumer<LoadedAcl> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowId = rs.getLong(1);
+            if (rowId != id) {
+                flush();
+                id = rowId;
+                type = rs.getString(2);
+                identifier = Long.parseLong(rs.getString(3));
+                parentId = rs.getLong(4);
+                entriesInheriting = rs.getBoolean(5);
+                String ownerSid = rs.getString(7);
+                owner = ownerSid == null ? NONE : sidDictionary.id(sidDictionary.sid(rs.getBoolean(6), ownerSid));
+                entries = 0;
+            }
+            long aceId = rs.getLong(8);
+            if (rs.wasNull() || (entries > 0 && entryIds[entries - 1] == aceId)) {
+                return;
+            }
+            if (entries == entryIds.length) {
+                entryIds = Arrays.copyOf(entryIds, entries * 2);
+                entrySids = Arrays.copyOf(entrySids, entries * 2);
+                entryMasks = Arrays.copyOf(entryMasks, entries * 2);
+                entryFlags = Arrays.copyOf(entryFlags, entries * 2);
+            }
+            entryIds[entries] = aceId;
+            entrySids[entries] = sidDictionary.id(sidDictionary.sid(rs.getBoolean(13), rs.getString(14)));
+            entryMasks[entries] = rs.getInt(9);
+            entryFlags[entries] = CompactAcl.flags(rs.getBoolean(10), rs.getBoolean(11), rs.getBoolean(12));
+            entries++;
+        }
+
+        /**
+         * Hands over the ACL read last; called on the next ACL's first row and once more after the query.
+         */
+        void flush() {
+            if (id != 0) {
+                long[] aceIds = Arrays.copyOf(entryIds, entries);
+                AceTemplate template = context.templates().intern(owner, Arrays.copyOf(entrySids, entries),
+                        Arrays.copyOf(entryMasks, entries), Arrays.copyOf(entryFlags, entries));
+                consumer.accept(new LoadedAcl(id, type, identifier, parentId, entriesInheriting, owner, template,
+                        entries > 0 ? entryIds[0] : 0, CompactAcl.unlessConsecutive(aceIds)));
+                id = 0;
+            }
+        }
+    }
+}
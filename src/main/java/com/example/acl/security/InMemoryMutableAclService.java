@@ -0,0 +1,92 @@
+package com.example.acl.security;
+
+import com.example.acl.service.AclBulkPermissionChangeEvent;
+import com.example.acl.service.AclPrimaryKeyResolver;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ChildrenExistException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * {@link DifferentialJdbcMutableAclService} that serves {@code readAclById}, {@code readAclsById} and
+ * {@code findChildren} from an {@link InMemoryAclStore} holding every ACL, so authorization checks never wait on
+ * SQL. Writes still go to the {@code acl_*} tables in the caller's transaction; the store re-reads each written
+ * ACL through that transaction right away and once more if it rolls back.
+ *
+ * Services that write the tables directly announce their changes with an {@link AclBulkPermissionChangeEvent},
+ * which reloads the objects the same way.
+ */
+public class InMemoryMutableAclService extends DifferentialJdbcMutableAclService {
+
+    private final InMemoryAclStore store;
+    private final AclCache aclCache;
+
+    public InMemoryMutableAclService(DataSource dataSource, InMemoryAclStore store, AclCache aclCache,
+                                     AclPrimaryKeyResolver primaryKeys) {
+        super(dataSource, store, aclCache, primaryKeys);
+        this.store = store;
+        this.aclCache = aclCache;
+    }
+
+    @Override
+    public List<ObjectIdentity> findChildren(ObjectIdentity parentIdentity) {
+        return store.findChildren(parentIdentity);
+    }
+
+    @Override
+    public void deleteAcl(ObjectIdentity objectIdentity, boolean deleteChildren) throws ChildrenExistException {
+        super.deleteAcl(objectIdentity, deleteChildren);
+        reload(objectIdentity);
+    }
+
+    @Override
+    protected void createObjectIdentity(ObjectIdentity object, Sid owner) {
+        super.createObjectIdentity(object, owner);
+        reload(object);
+    }
+
+    @Override
+    protected void aclWritten(ObjectIdentity objectIdentity) {
+        reload(objectIdentity);
+    }
+
+    @EventListener
+    public void onBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        store.reload(objectIdentities(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        store.reload(objectIdentities(event));
+    }
+
+    private void reload(ObjectIdentity objectIdentity) {
+        store.reload(List.of(objectIdentity));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        store.reload(List.of(objectIdentity));
+                        aclCache.evictFromCache(objectIdentity);
+                    }
+                }
+            });
+        }
+    }
+
+    private static List<ObjectIdentity> objectIdentities(AclBulkPermissionChangeEvent event) {
+        return event.getIdentifiers().stream()
+                .<ObjectIdentity>map(identifier -> new ObjectIdentityImpl(event.getDomainType(), identifier))
+                .toList();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.acl.security;
+
+import com.example.acl.service.SidDictionary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.acls.domain.AuditLogger;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link PermissionGrantingStrategy} with the semantics of {@link DefaultPermissionGrantingStrategy}, evaluated
+ * against an index instead of scanning the ACEs for every permission and SID.
+ *
+ * Per ACL instance the index keeps, for each SID, the OR of its ACE masks and the first ACE of each distinct mask;
+ * since the default strategy compares masks exactly and stops at the first matching ACE of a SID, that first ACE
+ * alone decides. A check is then a hash probe per SID and a few int comparisons, without allocation. Index keys
+ * are canonical {@link SidDictionary} instances, so probes with dictionary SIDs match on identity.
+ *
+ * Indexes are keyed by object identity and tied to the ACL instance they were built from, so a reloaded ACL gets
+ * a fresh one. An ACL changed in place is {@linkplain #forget(ObjectIdentity) forgotten} once the ACL service
+ * writes it; changes are made on private copies, so no shared instance is checked between the change and the write.
+ *
+ * A {@link CompactAcl} needs no index: its SID ids and masks are scanned directly, and an entry object is only
+ * built for the audit logger when the deciding entry is flagged for auditing, the only case Spring's loggers act on.
+ */
+public class IndexedPermissionGrantingStrategy implements PermissionGrantingStrategy {
+
+    private final transient AuditLogger auditLogger;
+    private final transient SidDictionary sidDictionary;
+    private final transient Cache<ObjectIdentity, GrantIndex> indexes;
+
+    public IndexedPermissionGrantingStrategy(AuditLogger auditLogger, SidDictionary sidDictionary, long maximumSize) {
+        this.auditLogger = auditLogger;
+        this.sidDictionary = sidDictionary;
+        this.indexes = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public boolean isGranted(Acl acl, List<Permission> permission, List<Sid> sids, boolean administrativeMode)
+            throws NotFoundException {
+        if (acl instanceof CompactAcl compact && compact.isCompact()) {
+            return isGranted(compact, permission, sids, administrativeMode);
+        }
+        Map<Sid, SidEntries> bySid = index(acl).bySid;
+        AccessControlEntry firstRejection = null;
+        for (int p = 0; p < permission.size(); p++) {
+            int mask = permission.get(p).getMask();
+            for (int s = 0; s < sids.size(); s++) {
+                SidEntries entries = bySid.get(sids.get(s));
+                AccessControlEntry ace = entries == null ? null : entries.first(mask);
+                if (ace == null) {
+                    continue;
+                }
+                if (ace.isGranting()) {
+                    if (!administrativeMode) {
+                        auditLogger.logIfNeeded(true, ace);
+                    }
+                    return true;
+                }
+                if (firstRejection == null) {
+                    firstRejection = ace;
+                }
+                break;
+            }
+        }
+        if (firstRejection != null) {
+            if (!administrativeMode) {
+                auditLogger.logIfNeeded(false, firstRejection);
+            }
+            return false;
+        }
+        if (acl.isEntriesInheriting() && acl.getParentAcl() != null) {
+            return acl.getParentAcl().isGranted(permission, sids, false);
+        }
+        throw new NotFoundException("Unable to locate a matching ACE for passed permissions and SIDs");
+    }
+
+    private boolean isGranted(CompactAcl acl, List<Permission> permission, List<Sid> sids, boolean administrativeMode) {
+        int firstRejection = -1;
+        for (int p = 0; p < permission.size(); p++) {
+            int mask = permission.get(p).getMask();
+            for (int s = 0; s < sids.size(); s++) {
+                Sid sid = sids.get(s);
+                if (!(sid instanceof PrincipalSid) && !(sid instanceof GrantedAuthoritySid)) {
+                    continue;
+                }
+                int entry = acl.firstEntry(sidDictionary.id(sid), mask);
+                if (entry < 0) {
+                    continue;
+                }
+                if (acl.hasFlag(entry, CompactAcl.GRANTING)) {
+                    if (!administrativeMode && acl.hasFlag(entry, CompactAcl.AUDIT_SUCCESS)) {
+                        auditLogger.logIfNeeded(true, acl.entry(entry));
+                    }
+                    return true;
+                }
+                if (firstRejection < 0) {
+                    firstRejection = entry;
+                }
+                break;
+            }
+        }
+        if (firstRejection >= 0) {
+            if (!administrativeMode && acl.hasFlag(firstRejection, CompactAcl.AUDIT_FAILURE)) {
+                auditLogger.logIfNeeded(false, acl.entry(firstRejection));
+            }
+            return false;
+        }
+        if (acl.isEntriesInheriting() && acl.getParentAcl() != null) {
+            return acl.getParentAcl().isGranted(permission, sids, false);
+        }
+        throw new NotFoundException("Unable to locate a matching ACE for passed permissions and SIDs");
+    }
+
+    /**
+     * Drops the index of an ACL whose changes were just written.
+     */
+    public void forget(ObjectIdentity objectIdentity) {
+        indexes.invalidate(objectIdentity);
+    }
+
+    private GrantIndex index(Acl acl) {
+        GrantIndex index = indexes.getIfPresent(acl.getObjectIdentity());
+        if (index == null || index.acl != acl) {
+            index = new GrantIndex(acl, sidDictionary);
+            indexes.put(acl.getObjectIdentity(), index);
+        }
+        return index;
+    }
+
+    private static final class GrantIndex {
+
+        private final Acl acl;
+        private final Map<Sid, SidEntries> bySid = new HashMap<>();
+
+        private GrantIndex(Acl acl, SidDictionary sidDictionary) {
+            this.acl = acl;
+            for (AccessControlEntry ace : acl.getEntries()) {
+                bySid.computeIfAbsent(sidDictionary.canonical(ace.getSid()), sid -> new SidEntries()).add(ace);
+            }
+        }
+    }
+
+    private static final class SidEntries {
+
+        private int combinedMask;
+        private int[] masks = new int[0];
+        private AccessControlEntry[] firstEntries = new AccessControlEntry[0];
+
+        private void add(AccessControlEntry ace) {
+            int mask = ace.getPermission().getMask();
+            if (first(mask) != null) {
+                return;
+            }
+            combinedMask |= mask;
+            masks = Arrays.copyOf(masks, masks.length + 1);
+            masks[masks.length - 1] = mask;
+            firstEntries = Arrays.copyOf(firstEntries, firstEntries.length + 1);
+            firstEntries[firstEntries.length - 1] = ace;
+        }
+
+        private AccessControlEntry first(int mask) {
+            if ((mask & ~combinedMask) != 0) {
+                return null;
+            }
+            for (int i = 0; i < masks.length; i++) {
+                if (masks[i] == mask) {
+                    return firstEntries[i];
+                }
+            }
+            return null;
+        }
+    }
+}
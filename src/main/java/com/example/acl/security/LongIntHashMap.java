@@ -0,0 +1,117 @@
+package com.example.acl.security;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} keys to non-negative {@code int} values, without boxing either; used for
+ * the primary key and object identifier indexes of {@link InMemoryAclStore}. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this(16);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must not be negative: " + value);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != MISSING) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != MISSING && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == MISSING) {
+            return;
+        }
+        values[i] = MISSING;
+        size--;
+        // Shift later keys of the probe run back so lookups do not stop at the hole.
+        for (int j = (i + 1) & mask; values[j] != MISSING; j = (j + 1) & mask) {
+            int home = index(keys[j], mask);
+            boolean movable = i <= j ? home <= i || home > j : home <= i && home > j;
+            if (movable) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = MISSING;
+                i = j;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes held by the key and value arrays.
+     */
+    long bytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
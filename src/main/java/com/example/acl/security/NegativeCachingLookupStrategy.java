@@ -0,0 +1,96 @@
+package com.example.acl.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link LookupStrategy} decorator that remembers object identities without an ACL.
+ *
+ * {@code SpringCacheBasedAclCache} only holds ACLs that exist, so every probe of an ACL-less object would run the
+ * full lookup SQL again. Known misses are answered from a bounded Caffeine cache instead; a lookup hit counts a
+ * cache hit, a lookup that has to reach the database counts a miss.
+ *
+ * Entries must be dropped when the ACL is created: {@link #forgetMissing(ObjectIdentity)} is called right after
+ * the object identity row is inserted and again after commit, since a concurrent reader may have re-recorded the
+ * miss before the new row became visible. The TTL bounds staleness from writers that bypass the ACL service.
+ */
+public class NegativeCachingLookupStrategy implements LookupStrategy {
+
+    private final LookupStrategy delegate;
+    private final Cache<ObjectIdentity, Boolean> missing;
+
+    public NegativeCachingLookupStrategy(LookupStrategy delegate, long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids) {
+        List<ObjectIdentity> unknown = new ArrayList<>(objects.size());
+        for (ObjectIdentity object : objects) {
+            if (missing.getIfPresent(object) == null) {
+                unknown.add(object);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return Map.of();
+        }
+        Map<ObjectIdentity, Acl> acls = delegate.readAclsById(unknown, sids);
+        for (ObjectIdentity object : unknown) {
+            if (!acls.containsKey(object)) {
+                missing.put(object, Boolean.TRUE);
+            }
+        }
+        return acls;
+    }
+
+    public void forgetMissing(ObjectIdentity object) {
+        missing.invalidate(object);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    missing.invalidate(object);
+                }
+            });
+        }
+    }
+
+    public void forgetMissing(Collection<ObjectIdentity> objects) {
+        List<ObjectIdentity> created = List.copyOf(objects);
+        missing.invalidateAll(created);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    missing.invalidateAll(created);
+                }
+            });
+        }
+    }
+
+    public Cache<ObjectIdentity, Boolean> cache() {
+        return missing;
+    }
+
+    public CacheStats stats() {
+        return missing.stats();
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.acl.security;
+
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+import java.util.function.LongFunction;
+
+/**
+ * ACLs serialized into direct {@link ByteBuffer} slabs outside the Java heap, the second tier of
+ * {@link TieredAclCache}.
+ *
+ * Each ACL is one record appended to the current slab: primary key, class, numeric identifier, parent primary
+ * key, owner and, per ACE, its id, {@code SidDictionary} SID id, mask and flags. The parent is kept as a key
+ * only and looked up again when the record is read, so a record whose parent is no longer cached reads as a miss.
+ * Only the primary key and identifier indexes ({@link LongIntHashMap}s of record locations) live on the heap.
+ *
+ * Eviction is first-in, first-out by slab: when every slab is in use, the oldest is emptied and written over.
+ * Replaced and evicted records stay in their slab until then. ACLs that do not fit the format (non-numeric keys
+ * or identifiers, unsaved ACEs, other SID types) are not stored.
+ */
+public class OffHeapAclCache {
+
+    static final int MAXIMUM_SLAB_SIZE = 4 << 20;
+
+    private static final int OFFSET_BITS = 19;
+    private static final int ALIGNMENT_BITS = 3;
+    private static final int MAXIMUM_SLABS = 1 << (31 - OFFSET_BITS);
+    private static final int HEADER_BYTES = 4 + 8 + 4 + 8 + 8 + 4 + 1 + 4;
+    private static final int ENTRY_BYTES = 8 + 4 + 4 + 1;
+    private static final int NONE = -1;
+
+    /**
+     * Number of ACLs held, bytes of their live records and bytes of the slabs allocated so far.
+     */
+    public record Footprint(int acls, long liveBytes, long allocatedBytes) {
+    }
+
+    private record Stored(long id, ObjectIdentity objectIdentity, long parentId, boolean entriesInheriting, int owner,
+                          long[] entryIds, int[] sids, int[] masks, byte[] flags) {
+    }
+
+    private final CompactAcl.Context context;
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final int[] slabLimits;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> typeIndex = new HashMap<>();
+    private final List<String> types = new ArrayList<>();
+    private final List<LongIntHashMap> locationsByIdentifier = new ArrayList<>();
+    private final LongIntHashMap locationsById = new LongIntHashMap();
+    private int writeSlab;
+    private int writeOffset;
+    private long liveBytes;
+
+    public OffHeapAclCache(CompactAcl.Context context, long maximumBytes) {
+        this(context, maximumBytes, MAXIMUM_SLAB_SIZE);
+    }
+
+    OffHeapAclCache(CompactAcl.Context context, long maximumBytes, int slabSize) {
+        if (slabSize <= 0 || slabSize > MAXIMUM_SLAB_SIZE) {
+            throw new IllegalArgumentException("Slab size must be between 1 and " + MAXIMUM_SLAB_SIZE + ": " + slabSize);
+        }
+        long slabCount = Math.max(2, maximumBytes / slabSize);
+        if (slabCount > MAXIMUM_SLABS) {
+            throw new IllegalArgumentException("At most " + (long) MAXIMUM_SLABS * slabSize + " bytes: " + maximumBytes);
+        }
+        this.context = context;
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[(int) slabCount];
+        this.slabLimits = new int[(int) slabCount];
+    }
+
+    /**
+     * The cached ACL with this primary key, its parent found through {@code parents}, or {@code null}.
+     */
+    public MutableAcl get(long id, LongFunction<Acl> parents) {
+        return build(read(() -> locationsById.get(id)), parents);
+    }
+
+    public MutableAcl get(ObjectIdentity objectIdentity, LongFunction<Acl> parents) {
+        return build(read(() -> {
+            Integer type = typeIndex.get(objectIdentity.getType());
+            return type != null && objectIdentity.getIdentifier() instanceof Number identifier
+                    ? locationsByIdentifier.get(type).get(identifier.longValue())
+                    : NONE;
+        }), parents);
+    }
+
+    /**
+     * Writes the ACL, replacing any earlier copy; returns whether it could be stored. Parents already held are
+     * not written again.
+     */
+    public boolean put(MutableAcl acl) {
+        if (!(acl.getId() instanceof Long id) || !(acl.getObjectIdentity().getIdentifier() instanceof Number identifier)) {
+            return false;
+        }
+        MutableAcl parent = null;
+        long parentId = 0;
+        if (acl.getParentAcl() != null) {
+            if (!(acl.getParentAcl() instanceof MutableAcl mutableParent && mutableParent.getId() instanceof Long key)) {
+                return false;
+            }
+            parent = mutableParent;
+            parentId = key;
+        }
+        List<AccessControlEntry> entries = acl.getEntries();
+        long[] entryIds = new long[entries.size()];
+        int[] sids = new int[entries.size()];
+        int[] masks = new int[entries.size()];
+        byte[] flags = new byte[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            AccessControlEntry ace = entries.get(i);
+            if (!(ace.getId() instanceof Long entryId)
+                    || !(ace.getSid() instanceof PrincipalSid || ace.getSid() instanceof GrantedAuthoritySid)) {
+                return false;
+            }
+            entryIds[i] = entryId;
+            sids[i] = context.sidDictionary().id(ace.getSid());
+            masks[i] = ace.getPermission().getMask();
+            flags[i] = CompactAcl.flags(ace.isGranting(),
+                    ace instanceof AuditableAccessControlEntry auditable && auditable.isAuditSuccess(),
+                    ace instanceof AuditableAccessControlEntry auditable && auditable.isAuditFailure());
+        }
+        int owner = acl.getOwner() instanceof PrincipalSid || acl.getOwner() instanceof GrantedAuthoritySid
+                ? context.sidDictionary().id(acl.getOwner())
+                : NONE;
+        int length = align(HEADER_BYTES + entries.size() * ENTRY_BYTES);
+        if (length > slabSize) {
+            return false;
+        }
+        boolean parentHeld;
+        lock.writeLock().lock();
+        try {
+            int location = allocate(length);
+            ByteBuffer slab = slabs[slab(location)];
+            int offset = offset(location);
+            int type = typeIndex.computeIfAbsent(acl.getObjectIdentity().getType(), name -> {
+                types.add(name);
+                locationsByIdentifier.add(new LongIntHashMap());
+                return types.size() - 1;
+            });
+            slab.putInt(offset, length);
+            slab.putLong(offset + 4, id);
+            slab.putInt(offset + 12, type);
+            slab.putLong(offset + 16, identifier.longValue());
+            slab.putLong(offset + 24, parentId);
+            slab.putInt(offset + 32, owner);
+            slab.put(offset + 36, (byte) (acl.isEntriesInheriting() ? 1 : 0));
+            slab.putInt(offset + 37, entries.size());
+            int position = offset + HEADER_BYTES;
+            for (int i = 0; i < entryIds.length; i++, position += ENTRY_BYTES) {
+                slab.putLong(position, entryIds[i]);
+                slab.putInt(position + 8, sids[i]);
+                slab.putInt(position + 12, masks[i]);
+                slab.put(position + 16, flags[i]);
+            }
+            remove(locationsById.get(id));
+            remove(locationsByIdentifier.get(type).get(identifier.longValue()));
+            locationsById.put(id, location);
+            locationsByIdentifier.get(type).put(identifier.longValue(), location);
+            liveBytes += length;
+            parentHeld = parent == null || locationsById.get(parentId) != NONE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!parentHeld) {
+            put(parent);
+        }
+        return true;
+    }
+
+    public void evict(long id) {
+        lock.writeLock().lock();
+        try {
+            remove(locationsById.get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(ObjectIdentity objectIdentity) {
+        lock.writeLock().lock();
+        try {
+            Integer type = typeIndex.get(objectIdentity.getType());
+            if (type != null && objectIdentity.getIdentifier() instanceof Number identifier) {
+                remove(locationsByIdentifier.get(type).get(identifier.longValue()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every record; slabs already allocated are kept for reuse.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            locationsById.clear();
+            locationsByIdentifier.forEach(LongIntHashMap::clear);
+            Arrays.fill(slabLimits, 0);
+            writeSlab = 0;
+            writeOffset = 0;
+            liveBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer slab : slabs) {
+                allocated += slab != null ? slab.capacity() : 0;
+            }
+            return new Footprint(locationsById.size(), liveBytes, allocated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Stored read(IntSupplier locator) {
+        lock.readLock().lock();
+        try {
+            int location = locator.getAsInt();
+            if (location == NONE) {
+                return null;
+            }
+            ByteBuffer slab = slabs[slab(location)];
+            int offset = offset(location);
+            int entries = slab.getInt(offset + 37);
+            long[] entryIds = new long[entries];
+            int[] sids = new int[entries];
+            int[] masks = new int[entries];
+            byte[] flags = new byte[entries];
+            int position = offset + HEADER_BYTES;
+            for (int i = 0; i < entries; i++, position += ENTRY_BYTES) {
+                entryIds[i] = slab.getLong(position);
+                sids[i] = slab.getInt(position + 8);
+                masks[i] = slab.getInt(position + 12);
+                flags[i] = slab.get(position + 16);
+            }
+            ObjectIdentity objectIdentity = new ObjectIdentityImpl(types.get(slab.getInt(offset + 12)),
+                    slab.getLong(offset + 16));
+            return new Stored(slab.getLong(offset + 4), objectIdentity, slab.getLong(offset + 24),
+                    slab.get(offset + 36) != 0, slab.getInt(offset + 32), entryIds, sids, masks, flags);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MutableAcl build(Stored stored, LongFunction<Acl> parents) {
+        if (stored == null) {
+            return null;
+        }
+        Acl parent = null;
+        if (stored.parentId() != 0) {
+            parent = parents.apply(stored.parentId());
+            if (parent == null) {
+                return null;
+            }
+        }
+        return new CompactAcl(context, stored.objectIdentity(), stored.id(), parent, stored.entriesInheriting(),
+                stored.owner() == NONE ? null : context.sidDictionary().sid(stored.owner()),
+                stored.entryIds(), stored.sids(), stored.masks(), stored.flags());
+    }
+
+    /**
+     * Location for a record of this length, moving on to the next slab, and emptying it, when the current one is
+     * full.
+     */
+    private int allocate(int length) {
+        if (writeOffset + length > slabSize) {
+            slabLimits[writeSlab] = writeOffset;
+            writeSlab = (writeSlab + 1) % slabs.length;
+            writeOffset = 0;
+            if (slabs[writeSlab] == null) {
+                slabs[writeSlab] = ByteBuffer.allocateDirect(slabSize);
+            } else {
+                evictSlab(writeSlab);
+            }
+        } else if (slabs[writeSlab] == null) {
+            slabs[writeSlab] = ByteBuffer.allocateDirect(slabSize);
+        }
+        int location = writeSlab << OFFSET_BITS | writeOffset >>> ALIGNMENT_BITS;
+        writeOffset += length;
+        slabLimits[writeSlab] = writeOffset;
+        return location;
+    }
+
+    private void evictSlab(int slabIndex) {
+        ByteBuffer slab = slabs[slabIndex];
+        for (int offset = 0; offset < slabLimits[slabIndex]; offset += slab.getInt(offset)) {
+            int location = slabIndex << OFFSET_BITS | offset >>> ALIGNMENT_BITS;
+            if (locationsById.get(slab.getLong(offset + 4)) == location) {
+                remove(location);
+            }
+        }
+        slabLimits[slabIndex] = 0;
+    }
+
+    /**
+     * Drops the record at this location from both indexes, if it is still the one they point to.
+     */
+    private void remove(int location) {
+        if (location == NONE) {
+            return;
+        }
+        ByteBuffer slab = slabs[slab(location)];
+        int offset = offset(location);
+        long id = slab.getLong(offset + 4);
+        LongIntHashMap byIdentifier = locationsByIdentifier.get(slab.getInt(offset + 12));
+        long identifier = slab.getLong(offset + 16);
+        if (locationsById.get(id) == location) {
+            locationsById.remove(id);
+            liveBytes -= slab.getInt(offset);
+        }
+        if (byIdentifier.get(identifier) == location) {
+            byIdentifier.remove(identifier);
+        }
+    }
+
+    private static int slab(int location) {
+        return location >>> OFFSET_BITS;
+    }
+
+    private static int offset(int location) {
+        return (location & ((1 << OFFSET_BITS) - 1)) << ALIGNMENT_BITS;
+    }
+
+    private static int align(int length) {
+        int alignment = 1 << ALIGNMENT_BITS;
+        return (length + alignment - 1) & -alignment;
+    }
+}
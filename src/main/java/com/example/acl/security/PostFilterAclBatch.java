@@ -0,0 +1,146 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.ProjectMembershipView;
+import com.example.acl.service.AclBatchLoader;
+import com.example.acl.service.OwnershipResolver;
+import com.example.acl.service.ProjectMembershipResolver;
+import org.springframework.security.acls.domain.ObjectIdentityRetrievalStrategyImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.ObjectIdentityRetrievalStrategy;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ACLs for the elements of a collection being filtered by {@code @PostFilter}.
+ *
+ * The first {@code hasPermission(filterObject, ..)} call loads the ACL of every element with one batched lookup;
+ * the remaining elements are then evaluated against the preloaded ACLs, with the same semantics as
+ * {@link org.springframework.security.acls.AclPermissionEvaluator}. Ownership and project role helpers likewise
+ * resolve the owners and project memberships of all elements at once.
+ */
+class PostFilterAclBatch {
+
+    private static final ObjectIdentityRetrievalStrategy OBJECT_IDENTITY_RETRIEVAL = new ObjectIdentityRetrievalStrategyImpl();
+
+    private final Set<Object> domainObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Authentication authentication;
+    private final SidRetrievalStrategy sidRetrievalStrategy;
+    private final AclBatchLoader aclBatchLoader;
+    private final PermissionFactory permissionFactory;
+    private final OwnershipResolver ownershipResolver;
+    private final ProjectMembershipResolver membershipResolver;
+    private final Map<Class<?>, Map<Long, String>> owners = new HashMap<>();
+
+    private List<Sid> sids;
+    private Map<ObjectIdentity, Acl> acls;
+    private Map<Long, ProjectMembershipView> projectMemberships;
+
+    PostFilterAclBatch(Collection<?> domainObjects, Authentication authentication, SidRetrievalStrategy sidRetrievalStrategy,
+                       AclBatchLoader aclBatchLoader, PermissionFactory permissionFactory, OwnershipResolver ownershipResolver,
+                       ProjectMembershipResolver membershipResolver) {
+        this.domainObjects.addAll(domainObjects);
+        this.authentication = authentication;
+        this.sidRetrievalStrategy = sidRetrievalStrategy;
+        this.aclBatchLoader = aclBatchLoader;
+        this.permissionFactory = permissionFactory;
+        this.ownershipResolver = ownershipResolver;
+        this.membershipResolver = membershipResolver;
+    }
+
+    boolean covers(Object target) {
+        return target != null && domainObjects.contains(target);
+    }
+
+    boolean isGranted(Object target, Object permission) {
+        List<Permission> requiredPermissions = resolvePermission(permission);
+        Acl acl = acls().get(OBJECT_IDENTITY_RETRIEVAL.getObjectIdentity(target));
+        if (acl == null) {
+            return false;
+        }
+        try {
+            return acl.isGranted(requiredPermissions, sids, false);
+        } catch (NotFoundException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Owner usernames of the elements of the given class, by id.
+     */
+    Map<Long, String> owners(Class<?> domainClass) {
+        return owners.computeIfAbsent(domainClass, type -> {
+            List<Long> ids = new ArrayList<>();
+            for (Object domainObject : domainObjects) {
+                ObjectIdentity oid = OBJECT_IDENTITY_RETRIEVAL.getObjectIdentity(domainObject);
+                if (oid.getType().equals(type.getName()) && oid.getIdentifier() instanceof Long id) {
+                    ids.add(id);
+                }
+            }
+            return ids.isEmpty() ? Map.of() : ownershipResolver.owners(type, ids);
+        });
+    }
+
+    /**
+     * The caller's membership of every project that is an element or the project of a document element.
+     */
+    Map<Long, ProjectMembershipView> projectMemberships() {
+        if (projectMemberships == null) {
+            Set<Long> projectIds = new HashSet<>();
+            for (Object domainObject : domainObjects) {
+                if (domainObject instanceof Project project) {
+                    projectIds.add(project.getId());
+                } else if (domainObject instanceof Document document && document.getProject() != null) {
+                    projectIds.add(document.getProject().getId());
+                }
+            }
+            projectMemberships = projectIds.isEmpty()
+                    ? Map.of()
+                    : membershipResolver.memberships(projectIds, authentication.getName());
+        }
+        return projectMemberships;
+    }
+
+    private Map<ObjectIdentity, Acl> acls() {
+        if (acls == null) {
+            sids = sidRetrievalStrategy.getSids(authentication);
+            List<ObjectIdentity> objectIdentities = new ArrayList<>(domainObjects.size());
+            domainObjects.forEach(domainObject -> objectIdentities.add(OBJECT_IDENTITY_RETRIEVAL.getObjectIdentity(domainObject)));
+            acls = aclBatchLoader.readAcls(objectIdentities, sids);
+        }
+        return acls;
+    }
+
+    private List<Permission> resolvePermission(Object permission) {
+        if (permission instanceof Integer mask) {
+            return List.of(permissionFactory.buildFromMask(mask));
+        }
+        if (permission instanceof Permission single) {
+            return List.of(single);
+        }
+        if (permission instanceof Permission[] several) {
+            return Arrays.asList(several);
+        }
+        if (permission instanceof String name) {
+            return List.of(permissionFactory.buildFromName(name));
+        }
+        throw new IllegalArgumentException("Unsupported permission: " + permission);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.acl.security;
+
+import com.example.acl.service.SidDictionary;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link LookupStrategy} that reads ACLs together with all of their ancestors in one {@code WITH RECURSIVE} query
+ * over {@code acl_object_identity.parent_object}, where {@code BasicLookupStrategy} needs another round trip per
+ * uncached level of the Comment -> Document -> Project chain.
+ *
+ * Like {@code BasicLookupStrategy} it answers from the {@link AclCache} first, loads the rest in batches, does
+ * not filter by SID and puts every ACL it builds into the cache. Ancestors that are already cached are reused
+ * rather than rebuilt from the rows, so cached instances stay stable. ACLs are built as {@link CompactAcl}s.
+ * The chain is followed at most {@link #MAX_DEPTH} levels up.
+ */
+public class RecursiveLookupStrategy implements LookupStrategy {
+
+    /**
+     * Ancestor levels followed above the requested ACL; a deeper chain, or a {@code parent_object} cycle, is
+     * rejected rather than followed without end.
+     */
+    static final int MAX_DEPTH = 32;
+
+    private static final String SELECT_WITH_ANCESTORS = """
+            WITH RECURSIVE chain(id, parent_object, depth) AS (
+                SELECT oi.id, oi.parent_object, 0 FROM acl_object_identity oi
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                WHERE %s
+                UNION ALL
+                SELECT p.id, p.parent_object, c.depth + 1 FROM acl_object_identity p JOIN chain c ON p.id = c.parent_object
+                WHERE c.depth < %d
+            )
+            SELECT oi.id, ac.class, oi.object_id_identity, oi.parent_object, oi.entries_inheriting,
+                   owner.principal, owner.sid, e.id, e.mask, e.granting, e.audit_success, e.audit_failure,
+                   s.principal, s.sid, ac.class_id_type, c.depth
+            FROM chain c
+            JOIN acl_object_identity oi ON oi.id = c.id
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_sid owner ON owner.id = oi.owner_sid
+            LEFT JOIN acl_entry e ON e.acl_object_identity = oi.id
+            LEFT JOIN acl_sid s ON s.id = e.sid
+            ORDER BY oi.id, e.ace_order
+            """;
+
+    private static final String OBJECT_CONDITION = "(ac.class = ? AND oi.object_id_identity IN (%s))";
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private record AceRow(long id, int mask, boolean granting, boolean auditSuccess, boolean auditFailure, Sid sid) {
+    }
+
+    private record AclRow(long id, ObjectIdentity objectIdentity, Long parentId, boolean entriesInheriting, Sid owner,
+                          List<AceRow> entries) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AclCache aclCache;
+    private final CompactAcl.Context context;
+    private final SidDictionary sidDictionary;
+    private final int batchSize;
+    private final Map<String, Class<?>> classIdTypes = new ConcurrentHashMap<>();
+
+    public RecursiveLookupStrategy(DataSource dataSource, AclCache aclCache, AclAuthorizationStrategy aclAuthorizationStrategy,
+                                   PermissionGrantingStrategy grantingStrategy, PermissionFactory permissionFactory,
+                                   SidDictionary sidDictionary, int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.aclCache = aclCache;
+        this.context = new CompactAcl.Context(aclAuthorizationStrategy, grantingStrategy, permissionFactory, sidDictionary);
+        this.sidDictionary = sidDictionary;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids) {
+        Map<ObjectIdentity, Acl> result = new HashMap<>(objects.size() * 2);
+        List<ObjectIdentity> toLoad = new ArrayList<>();
+        for (ObjectIdentity oid : new LinkedHashSet<>(objects)) {
+            MutableAcl cached = aclCache.getFromCache(oid);
+            if (cached != null) {
+                result.put(oid, cached);
+            } else {
+                toLoad.add(oid);
+            }
+        }
+        for (int from = 0; from < toLoad.size(); from += batchSize) {
+            List<ObjectIdentity> batch = toLoad.subList(from, Math.min(from + batchSize, toLoad.size()));
+            Map<ObjectIdentity, Acl> loaded = load(batch);
+            for (ObjectIdentity oid : batch) {
+                Acl acl = loaded.get(oid);
+                if (acl != null) {
+                    result.put(oid, acl);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every ACL of the batch and its ancestors, keyed by object identity; one query for the whole batch, with the
+     * identifiers grouped per class so the anchor can use the (class, identity) index.
+     */
+    private Map<ObjectIdentity, Acl> load(List<ObjectIdentity> batch) {
+        Map<String, List<String>> identifiersByType = new LinkedHashMap<>();
+        for (ObjectIdentity oid : batch) {
+            identifiersByType.computeIfAbsent(oid.getType(), type -> new ArrayList<>()).add(oid.getIdentifier().toString());
+        }
+        List<String> conditions = new ArrayList<>(identifiersByType.size());
+        identifiersByType.values().forEach(identifiers -> conditions.add(
+                OBJECT_CONDITION.formatted(String.join(", ", Collections.nCopies(identifiers.size(), "?")))));
+        String sql = SELECT_WITH_ANCESTORS.formatted(String.join(" OR ", conditions), MAX_DEPTH);
+        Map<Long, AclRow> rows = jdbcTemplate.query(sql, ps -> {
+            int index = 0;
+            for (Map.Entry<String, List<String>> entry : identifiersByType.entrySet()) {
+                ps.setString(++index, entry.getKey());
+                for (String identifier : entry.getValue()) {
+                    ps.setString(++index, identifier);
+                }
+            }
+        }, this::readRows);
+
+        Map<Long, Acl> built = new HashMap<>(rows.size() * 2);
+        Map<ObjectIdentity, Acl> byIdentity = new HashMap<>(rows.size() * 2);
+        for (AclRow row : rows.values()) {
+            Acl acl = build(row, rows, built);
+            byIdentity.put(acl.getObjectIdentity(), acl);
+        }
+        return byIdentity;
+    }
+
+    private Map<Long, AclRow> readRows(ResultSet rs) throws SQLException {
+        // Ancestors shared by several objects of the batch come back once per path. H2 loses the parameters
+        // when the chain is wrapped in a SELECT DISTINCT, so duplicates are dropped here instead.
+        Map<Long, AclRow> rows = new LinkedHashMap<>();
+        Set<Long> aceIds = new HashSet<>();
+        while (rs.next()) {
+            long id = rs.getLong(1);
+            AclRow row = rows.get(id);
+            if (row == null) {
+                long parentId = rs.getLong(4);
+                Long parent = rs.wasNull() ? null : parentId;
+                String ownerSid = rs.getString(7);
+                Sid owner = ownerSid == null ? null : sidDictionary.sid(rs.getBoolean(6), ownerSid);
+                ObjectIdentity oid = new ObjectIdentityImpl(rs.getString(2), identifier(rs.getString(3), rs.getString(15)));
+                row = new AclRow(id, oid, parent, rs.getBoolean(5), owner, new ArrayList<>());
+                rows.put(id, row);
+            }
+            if (rs.getInt(16) == MAX_DEPTH && row.parentId() != null) {
+                throw new IllegalStateException("ACL " + row.objectIdentity() + " has more than " + MAX_DEPTH
+                        + " ancestors; its parent_object chain may form a cycle");
+            }
+            long aceId = rs.getLong(8);
+            if (!rs.wasNull() && aceIds.add(aceId)) {
+                row.entries().add(new AceRow(aceId, rs.getInt(9), rs.getBoolean(10), rs.getBoolean(11), rs.getBoolean(12),
+                        sidDictionary.sid(rs.getBoolean(13), rs.getString(14))));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Converts the stored identifier to {@code acl_class.class_id_type}, as {@code BasicLookupStrategy} does with
+     * class id support on; classes without a usable type get {@code Long} identifiers.
+     */
+    private Serializable identifier(String identifier, String classIdType) {
+        Class<?> type = classIdType == null ? Long.class : classIdTypes.computeIfAbsent(classIdType, RecursiveLookupStrategy::classIdType);
+        return (Serializable) CONVERSION_SERVICE.convert(identifier, type);
+    }
+
+    private static Class<?> classIdType(String name) {
+        if (ClassUtils.isPresent(name, null)) {
+            Class<?> type = ClassUtils.resolveClassName(name, null);
+            if (Serializable.class.isAssignableFrom(type) && CONVERSION_SERVICE.canConvert(String.class, type)) {
+                return type;
+            }
+        }
+        return Long.class;
+    }
+
+    private Acl build(AclRow row, Map<Long, AclRow> rows, Map<Long, Acl> built) {
+        Acl acl = built.get(row.id());
+        if (acl != null) {
+            return acl;
+        }
+        acl = aclCache.getFromCache(row.id());
+        if (acl == null) {
+            Acl parent = null;
+            if (row.parentId() != null) {
+                AclRow parentRow = rows.get(row.parentId());
+                parent = parentRow != null ? build(parentRow, rows, built) : aclCache.getFromCache(row.parentId());
+            }
+            int entries = row.entries().size();
+            long[] entryIds = new long[entries];
+            int[] sids = new int[entries];
+            int[] masks = new int[entries];
+            byte[] flags = new byte[entries];
+            for (int i = 0; i < entries; i++) {
+                AceRow ace = row.entries().get(i);
+                entryIds[i] = ace.id();
+                sids[i] = sidDictionary.id(ace.sid());
+                masks[i] = ace.mask();
+                flags[i] = CompactAcl.flags(ace.granting(), ace.auditSuccess(), ace.auditFailure());
+            }
+            CompactAcl created = new CompactAcl(context, row.objectIdentity(), row.id(), parent, row.entriesInheriting(),
+                    row.owner(), entryIds, sids, masks, flags);
+            aclCache.putInCache(created);
+            acl = created;
+        }
+        built.put(row.id(), acl);
+        return acl;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.acl.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link AclCache} over a Caffeine {@link AsyncLoadingCache} of ACLs by object identity that loads them itself,
+ * through {@link #lookupStrategy()}, instead of leaving misses to the lookup strategy.
+ *
+ * Concurrent misses for the same object share one load: the first caller runs it on its own thread, inside its
+ * own transaction, and the others wait for its result. Entries older than {@code refreshAfterWrite} are reloaded
+ * on the refresh executor when next read, and the old ACL is served until the reload completes; entries are
+ * dropped after {@code expireAfterWrite} regardless. ACLs loaded as ancestors of the ones asked for are cached too.
+ *
+ * The loader must read from the database without consulting this cache, e.g. a {@link RecursiveLookupStrategy}
+ * over a no-op cache.
+ */
+public class RefreshingAclCache implements AclCache {
+
+    private final LookupStrategy loader;
+    private final Executor refreshExecutor;
+    private final AsyncLoadingCache<ObjectIdentity, MutableAcl> acls;
+    private final Cache<Serializable, ObjectIdentity> objectIdentities;
+
+    public RefreshingAclCache(LookupStrategy loader, long maximumSize, Duration refreshAfterWrite,
+                              Duration expireAfterWrite, Executor refreshExecutor) {
+        this(loader, maximumSize, refreshAfterWrite, expireAfterWrite, refreshExecutor, Ticker.systemTicker());
+    }
+
+    RefreshingAclCache(LookupStrategy loader, long maximumSize, Duration refreshAfterWrite, Duration expireAfterWrite,
+                       Executor refreshExecutor, Ticker ticker) {
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.acls = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync(new Loader());
+        this.objectIdentities = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Lookup strategy answering from this cache and loading misses through the loader, one load per object
+     * identity at a time.
+     */
+    public LookupStrategy lookupStrategy() {
+        return this::readAclsById;
+    }
+
+    /**
+     * The ACL cache itself, for its statistics.
+     */
+    public Cache<ObjectIdentity, MutableAcl> cache() {
+        return acls.synchronous();
+    }
+
+    @Override
+    public MutableAcl getFromCache(ObjectIdentity objectIdentity) {
+        return acls.synchronous().getIfPresent(objectIdentity);
+    }
+
+    @Override
+    public MutableAcl getFromCache(Serializable pk) {
+        ObjectIdentity objectIdentity = objectIdentities.getIfPresent(pk);
+        if (objectIdentity == null) {
+            return null;
+        }
+        MutableAcl acl = getFromCache(objectIdentity);
+        return acl != null && pk.equals(acl.getId()) ? acl : null;
+    }
+
+    @Override
+    public void putInCache(MutableAcl acl) {
+        if (acl.getParentAcl() instanceof MutableAcl parent) {
+            putInCache(parent);
+        }
+        objectIdentities.put(acl.getId(), acl.getObjectIdentity());
+        acls.synchronous().put(acl.getObjectIdentity(), acl);
+    }
+
+    @Override
+    public void evictFromCache(Serializable pk) {
+        ObjectIdentity objectIdentity = objectIdentities.getIfPresent(pk);
+        objectIdentities.invalidate(pk);
+        if (objectIdentity != null) {
+            acls.synchronous().invalidate(objectIdentity);
+        }
+    }
+
+    @Override
+    public void evictFromCache(ObjectIdentity objectIdentity) {
+        MutableAcl acl = getFromCache(objectIdentity);
+        acls.synchronous().invalidate(objectIdentity);
+        if (acl != null) {
+            objectIdentities.invalidate(acl.getId());
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        acls.synchronous().invalidateAll();
+        objectIdentities.invalidateAll();
+    }
+
+    private Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids) {
+        try {
+            return new HashMap<ObjectIdentity, Acl>(acls.getAll(new LinkedHashSet<>(objects)).join());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Loads on the calling thread, so first loads see the caller's transaction, and reloads on the refresh
+     * executor.
+     */
+    private final class Loader implements AsyncCacheLoader<ObjectIdentity, MutableAcl> {
+
+        @Override
+        public CompletableFuture<? extends MutableAcl> asyncLoad(ObjectIdentity key, Executor executor) {
+            return asyncLoadAll(Set.of(key), executor).thenApply(loaded -> loaded.get(key));
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends ObjectIdentity, ? extends MutableAcl>> asyncLoadAll(
+                Set<? extends ObjectIdentity> keys, Executor executor) {
+            try {
+                return CompletableFuture.completedFuture(load(keys));
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        @Override
+        public CompletableFuture<? extends MutableAcl> asyncReload(ObjectIdentity key, MutableAcl oldValue,
+                                                                    Executor executor) {
+            return CompletableFuture.supplyAsync(() -> load(Set.of(key)).get(key), refreshExecutor);
+        }
+
+        /**
+         * The ACLs found, with their ancestors; objects without an ACL are left out.
+         */
+        private Map<ObjectIdentity, MutableAcl> load(Set<? extends ObjectIdentity> keys) {
+            Map<ObjectIdentity, MutableAcl> loaded = new HashMap<>();
+            for (Acl acl : loader.readAclsById(new ArrayList<>(keys), null).values()) {
+                for (Acl ancestor = acl; ancestor instanceof MutableAcl mutable; ancestor = ancestor.getParentAcl()) {
+                    loaded.putIfAbsent(mutable.getObjectIdentity(), mutable);
+                    objectIdentities.put(mutable.getId(), mutable.getObjectIdentity());
+                }
+            }
+            return loaded;
+        }
+    }
+}
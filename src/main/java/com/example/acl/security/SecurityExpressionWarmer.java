@@ -0,0 +1,68 @@
+package com.example.acl.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the method security expressions of all {@code @Service} beans once the application is ready, so the
+ * first secured call does not pay for parsing its expression.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SecurityExpressionWarmer {
+
+    private final ApplicationContext applicationContext;
+    private final MethodSecurityExpressionHandler expressionHandler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        ExpressionParser parser = expressionHandler.getExpressionParser();
+        int parsed = 0;
+        for (Object service : applicationContext.getBeansWithAnnotation(Service.class).values()) {
+            for (Method method : AopUtils.getTargetClass(service).getDeclaredMethods()) {
+                for (String expression : expressions(method)) {
+                    parser.parseExpression(expression);
+                    parsed++;
+                }
+            }
+        }
+        log.info("Pre-parsed {} method security expressions", parsed);
+    }
+
+    private List<String> expressions(Method method) {
+        List<String> expressions = new ArrayList<>(2);
+        PreAuthorize preAuthorize = AnnotationUtils.findAnnotation(method, PreAuthorize.class);
+        if (preAuthorize != null) {
+            expressions.add(preAuthorize.value());
+        }
+        PreFilter preFilter = AnnotationUtils.findAnnotation(method, PreFilter.class);
+        if (preFilter != null) {
+            expressions.add(preFilter.value());
+        }
+        PostAuthorize postAuthorize = AnnotationUtils.findAnnotation(method, PostAuthorize.class);
+        if (postAuthorize != null) {
+            expressions.add(postAuthorize.value());
+        }
+        PostFilter postFilter = AnnotationUtils.findAnnotation(method, PostFilter.class);
+        if (postFilter != null) {
+            expressions.add(postFilter.value());
+        }
+        return expressions;
+    }
+}
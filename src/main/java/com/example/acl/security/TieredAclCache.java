@@ -0,0 +1,106 @@
+package com.example.acl.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.io.Serializable;
+
+/**
+ * {@link AclCache} with two tiers: the on-heap cache as the first and an {@link OffHeapAclCache} as the second.
+ *
+ * Every ACL put is written to both, so the off-heap tier still has the ACLs the heap cache evicted; a first-tier
+ * miss that hits the second tier puts the ACL back into the first. Evictions and clears go to both tiers.
+ * Lookups are counted as {@code acl.cache.gets} by {@code tier} (l1, l2) and {@code result} (hit, miss), and the
+ * second tier's size is published as {@code acl.cache.size} and {@code acl.cache.bytes}.
+ */
+public class TieredAclCache implements AclCache {
+
+    private final AclCache heap;
+    private final OffHeapAclCache offHeap;
+    private final Counter heapHits;
+    private final Counter heapMisses;
+    private final Counter offHeapHits;
+    private final Counter offHeapMisses;
+
+    public TieredAclCache(AclCache heap, OffHeapAclCache offHeap, MeterRegistry meterRegistry) {
+        this.heap = heap;
+        this.offHeap = offHeap;
+        this.heapHits = Counter.builder("acl.cache.gets").tag("tier", "l1").tag("result", "hit").register(meterRegistry);
+        this.heapMisses = Counter.builder("acl.cache.gets").tag("tier", "l1").tag("result", "miss").register(meterRegistry);
+        this.offHeapHits = Counter.builder("acl.cache.gets").tag("tier", "l2").tag("result", "hit").register(meterRegistry);
+        this.offHeapMisses = Counter.builder("acl.cache.gets").tag("tier", "l2").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("acl.cache.size", offHeap, cache -> cache.footprint().acls()).tag("tier", "l2")
+                .register(meterRegistry);
+        Gauge.builder("acl.cache.bytes", offHeap, cache -> cache.footprint().liveBytes()).tag("tier", "l2")
+                .tag("area", "live").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("acl.cache.bytes", offHeap, cache -> cache.footprint().allocatedBytes()).tag("tier", "l2")
+                .tag("area", "allocated").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public MutableAcl getFromCache(ObjectIdentity objectIdentity) {
+        MutableAcl acl = heap.getFromCache(objectIdentity);
+        if (acl != null) {
+            heapHits.increment();
+            return acl;
+        }
+        heapMisses.increment();
+        return promote(offHeap.get(objectIdentity, this::parent));
+    }
+
+    @Override
+    public MutableAcl getFromCache(Serializable pk) {
+        MutableAcl acl = heap.getFromCache(pk);
+        if (acl != null) {
+            heapHits.increment();
+            return acl;
+        }
+        heapMisses.increment();
+        return promote(pk instanceof Long id ? offHeap.get(id, this::parent) : null);
+    }
+
+    @Override
+    public void putInCache(MutableAcl acl) {
+        heap.putInCache(acl);
+        offHeap.put(acl);
+    }
+
+    @Override
+    public void evictFromCache(Serializable pk) {
+        heap.evictFromCache(pk);
+        if (pk instanceof Long id) {
+            offHeap.evict(id);
+        }
+    }
+
+    @Override
+    public void evictFromCache(ObjectIdentity objectIdentity) {
+        heap.evictFromCache(objectIdentity);
+        offHeap.evict(objectIdentity);
+    }
+
+    @Override
+    public void clearCache() {
+        heap.clearCache();
+        offHeap.clear();
+    }
+
+    private Acl parent(long id) {
+        return getFromCache(Long.valueOf(id));
+    }
+
+    private MutableAcl promote(MutableAcl acl) {
+        if (acl == null) {
+            offHeapMisses.increment();
+            return null;
+        }
+        offHeapHits.increment();
+        heap.putInCache(acl);
+        return acl;
+    }
+}
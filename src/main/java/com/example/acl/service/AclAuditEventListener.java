@@ -7,7 +7,9 @@ import org.springframework.security.acls.model.Permission;
 import org.springframework.security.acls.model.Sid;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -38,6 +40,33 @@ public class AclAuditEventListener {
         logStore.save(entry);
     }
 
+    /**
+     * A bulk change is one event but still one log entry per changed object, so the log reads the same as for
+     * single changes; the entries are appended to the store in one call.
+     */
+    @EventListener
+    public void onBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        if (!event.isAudited()) {
+            return;
+        }
+        List<String> permissionNames = permissionNames(event.getPermissions());
+        String sidValue = sidValue(event.getSid());
+        Instant timestamp = Instant.now();
+        List<AclAuditLogEntry> entries = new ArrayList<>(event.getIdentifiers().size());
+        for (Serializable identifier : event.getIdentifiers()) {
+            entries.add(new AclAuditLogEntry(
+                    timestamp,
+                    event.getActor(),
+                    event.getOperation(),
+                    event.getDomainType().getName(),
+                    String.valueOf(identifier),
+                    sidValue,
+                    permissionNames
+            ));
+        }
+        logStore.saveAll(entries);
+    }
+
     private List<String> permissionNames(Collection<Permission> permissions) {
         if (permissions == null || permissions.isEmpty()) {
             return List.of();
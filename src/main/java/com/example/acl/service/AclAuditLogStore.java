@@ -1,10 +1,16 @@
 package com.example.acl.service;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AclAuditLogStore {
 
     void save(AclAuditLogEntry entry);
 
+    /**
+     * Appends the entries of one bulk change at once.
+     */
+    void saveAll(Collection<AclAuditLogEntry> entries);
+
     List<AclAuditLogEntry> findAll();
 }
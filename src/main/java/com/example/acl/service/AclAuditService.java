@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 
 @Service
 public class AclAuditService {
@@ -34,4 +35,39 @@ public class AclAuditService {
         );
         eventPublisher.publishEvent(event);
     }
+
+    public void publishBulkChange(
+            AclAuditOperation operation,
+            Class<?> domainType,
+            List<Serializable> identifiers,
+            org.springframework.security.acls.model.Sid sid,
+            Collection<org.springframework.security.acls.model.Permission> permissions,
+            String actor
+    ) {
+        publishBulkChange(operation, domainType, identifiers, sid, permissions, actor, true);
+    }
+
+    /**
+     * With {@code audited} false the change is announced to the caches and indexes but not written to the audit log.
+     */
+    public void publishBulkChange(
+            AclAuditOperation operation,
+            Class<?> domainType,
+            List<Serializable> identifiers,
+            org.springframework.security.acls.model.Sid sid,
+            Collection<org.springframework.security.acls.model.Permission> permissions,
+            String actor,
+            boolean audited
+    ) {
+        eventPublisher.publishEvent(new AclBulkPermissionChangeEvent(
+                this,
+                operation,
+                domainType,
+                identifiers,
+                sid,
+                permissions,
+                actor,
+                audited
+        ));
+    }
 }
@@ -0,0 +1,297 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Group;
+import com.example.acl.domain.Project;
+import com.example.acl.domain.Role;
+import com.example.acl.security.CustomAclPermission;
+import com.example.acl.security.NegativeCachingLookupStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Set-based variant of {@link AclInitializationService#bootstrapAclEntries()} for large data sets.
+ *
+ * The target ACL of every project, document and comment (owner, parent, entries) is computed from keyset pages of
+ * the domain tables, without loading entities, and each page is written in its own transaction: one batched insert
+ * into {@code acl_object_identity}, one into {@code acl_entry}, a level-wise rebuild of
+ * {@code acl_effective_permission} and a single {@link AclBulkPermissionChangeEvent}. Projects go first, so the
+ * parent ACL of every document and comment already exists when its page is written. Objects that already have an
+ * ACL are left as they are, so an interrupted or repeated run only fills in the missing ones.
+ *
+ * The page events are not audited per object; the audit log gets one CREATE entry per domain class instead, with
+ * {@code *} as the object id.
+ */
+@Service
+@Slf4j
+public class AclBulkBootstrapService {
+
+    private static final String PROJECT_PAGE = """
+            SELECT p.id, u.username, p.is_public FROM projects p JOIN users u ON u.id = p.owner_id
+            WHERE p.id > :after ORDER BY p.id LIMIT :limit
+            """;
+    private static final String DOCUMENT_PAGE = """
+            SELECT d.id, u.username, d.is_public, d.project_id FROM documents d JOIN users u ON u.id = d.author_id
+            WHERE d.id > :after ORDER BY d.id LIMIT :limit
+            """;
+    private static final String COMMENT_PAGE = """
+            SELECT c.id, u.username, c.document_id FROM comments c JOIN users u ON u.id = c.author_id
+            WHERE c.id > :after ORDER BY c.id LIMIT :limit
+            """;
+    private static final String SHARED_USERS = """
+            SELECT s.%2$s, u.username FROM %1$s s JOIN users u ON u.id = s.user_id
+            WHERE s.%2$s IN (:ids) ORDER BY u.username
+            """;
+    private static final String SHARED_GROUPS = "SELECT %2$s, group_name FROM %1$s WHERE %2$s IN (:ids) ORDER BY group_name";
+
+    private static final String INSERT_OBJECT = """
+            INSERT INTO acl_object_identity (object_id_class, object_id_identity, parent_object, owner_sid, entries_inheriting)
+            VALUES (?, ?, ?, ?, TRUE)
+            """;
+    private static final String INSERT_ENTRY = """
+            INSERT INTO acl_entry (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)
+            VALUES (?, ?, ?, ?, TRUE, FALSE, FALSE)
+            """;
+
+    /**
+     * Objects seen, ACLs and entries written and the time it took.
+     */
+    public record Report(long objects, long aclsCreated, long entriesCreated, Duration elapsed) {
+
+        public Report plus(Report other) {
+            return new Report(objects + other.objects, aclsCreated + other.aclsCreated,
+                    entriesCreated + other.entriesCreated, elapsed.plus(other.elapsed));
+        }
+
+        public double aclsPerSecond() {
+            return elapsed.isZero() ? 0 : aclsCreated * 1000.0 / elapsed.toMillis();
+        }
+    }
+
+    private record Grant(Sid sid, Permission permission) {
+    }
+
+    private record TargetAcl(long id, Sid owner, Long parentId, List<Grant> entries) {
+
+        void grant(Sid sid, Permission... permissions) {
+            for (Permission permission : permissions) {
+                Grant grant = new Grant(sid, permission);
+                boolean present = entries.stream().anyMatch(entry -> entry.sid().equals(sid)
+                        && entry.permission().getMask() == permission.getMask());
+                if (!present) {
+                    entries.add(grant);
+                }
+            }
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate pageTransaction;
+    private final AclPrimaryKeyResolver primaryKeys;
+    private final AclSidResolver sidResolver;
+    private final AclPermissionRegistry permissionRegistry;
+    private final AclEffectivePermissionStore effectivePermissionStore;
+    private final NegativeCachingLookupStrategy lookupStrategy;
+    private final AclAuditService auditService;
+    private final AclAuditLogStore auditLogStore;
+    private final int pageSize;
+
+    public AclBulkBootstrapService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   AclPrimaryKeyResolver primaryKeys, AclSidResolver sidResolver,
+                                   AclPermissionRegistry permissionRegistry, AclEffectivePermissionStore effectivePermissionStore,
+                                   NegativeCachingLookupStrategy lookupStrategy, AclAuditService auditService,
+                                   AclAuditLogStore auditLogStore, @Value("${acl.bootstrap.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+        this.primaryKeys = primaryKeys;
+        this.sidResolver = sidResolver;
+        this.permissionRegistry = permissionRegistry;
+        this.effectivePermissionStore = effectivePermissionStore;
+        this.lookupStrategy = lookupStrategy;
+        this.auditService = auditService;
+        this.auditLogStore = auditLogStore;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Creates the missing ACLs of all projects, documents and comments; {@code actor} is recorded in the audit log.
+     */
+    public Report bootstrap(String actor) {
+        Report projects = bootstrap(Project.class, null, "projects", this::projectPage, actor);
+        Report documents = bootstrap(Document.class, Project.class, "documents", this::documentPage, actor);
+        Report comments = bootstrap(Comment.class, Document.class, "comments", this::commentPage, actor);
+        Report total = projects.plus(documents).plus(comments);
+        log.info("Bulk ACL bootstrap: {} ACLs and {} entries for {} objects in {} ms ({} ACLs/s)",
+                total.aclsCreated(), total.entriesCreated(), total.objects(), total.elapsed().toMillis(),
+                Math.round(total.aclsPerSecond()));
+        return total;
+    }
+
+    private Report bootstrap(Class<?> domainClass, Class<?> parentClass, String table, LongFunction<List<TargetAcl>> pages,
+                             String actor) {
+        long total = jdbcTemplate.getJdbcOperations().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        long started = System.nanoTime();
+        Report report = new Report(0, 0, 0, Duration.ZERO);
+        long after = 0;
+        List<TargetAcl> page;
+        while (!(page = pages.apply(after)).isEmpty()) {
+            List<TargetAcl> current = page;
+            report = report.plus(pageTransaction.execute(status -> write(domainClass, parentClass, current, actor)));
+            after = page.get(page.size() - 1).id();
+            Report progress = new Report(report.objects(), report.aclsCreated(), report.entriesCreated(),
+                    Duration.ofNanos(System.nanoTime() - started));
+            log.info("Bulk ACL bootstrap of {}: {}/{} objects, {} ACLs created ({} ACLs/s)", domainClass.getSimpleName(),
+                    progress.objects(), total, progress.aclsCreated(), Math.round(progress.aclsPerSecond()));
+        }
+        if (report.aclsCreated() > 0) {
+            auditLogStore.save(new AclAuditLogEntry(Instant.now(), actor, AclAuditOperation.CREATE, domainClass.getName(),
+                    "*", null, List.of()));
+        }
+        return new Report(report.objects(), report.aclsCreated(), report.entriesCreated(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Report write(Class<?> domainClass, Class<?> parentClass, List<TargetAcl> page, String actor) {
+        long classId = primaryKeys.classId(domainClass);
+        Map<String, Long> existing = primaryKeys.objectIds(classId, page.stream().map(acl -> String.valueOf(acl.id())).toList());
+        List<TargetAcl> missing = page.stream().filter(acl -> !existing.containsKey(String.valueOf(acl.id()))).toList();
+        if (missing.isEmpty()) {
+            return new Report(page.size(), 0, 0, Duration.ZERO);
+        }
+        Map<String, Long> parents = parentClass == null ? Map.of() : primaryKeys.objectIds(primaryKeys.classId(parentClass),
+                missing.stream().map(TargetAcl::parentId).filter(id -> id != null).map(String::valueOf).distinct().toList());
+        Map<Sid, Long> sidIds = new HashMap<>();
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_OBJECT, missing.stream()
+                .map(acl -> new Object[]{classId, String.valueOf(acl.id()),
+                        acl.parentId() == null ? null : parents.get(String.valueOf(acl.parentId())),
+                        sidIds.computeIfAbsent(acl.owner(), primaryKeys::sidId)})
+                .toList());
+        Map<String, Long> created = primaryKeys.objectIds(classId, missing.stream().map(acl -> String.valueOf(acl.id())).toList());
+
+        List<Object[]> entries = new ArrayList<>();
+        for (TargetAcl acl : missing) {
+            long aclId = created.get(String.valueOf(acl.id()));
+            for (int order = 0; order < acl.entries().size(); order++) {
+                Grant grant = acl.entries().get(order);
+                entries.add(new Object[]{aclId, order, sidIds.computeIfAbsent(grant.sid(), primaryKeys::sidId),
+                        grant.permission().getMask()});
+            }
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_ENTRY, entries);
+
+        effectivePermissionStore.refreshAll(created.values());
+        List<ObjectIdentity> objectIdentities = new ArrayList<>(missing.size());
+        List<Serializable> identifiers = new ArrayList<>(missing.size());
+        for (TargetAcl acl : missing) {
+            objectIdentities.add(new ObjectIdentityImpl(domainClass, acl.id()));
+            identifiers.add(acl.id());
+        }
+        lookupStrategy.forgetMissing(objectIdentities);
+        auditService.publishBulkChange(AclAuditOperation.CREATE, domainClass, identifiers, null, List.of(), actor, false);
+        return new Report(page.size(), missing.size(), entries.size(), Duration.ZERO);
+    }
+
+    /**
+     * Mirrors {@code AclInitializationService#initializeProjectAcl}.
+     */
+    private List<TargetAcl> projectPage(long after) {
+        Map<Long, TargetAcl> acls = new LinkedHashMap<>();
+        Map<Long, Boolean> publicIds = new HashMap<>();
+        jdbcTemplate.query(PROJECT_PAGE, page(after), rs -> {
+            long id = rs.getLong(1);
+            acls.put(id, ownedAcl(id, rs.getString(2), null));
+            publicIds.put(id, rs.getBoolean(3));
+        });
+        sharedUsers("project_shared_users", "project_id", acls, BasePermission.READ, BasePermission.WRITE);
+        sharedGroups("project_shared_groups", "project_id", acls, BasePermission.READ, BasePermission.WRITE);
+        acls.forEach((id, acl) -> {
+            if (publicIds.get(id)) {
+                acl.grant(sidResolver.authoritySid("ROLE_USER"), BasePermission.READ);
+            }
+            acl.grant(sidResolver.roleSid(Role.MANAGER), BasePermission.READ);
+        });
+        return new ArrayList<>(acls.values());
+    }
+
+    /**
+     * Mirrors {@code AclInitializationService#initializeDocumentAcl}.
+     */
+    private List<TargetAcl> documentPage(long after) {
+        Map<Long, TargetAcl> acls = new LinkedHashMap<>();
+        Map<Long, Boolean> publicIds = new HashMap<>();
+        jdbcTemplate.query(DOCUMENT_PAGE, page(after), rs -> {
+            long id = rs.getLong(1);
+            acls.put(id, ownedAcl(id, rs.getString(2), rs.getObject(4, Long.class)));
+            publicIds.put(id, rs.getBoolean(3));
+        });
+        sharedUsers("document_shared_users", "document_id", acls, BasePermission.READ, BasePermission.WRITE);
+        sharedGroups("document_shared_groups", "document_id", acls, BasePermission.READ, CustomAclPermission.APPROVE);
+        acls.forEach((id, acl) -> {
+            if (publicIds.get(id)) {
+                acl.grant(sidResolver.authoritySid("ROLE_USER"), BasePermission.READ);
+            }
+        });
+        return new ArrayList<>(acls.values());
+    }
+
+    /**
+     * Mirrors {@code AclInitializationService#initializeCommentAcl}.
+     */
+    private List<TargetAcl> commentPage(long after) {
+        List<TargetAcl> acls = new ArrayList<>();
+        jdbcTemplate.query(COMMENT_PAGE, page(after), rs -> {
+            acls.add(ownedAcl(rs.getLong(1), rs.getString(2), rs.getObject(3, Long.class)));
+        });
+        return acls;
+    }
+
+    private TargetAcl ownedAcl(long id, String owner, Long parentId) {
+        TargetAcl acl = new TargetAcl(id, sidResolver.principalSid(owner), parentId, new ArrayList<>());
+        acl.grant(acl.owner(), permissionRegistry.ownerDefaults().toArray(Permission[]::new));
+        return acl;
+    }
+
+    private void sharedUsers(String table, String column, Map<Long, TargetAcl> acls, Permission... permissions) {
+        if (acls.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(SHARED_USERS.formatted(table, column), new MapSqlParameterSource("ids", acls.keySet()), rs -> {
+            acls.get(rs.getLong(1)).grant(sidResolver.principalSid(rs.getString(2)), permissions);
+        });
+    }
+
+    private void sharedGroups(String table, String column, Map<Long, TargetAcl> acls, Permission... permissions) {
+        if (acls.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(SHARED_GROUPS.formatted(table, column), new MapSqlParameterSource("ids", acls.keySet()), rs -> {
+            acls.get(rs.getLong(1)).grant(sidResolver.groupSid(Group.valueOf(rs.getString(2))), permissions);
+        });
+    }
+
+    private MapSqlParameterSource page(long after) {
+        return new MapSqlParameterSource().addValue("after", after).addValue("limit", pageSize);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.acl.service;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One grant or revoke of the same permissions for one SID applied to many objects of a class; published once per
+ * bulk operation instead of an {@link AclPermissionChangeEvent} per object. Only the objects whose ACL actually
+ * changed are listed. Unaudited events (the bootstrap's) leave the audit log to a summary of their own.
+ */
+public class AclBulkPermissionChangeEvent extends ApplicationEvent {
+
+    private final AclAuditOperation operation;
+    private final Class<?> domainType;
+    private final List<Serializable> identifiers;
+    private final Sid sid;
+    private final Collection<Permission> permissions;
+    private final String actor;
+    private final boolean audited;
+
+    public AclBulkPermissionChangeEvent(
+            Object source,
+            AclAuditOperation operation,
+            Class<?> domainType,
+            List<Serializable> identifiers,
+            Sid sid,
+            Collection<Permission> permissions,
+            String actor
+    ) {
+        this(source, operation, domainType, identifiers, sid, permissions, actor, true);
+    }
+
+    public AclBulkPermissionChangeEvent(
+            Object source,
+            AclAuditOperation operation,
+            Class<?> domainType,
+            List<Serializable> identifiers,
+            Sid sid,
+            Collection<Permission> permissions,
+            String actor,
+            boolean audited
+    ) {
+        super(source);
+        this.operation = operation;
+        this.domainType = domainType;
+        this.identifiers = identifiers;
+        this.sid = sid;
+        this.permissions = permissions;
+        this.actor = actor;
+        this.audited = audited;
+    }
+
+    public AclAuditOperation getOperation() {
+        return operation;
+    }
+
+    public Class<?> getDomainType() {
+        return domainType;
+    }
+
+    public List<Serializable> getIdentifiers() {
+        return identifiers;
+    }
+
+    public Sid getSid() {
+        return sid;
+    }
+
+    public Collection<Permission> getPermissions() {
+        return permissions;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public boolean isAudited() {
+        return audited;
+    }
+}
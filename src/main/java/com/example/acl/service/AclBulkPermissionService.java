@@ -0,0 +1,333 @@
+package com.example.acl.service;
+
+import com.example.acl.security.NegativeCachingLookupStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based grant and revoke of the same permissions for one SID on many objects of a class.
+ *
+ * Where {@link AclPermissionService} reads, rewrites and evicts one ACL at a time, this resolves the object
+ * identities of a whole batch with one query, creates the missing ones and inserts the new ACEs as JDBC batches,
+ * rebuilds {@code acl_effective_permission} level by level, evicts the cached ACLs (and their descendants) in one
+ * pass and publishes a single {@link AclBulkPermissionChangeEvent}. ACEs are appended with the same order, owner
+ * and granting flags {@link AclPermissionService#grantPermissions} would give them. Rows are written directly, so
+ * the existing ACLs of each batch are loaded first and put through the same {@link AclAuthorizationStrategy}
+ * check {@code AclImpl} runs before a single change; objects the caller may not change are reported as
+ * {@link Outcome#DENIED} and left alone. ACLs the grant creates are owned by the caller, as with
+ * {@code createAcl}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AclBulkPermissionService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_OBJECT = """
+            INSERT INTO acl_object_identity (object_id_class, object_id_identity, parent_object, owner_sid, entries_inheriting)
+            VALUES (?, ?, NULL, ?, TRUE)
+            """;
+
+    private static final String SELECT_ENTRIES = """
+            SELECT acl_object_identity, ace_order, sid, mask, granting FROM acl_entry
+            WHERE acl_object_identity IN (:ids)
+            """;
+    private static final String INSERT_ENTRY = """
+            INSERT INTO acl_entry (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)
+            VALUES (?, ?, ?, ?, TRUE, FALSE, FALSE)
+            """;
+
+    private static final String SELECT_REVOKED = """
+            SELECT DISTINCT acl_object_identity FROM acl_entry
+            WHERE sid = :sid AND mask IN (:masks) AND acl_object_identity IN (:ids)
+            """;
+    private static final String DELETE_REVOKED = """
+            DELETE FROM acl_entry WHERE sid = :sid AND mask IN (:masks) AND acl_object_identity IN (:ids)
+            """;
+
+    private static final String SELECT_SUBTREES = """
+            WITH RECURSIVE subtree(id) AS (
+                SELECT id FROM acl_object_identity WHERE id IN (:ids)
+                UNION ALL
+                SELECT child.id FROM acl_object_identity child JOIN subtree t ON child.parent_object = t.id
+            )
+            SELECT id FROM subtree
+            """;
+
+    public enum Outcome {
+        GRANTED,
+        REVOKED,
+        UNCHANGED,
+        NOT_FOUND,
+        DENIED
+    }
+
+    /**
+     * What happened to one object; {@code aclCreated} when the grant had to create its ACL first.
+     */
+    public record ItemResult(Serializable resourceId, Outcome outcome, boolean aclCreated) {
+    }
+
+    public record BulkResult(AclAuditOperation operation, List<ItemResult> items) {
+
+        public long changed() {
+            return items.stream().filter(item -> item.outcome() == Outcome.GRANTED || item.outcome() == Outcome.REVOKED).count();
+        }
+    }
+
+    private record Ace(long aclId, int order, long sidId, int mask, boolean granting) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AclPrimaryKeyResolver primaryKeys;
+    private final AclCache aclCache;
+    private final AclBatchLoader aclBatchLoader;
+    private final AclAuthorizationStrategy aclAuthorizationStrategy;
+    private final NegativeCachingLookupStrategy lookupStrategy;
+    private final AclEffectivePermissionStore effectivePermissionStore;
+    private final AclAuditService auditService;
+
+    @Transactional
+    public BulkResult grant(Class<?> domainClass, Collection<? extends Serializable> identifiers, Sid sid,
+                            Collection<Permission> permissions, String actor) {
+        if (identifiers == null || identifiers.isEmpty() || permissions == null || permissions.isEmpty()) {
+            return new BulkResult(AclAuditOperation.GRANT, List.of());
+        }
+        long classId = primaryKeys.classId(domainClass);
+        long sidId = primaryKeys.sidId(sid);
+        Set<Integer> masks = masks(permissions);
+        Long ownerId = null;
+
+        List<ItemResult> items = new ArrayList<>(identifiers.size());
+        List<Long> changedAcls = new ArrayList<>();
+        List<Serializable> changedIdentifiers = new ArrayList<>();
+        List<ObjectIdentity> created = new ArrayList<>();
+        for (List<Serializable> batch : batches(identifiers)) {
+            Map<String, Long> aclIds = objectPrimaryKeys(classId, batch);
+            Set<String> existing = new HashSet<>(aclIds.keySet());
+            Set<String> denied = denied(domainClass, batch, existing);
+            List<Serializable> missing = batch.stream().filter(identifier -> !existing.contains(identifier.toString())).toList();
+            if (!missing.isEmpty()) {
+                if (ownerId == null) {
+                    ownerId = primaryKeys.sidId(new PrincipalSid(actor));
+                }
+                long owner = ownerId;
+                jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_OBJECT, missing.stream()
+                        .map(identifier -> new Object[]{classId, identifier.toString(), owner})
+                        .toList());
+                aclIds.putAll(objectPrimaryKeys(classId, missing));
+                missing.forEach(identifier -> created.add(new ObjectIdentityImpl(domainClass, identifier)));
+            }
+
+            Map<Long, List<Ace>> entries = entries(aclIds.values());
+            List<Object[]> inserts = new ArrayList<>();
+            for (Serializable identifier : batch) {
+                if (denied.contains(identifier.toString())) {
+                    items.add(new ItemResult(identifier, Outcome.DENIED, false));
+                    continue;
+                }
+                long aclId = aclIds.get(identifier.toString());
+                List<Ace> aces = entries.getOrDefault(aclId, List.of());
+                int order = aces.stream().mapToInt(Ace::order).max().orElse(-1);
+                boolean changed = false;
+                for (int mask : masks) {
+                    boolean granted = aces.stream().anyMatch(ace -> ace.sidId() == sidId && ace.mask() == mask && ace.granting());
+                    if (!granted) {
+                        inserts.add(new Object[]{aclId, ++order, sidId, mask});
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    changedAcls.add(aclId);
+                    changedIdentifiers.add(identifier);
+                }
+                items.add(new ItemResult(identifier, changed ? Outcome.GRANTED : Outcome.UNCHANGED,
+                        !existing.contains(identifier.toString())));
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_ENTRY, inserts);
+            }
+        }
+        if (!created.isEmpty()) {
+            lookupStrategy.forgetMissing(created);
+        }
+        applied(AclAuditOperation.GRANT, domainClass, changedAcls, changedIdentifiers, sid, permissions, actor);
+        return new BulkResult(AclAuditOperation.GRANT, items);
+    }
+
+    /**
+     * Deletes the SID's ACEs with any of the permissions' masks, granting or not, like
+     * {@link AclPermissionService#revokePermissions}; objects without an ACL are reported, not created.
+     */
+    @Transactional
+    public BulkResult revoke(Class<?> domainClass, Collection<? extends Serializable> identifiers, Sid sid,
+                             Collection<Permission> permissions, String actor) {
+        if (identifiers == null || identifiers.isEmpty() || permissions == null || permissions.isEmpty()) {
+            return new BulkResult(AclAuditOperation.REVOKE, List.of());
+        }
+        long classId = primaryKeys.classId(domainClass);
+        long sidId = primaryKeys.sidId(sid);
+        Set<Integer> masks = masks(permissions);
+
+        List<ItemResult> items = new ArrayList<>(identifiers.size());
+        List<Long> changedAcls = new ArrayList<>();
+        List<Serializable> changedIdentifiers = new ArrayList<>();
+        for (List<Serializable> batch : batches(identifiers)) {
+            Map<String, Long> aclIds = objectPrimaryKeys(classId, batch);
+            Set<String> denied = denied(domainClass, batch, aclIds.keySet());
+            List<Long> allowed = aclIds.entrySet().stream()
+                    .filter(entry -> !denied.contains(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            Set<Long> revoked = new HashSet<>();
+            if (!allowed.isEmpty()) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("sid", sidId)
+                        .addValue("masks", masks)
+                        .addValue("ids", allowed);
+                revoked.addAll(jdbcTemplate.queryForList(SELECT_REVOKED, params, Long.class));
+                if (!revoked.isEmpty()) {
+                    jdbcTemplate.update(DELETE_REVOKED, params);
+                }
+            }
+            for (Serializable identifier : batch) {
+                Long aclId = aclIds.get(identifier.toString());
+                Outcome outcome = aclId == null ? Outcome.NOT_FOUND
+                        : denied.contains(identifier.toString()) ? Outcome.DENIED
+                        : revoked.contains(aclId) ? Outcome.REVOKED
+                        : Outcome.UNCHANGED;
+                if (outcome == Outcome.REVOKED) {
+                    changedAcls.add(aclId);
+                    changedIdentifiers.add(identifier);
+                }
+                items.add(new ItemResult(identifier, outcome, false));
+            }
+        }
+        applied(AclAuditOperation.REVOKE, domainClass, changedAcls, changedIdentifiers, sid, permissions, actor);
+        return new BulkResult(AclAuditOperation.REVOKE, items);
+    }
+
+    private void applied(AclAuditOperation operation, Class<?> domainClass, List<Long> changedAcls,
+                         List<Serializable> changedIdentifiers, Sid sid, Collection<Permission> permissions, String actor) {
+        if (changedAcls.isEmpty()) {
+            return;
+        }
+        effectivePermissionStore.refreshAll(changedAcls);
+        evictSubtrees(changedAcls);
+        auditService.publishBulkChange(operation, domainClass, changedIdentifiers, sid, new ArrayList<>(permissions), actor);
+        log.debug("Bulk {} of {} on {} {} objects for {}", operation, permissions, changedAcls.size(),
+                domainClass.getSimpleName(), sid);
+    }
+
+    /**
+     * Identifiers of the batch with an ACL the current user may not change: neither its owner, nor holding the
+     * general-changes authority, nor granted ADMINISTRATION on it.
+     */
+    private Set<String> denied(Class<?> domainClass, List<Serializable> batch, Set<String> existing) {
+        List<ObjectIdentity> objectIdentities = batch.stream()
+                .filter(identifier -> existing.contains(identifier.toString()))
+                .map(identifier -> (ObjectIdentity) new ObjectIdentityImpl(domainClass, identifier))
+                .toList();
+        if (objectIdentities.isEmpty()) {
+            return Set.of();
+        }
+        Map<ObjectIdentity, Acl> acls = aclBatchLoader.readAcls(objectIdentities, null);
+        Set<String> denied = new HashSet<>();
+        for (ObjectIdentity objectIdentity : objectIdentities) {
+            Acl acl = acls.get(objectIdentity);
+            try {
+                if (acl == null) {
+                    throw new NotFoundException("No ACL for " + objectIdentity);
+                }
+                aclAuthorizationStrategy.securityCheck(acl, AclAuthorizationStrategy.CHANGE_GENERAL);
+            } catch (AccessDeniedException | NotFoundException ex) {
+                denied.add(objectIdentity.getIdentifier().toString());
+            }
+        }
+        return denied;
+    }
+
+    /**
+     * Cached descendants hold their parent ACL instance, so they go too; again after a rollback, since the cache
+     * is not transactional.
+     */
+    private void evictSubtrees(List<Long> aclIds) {
+        List<Long> evicted = new ArrayList<>();
+        for (int from = 0; from < aclIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = aclIds.subList(from, Math.min(from + BATCH_SIZE, aclIds.size()));
+            evicted.addAll(new LinkedHashSet<>(jdbcTemplate.queryForList(SELECT_SUBTREES, new MapSqlParameterSource("ids", batch), Long.class)));
+        }
+        evicted.forEach(aclCache::evictFromCache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evicted.forEach(aclCache::evictFromCache);
+                    }
+                }
+            });
+        }
+    }
+
+    private Map<String, Long> objectPrimaryKeys(long classId, List<Serializable> identifiers) {
+        return primaryKeys.objectIds(classId, identifiers.stream().map(Object::toString).toList());
+    }
+
+    private Map<Long, List<Ace>> entries(Collection<Long> aclIds) {
+        Map<Long, List<Ace>> entries = new HashMap<>(aclIds.size() * 2);
+        jdbcTemplate.query(SELECT_ENTRIES, new MapSqlParameterSource("ids", aclIds), rs -> {
+            Ace ace = new Ace(rs.getLong(1), rs.getInt(2), rs.getLong(3), rs.getInt(4), rs.getBoolean(5));
+            entries.computeIfAbsent(ace.aclId(), id -> new ArrayList<>()).add(ace);
+        });
+        return entries;
+    }
+
+    private static Set<Integer> masks(Collection<Permission> permissions) {
+        Set<Integer> masks = new LinkedHashSet<>();
+        permissions.forEach(permission -> masks.add(permission.getMask()));
+        return masks;
+    }
+
+    /**
+     * Distinct identifiers in request order, split into batches that fit one IN list.
+     */
+    private static List<List<Serializable>> batches(Collection<? extends Serializable> identifiers) {
+        Map<String, Serializable> distinct = new LinkedHashMap<>();
+        identifiers.forEach(identifier -> distinct.putIfAbsent(identifier.toString(), identifier));
+        List<Serializable> all = new ArrayList<>(distinct.values());
+        List<List<Serializable>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(from + BATCH_SIZE, all.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.acl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclService;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ACL decisions shared across requests, keyed by the caller's SID list, the object identity and the permission
+ * masks. SID lists come from {@link AclSidResolver}, which hands out one immutable list per principal and
+ * authorities, so the list itself is the fingerprint.
+ *
+ * Every decision records the object identities it depended on: the object and all of its ancestor ACLs. An
+ * {@link AclPermissionChangeEvent}, or each object of an {@link AclBulkPermissionChangeEvent}, drops exactly
+ * the decisions that depend on the changed object, which covers descendants inheriting from it. Events are
+ * applied when published, so later checks in the writing transaction see the change, and again after
+ * completion, so decisions taken on uncommitted or rolled back state do not survive. Hits and misses are
+ * published as {@code cache.gets} for "aclDecisionCache" and as the {@code acl.decision.cache.hit.ratio}
+ * gauge; {@code acl.decision-cache.enabled=false} evaluates every check.
+ */
+@Component
+public class AclDecisionCache {
+
+    private record DecisionKey(List<Sid> sids, ObjectIdentity objectIdentity, List<Integer> masks) {
+    }
+
+    private record Decision(boolean granted, List<ObjectIdentity> dependencies) {
+    }
+
+    private final AclService aclService;
+    private final AclSidResolver sidResolver;
+    private final boolean enabled;
+    private final Cache<DecisionKey, Decision> decisions;
+    private final Map<ObjectIdentity, Set<DecisionKey>> dependents = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AclDecisionCache(AclService aclService, AclSidResolver sidResolver, MeterRegistry meterRegistry,
+                            @Value("${acl.decision-cache.enabled:true}") boolean enabled,
+                            @Value("${acl.decision-cache.maximum-size:100000}") long maximumSize,
+                            @Value("${acl.decision-cache.time-to-live:PT10M}") Duration timeToLive) {
+        this.aclService = aclService;
+        this.sidResolver = sidResolver;
+        this.enabled = enabled;
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .removalListener(this::removed)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "aclDecisionCache");
+        Gauge.builder("acl.decision.cache.hit.ratio", decisions, cache -> cache.stats().hitRate()).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the authentication holds any of the permissions on the object, as {@code Acl.isGranted} decides;
+     * objects without an ACL or without a matching ACE are denied.
+     */
+    public boolean isGranted(Authentication authentication, ObjectIdentity objectIdentity, List<Permission> permissions) {
+        List<Sid> sids = sidResolver.getSids(authentication);
+        if (!enabled) {
+            return evaluate(objectIdentity, permissions, sids).granted();
+        }
+        DecisionKey key = new DecisionKey(sids, objectIdentity, masks(permissions));
+        Decision decision = decisions.getIfPresent(key);
+        if (decision != null) {
+            return decision.granted();
+        }
+        long generation = invalidations.get();
+        decision = evaluate(objectIdentity, permissions, sids);
+        for (ObjectIdentity dependency : decision.dependencies()) {
+            dependents.computeIfAbsent(dependency, oid -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        decisions.put(key, decision);
+        if (invalidations.get() != generation) {
+            // A change raced the evaluation; it may have been read before or after the change.
+            decisions.invalidate(key);
+        }
+        return decision.granted();
+    }
+
+    /**
+     * Drops the decisions that depend on the object's ACL.
+     */
+    public void invalidate(ObjectIdentity objectIdentity) {
+        invalidations.incrementAndGet();
+        Set<DecisionKey> keys = dependents.remove(objectIdentity);
+        if (keys != null) {
+            decisions.invalidateAll(keys);
+        }
+    }
+
+    public long size() {
+        return decisions.estimatedSize();
+    }
+
+    @EventListener
+    public void onPermissionChange(AclPermissionChangeEvent event) {
+        invalidate(new ObjectIdentityImpl(event.getDomainType(), event.getIdentifier()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterPermissionChange(AclPermissionChangeEvent event) {
+        invalidate(new ObjectIdentityImpl(event.getDomainType(), event.getIdentifier()));
+    }
+
+    @EventListener
+    public void onBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        event.getIdentifiers().forEach(identifier -> invalidate(new ObjectIdentityImpl(event.getDomainType(), identifier)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        onBulkPermissionChange(event);
+    }
+
+    private Decision evaluate(ObjectIdentity objectIdentity, List<Permission> permissions, List<Sid> sids) {
+        Acl acl;
+        try {
+            acl = aclService.readAclById(objectIdentity, sids);
+        } catch (NotFoundException ex) {
+            return new Decision(false, List.of(objectIdentity));
+        }
+        List<ObjectIdentity> dependencies = new ArrayList<>();
+        for (Acl current = acl; current != null; current = current.getParentAcl()) {
+            dependencies.add(current.getObjectIdentity());
+        }
+        try {
+            return new Decision(acl.isGranted(permissions, sids, false), dependencies);
+        } catch (NotFoundException ex) {
+            return new Decision(false, dependencies);
+        }
+    }
+
+    private void removed(DecisionKey key, Decision decision, RemovalCause cause) {
+        if (key == null || decision == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        for (ObjectIdentity dependency : decision.dependencies()) {
+            dependents.computeIfPresent(dependency, (oid, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static List<Integer> masks(List<Permission> permissions) {
+        List<Integer> masks = new ArrayList<>(permissions.size());
+        for (Permission permission : permissions) {
+            masks.add(permission.getMask());
+        }
+        return masks;
+    }
+}
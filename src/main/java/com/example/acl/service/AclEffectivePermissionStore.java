@@ -0,0 +1,212 @@
+package com.example.acl.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains {@code acl_effective_permission}: every granted (SID, mask) pair of an object identity, including
+ * the ones inherited through parent ACLs with {@code entries_inheriting}.
+ *
+ * Rows are rebuilt from the object's own ACEs plus the parent's already-flattened rows, then pushed down to the
+ * children, all inside the caller's transaction. As in {@code DefaultPermissionGrantingStrategy}, the first ACE
+ * of an ACL for a SID and mask decides, so a deny hides a later grant, and any own ACE for the pair hides what
+ * the parent grants. Each SID is decided on its own: a deny for one SID does not hide a grant to another.
+ * Only ACL changes made through {@link AclPermissionService} are tracked; writes straight to
+ * {@code MutableAclService} bypass the table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AclEffectivePermissionStore {
+
+    private static final String DELETE_OBJECTS = "DELETE FROM acl_effective_permission WHERE acl_object_identity IN (:ids)";
+
+    private static final String INSERT_FLATTENED_OBJECTS = """
+            INSERT INTO acl_effective_permission (acl_object_identity, sid_id, class_id, object_id, mask)
+            SELECT oi.id, g.sid_id, oi.object_id_class, oi.object_id_identity, g.mask
+            FROM acl_object_identity oi
+            JOIN (
+                SELECT e.acl_object_identity AS id, e.sid AS sid_id, e.mask FROM acl_entry e
+                WHERE e.acl_object_identity IN (:ids) AND e.granting = TRUE
+                  AND NOT EXISTS (SELECT 1 FROM acl_entry earlier
+                      WHERE earlier.acl_object_identity = e.acl_object_identity AND earlier.sid = e.sid
+                        AND earlier.mask = e.mask AND earlier.ace_order < e.ace_order)
+                UNION
+                SELECT child.id, ep.sid_id, ep.mask FROM acl_effective_permission ep
+                JOIN acl_object_identity child ON child.parent_object = ep.acl_object_identity
+                WHERE child.id IN (:ids) AND child.entries_inheriting = TRUE
+                  AND NOT EXISTS (SELECT 1 FROM acl_entry own
+                      WHERE own.acl_object_identity = child.id AND own.sid = ep.sid_id AND own.mask = ep.mask)
+            ) g ON g.id = oi.id
+            """;
+
+    private static final String SELECT_CHILDREN_OF_OBJECTS = "SELECT id FROM acl_object_identity WHERE parent_object IN (:ids)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_OBJECT = """
+            SELECT oi.id, oi.entries_inheriting, pc.class AS parent_type, parent.object_id_identity AS parent_id
+            FROM acl_object_identity oi
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_object_identity parent ON parent.id = oi.parent_object
+            LEFT JOIN acl_class pc ON pc.id = parent.object_id_class
+            WHERE ac.class = :type AND oi.object_id_identity = :objectId
+            """;
+
+    private static final String SELECT_OBJECT_MASKS = """
+            SELECT ep.mask, MAX(CASE WHEN e.id IS NULL THEN 0 ELSE 1 END) AS direct
+            FROM acl_effective_permission ep
+            JOIN acl_sid s ON s.id = ep.sid_id
+            LEFT JOIN acl_entry e ON e.acl_object_identity = ep.acl_object_identity AND e.sid = ep.sid_id
+                AND e.mask = ep.mask AND e.granting = TRUE
+            WHERE ep.acl_object_identity = :id AND %s
+            GROUP BY ep.mask
+            """;
+
+    private static final String SELECT_CLASS_MASKS = """
+            SELECT ep.object_id, ep.mask, oi.entries_inheriting, oi.parent_object FROM acl_effective_permission ep
+            JOIN acl_object_identity oi ON oi.id = ep.acl_object_identity
+            JOIN acl_class ac ON ac.id = ep.class_id
+            JOIN acl_sid s ON s.id = ep.sid_id
+            WHERE ac.class = :type AND
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Granted permissions of one object, flattened over its inheriting parents.
+     */
+    public record ObjectGrants(Long objectId, Set<Integer> masks, boolean inheriting) {
+    }
+
+    /**
+     * What the SIDs can do on one object: masks granted by the object's own ACEs and masks it only inherits,
+     * with the parent it inherits from ({@code null} when it does not).
+     */
+    public record EffectiveGrants(Set<Integer> direct, Set<Integer> inherited, ObjectIdentity parent) {
+
+        public Set<Integer> masks() {
+            Set<Integer> masks = new HashSet<>(direct);
+            masks.addAll(inherited);
+            return masks;
+        }
+    }
+
+    /**
+     * Rebuilds the rows of the given ACL (by {@code acl_object_identity.id}) and of every descendant.
+     */
+    public void refresh(Serializable aclId) {
+        refreshAll(List.of(((Number) aclId).longValue()));
+    }
+
+    /**
+     * {@link #refresh(Serializable)} for many ACLs at once: a delete and an insert per batch of ACLs, then the
+     * same for their children one level at a time, so three statements per level rather than per ACL. An ACL
+     * that is also a descendant of another one in the set is rebuilt again once its parent's level has been
+     * refreshed.
+     */
+    public void refreshAll(Collection<Long> aclIds) {
+        List<Long> level = new ArrayList<>(aclIds);
+        int levels = 0;
+        while (!level.isEmpty()) {
+            List<Long> children = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += BATCH_SIZE) {
+                MapSqlParameterSource params = new MapSqlParameterSource("ids", level.subList(from, Math.min(from + BATCH_SIZE, level.size())));
+                jdbcTemplate.update(DELETE_OBJECTS, params);
+                jdbcTemplate.update(INSERT_FLATTENED_OBJECTS, params);
+                children.addAll(jdbcTemplate.queryForList(SELECT_CHILDREN_OF_OBJECTS, params, Long.class));
+            }
+            level = children;
+            levels++;
+        }
+        log.trace("Refreshed effective permissions of {} ACLs over {} levels", aclIds.size(), levels);
+    }
+
+    /**
+     * What the SIDs can do on the object, read from the flattened rows instead of walking its ACL and parents;
+     * empty when the object has no ACL.
+     */
+    public Optional<EffectiveGrants> effectiveGrants(List<Sid> sids, ObjectIdentity oid) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("type", oid.getType())
+                .addValue("objectId", oid.getIdentifier().toString());
+        List<Map<String, Object>> objects = jdbcTemplate.queryForList(SELECT_OBJECT, params);
+        if (objects.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Object> object = objects.get(0);
+        ObjectIdentity parent = object.get("parent_type") != null && Boolean.TRUE.equals(object.get("entries_inheriting"))
+                ? new ObjectIdentityImpl((String) object.get("parent_type"), (String) object.get("parent_id"))
+                : null;
+        Set<Integer> direct = new HashSet<>();
+        Set<Integer> inherited = new HashSet<>();
+        params.addValue("id", object.get("id"));
+        String sidCondition = sidCondition(sids, params);
+        if (sidCondition != null) {
+            jdbcTemplate.query(SELECT_OBJECT_MASKS.formatted(sidCondition), params, rs -> {
+                (rs.getInt("direct") == 1 ? direct : inherited).add(rs.getInt("mask"));
+            });
+        }
+        return Optional.of(new EffectiveGrants(direct, inherited, parent));
+    }
+
+    /**
+     * Which objects of the class the SIDs hold any permission on: one lookup on the SID index.
+     */
+    public List<ObjectGrants> grantsByObject(List<Sid> sids, Class<?> domainClass) {
+        MapSqlParameterSource params = new MapSqlParameterSource("type", domainClass.getName());
+        String sidCondition = sidCondition(sids, params);
+        if (sidCondition == null) {
+            return List.of();
+        }
+        Map<Long, ObjectGrants> grants = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_CLASS_MASKS + sidCondition + " ORDER BY oi.id", params, rs -> {
+            Long objectId = Long.valueOf(rs.getString("object_id"));
+            boolean inheriting = rs.getBoolean("entries_inheriting") && rs.getObject("parent_object") != null;
+            grants.computeIfAbsent(objectId, id -> new ObjectGrants(id, new HashSet<>(), inheriting))
+                    .masks()
+                    .add(rs.getInt("mask"));
+        });
+        return new ArrayList<>(grants.values());
+    }
+
+    private String sidCondition(List<Sid> sids, MapSqlParameterSource params) {
+        List<String> principals = new ArrayList<>();
+        List<String> authorities = new ArrayList<>();
+        for (Sid sid : sids) {
+            if (sid instanceof PrincipalSid principalSid) {
+                principals.add(principalSid.getPrincipal());
+            } else if (sid instanceof GrantedAuthoritySid authoritySid) {
+                authorities.add(authoritySid.getGrantedAuthority());
+            }
+        }
+        List<String> clauses = new ArrayList<>();
+        if (!principals.isEmpty()) {
+            clauses.add("(s.principal = TRUE AND s.sid IN (:principals))");
+            params.addValue("principals", principals);
+        }
+        if (!authorities.isEmpty()) {
+            clauses.add("(s.principal = FALSE AND s.sid IN (:authorities))");
+            params.addValue("authorities", authorities);
+        }
+        return clauses.isEmpty() ? null : "(" + String.join(" OR ", clauses) + ")";
+    }
+}
@@ -11,12 +11,19 @@ import com.example.acl.repository.ProjectRepository;
 import com.example.acl.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -25,18 +32,36 @@ import java.util.List;
 @Slf4j
 public class AclInitializationService {
 
+    // Bootstrap writes ACLs on behalf of the seeded administrator account
+    private static final Authentication BOOTSTRAP_AUTHENTICATION = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final DocumentRepository documentRepository;
     private final CommentRepository commentRepository;
     private final AclPermissionService aclPermissionService;
+    private final AclBulkBootstrapService bulkBootstrapService;
 
+    /**
+     * {@code acl.bootstrap.mode=bulk} (the default) writes the ACLs set-based through {@link AclBulkBootstrapService};
+     * {@code incremental} goes through {@link AclPermissionService} one change at a time.
+     */
     @Bean
     @Order(2)
-    CommandLineRunner initAcl() {
+    CommandLineRunner initAcl(PlatformTransactionManager transactionManager, @Value("${acl.bootstrap.mode:bulk}") String mode) {
         return args -> {
             log.info("Initializing ACL entries...");
-            bootstrapAclEntries();
+            SecurityContextHolder.getContext().setAuthentication(BOOTSTRAP_AUTHENTICATION);
+            try {
+                if ("incremental".equalsIgnoreCase(mode)) {
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> bootstrapAclEntries());
+                } else {
+                    bulkBootstrapService.bootstrap(BOOTSTRAP_AUTHENTICATION.getName());
+                }
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
             log.info("ACL initialization completed successfully!");
         };
     }
@@ -0,0 +1,282 @@
+package com.example.acl.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of {@code acl_effective_permission}: one compressed bitmap of object ids per
+ * (SID, domain class, permission mask), plus a bitmap per class of the objects whose ACL inherits from a parent.
+ *
+ * The index is built from committed rows on first use and kept current from {@link AclPermissionChangeEvent}s
+ * and {@link AclBulkPermissionChangeEvent}s after their transaction commits; the changed object's whole ACL subtree is re-read, since inherited grants
+ * move with it. Published bitmaps are never mutated, so readers need no locking.
+ */
+@Component
+@Slf4j
+public class AclPermissionIndex {
+
+    private static final String SELECT_ALL = """
+            SELECT ac.class, ep.object_id, s.principal, s.sid, ep.mask FROM acl_effective_permission ep
+            JOIN acl_class ac ON ac.id = ep.class_id
+            JOIN acl_sid s ON s.id = ep.sid_id
+            """;
+
+    private static final String SELECT_ALL_INHERITING = """
+            SELECT ac.class, oi.object_id_identity FROM acl_object_identity oi
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            WHERE oi.entries_inheriting = TRUE AND oi.parent_object IS NOT NULL
+            """;
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
+    private static final String SELECT_SUBTREE = """
+            WITH RECURSIVE subtree(id) AS (
+                SELECT oi.id FROM acl_object_identity oi
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                WHERE ac.class = ? AND oi.object_id_identity IN (%s)
+                UNION ALL
+                SELECT child.id FROM acl_object_identity child JOIN subtree t ON child.parent_object = t.id
+            )
+            SELECT ac.class, oi.object_id_identity, oi.entries_inheriting, oi.parent_object, s.principal, s.sid, ep.mask
+            FROM subtree t
+            JOIN acl_object_identity oi ON oi.id = t.id
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_effective_permission ep ON ep.acl_object_identity = oi.id
+            LEFT JOIN acl_sid s ON s.id = ep.sid_id
+            """;
+
+    record IndexKey(Sid sid, String domainClass, int mask) {
+    }
+
+    /**
+     * Size of the index: number of bitmaps, object ids stored across them and their estimated heap size.
+     */
+    public record Footprint(int bitmaps, long objectIds, long bytes) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SidDictionary sidDictionary;
+    private final TransactionTemplate readTransaction;
+    private final Map<IndexKey, RoaringBitmap> bitmaps = new ConcurrentHashMap<>();
+    private final Map<String, RoaringBitmap> inheriting = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    public AclPermissionIndex(JdbcTemplate jdbcTemplate, SidDictionary sidDictionary, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sidDictionary = sidDictionary;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        Gauge.builder("acl.index.bitmaps", this, index -> index.footprint().bitmaps()).register(meterRegistry);
+        Gauge.builder("acl.index.object.ids", this, index -> index.footprint().objectIds()).register(meterRegistry);
+        Gauge.builder("acl.index.bytes", this, index -> index.footprint().bytes()).baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Ids of the objects of the class on which any of the SIDs holds the permission mask.
+     */
+    public RoaringBitmap accessibleIds(List<Sid> sids, Class<?> domainClass, int mask) {
+        ensureBuilt();
+        List<RoaringBitmap> matches = new ArrayList<>(sids.size());
+        for (Sid sid : sids) {
+            RoaringBitmap bitmap = bitmaps.get(new IndexKey(sid, domainClass.getName(), mask));
+            if (bitmap != null) {
+                matches.add(bitmap);
+            }
+        }
+        return matches.isEmpty() ? new RoaringBitmap() : FastAggregation.or(matches.iterator());
+    }
+
+    public boolean isInheriting(Class<?> domainClass, long objectId) {
+        ensureBuilt();
+        RoaringBitmap bitmap = inheriting.get(domainClass.getName());
+        return bitmap != null && bitmap.contains(toIndexId(objectId));
+    }
+
+    /**
+     * One page of an id bitmap in ascending order, located by rank rather than by scanning the skipped ids.
+     */
+    public static List<Long> page(RoaringBitmap ids, int offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, ids.getCardinality() - offset)));
+        if (offset >= ids.getCardinality()) {
+            return page;
+        }
+        PeekableIntIterator iterator = ids.getIntIterator();
+        iterator.advanceIfNeeded(ids.select(offset));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add((long) iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * Up to {@code limit} ids strictly greater than {@code afterId}, in ascending order; a keyset page.
+     */
+    public static List<Long> after(RoaringBitmap ids, long afterId, int limit) {
+        List<Long> page = new ArrayList<>(Math.min(limit, ids.getCardinality()));
+        if (afterId >= Integer.MAX_VALUE) {
+            return page;
+        }
+        PeekableIntIterator iterator = ids.getIntIterator();
+        iterator.advanceIfNeeded((int) Math.max(0, afterId + 1));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add((long) iterator.next());
+        }
+        return page;
+    }
+
+    public Footprint footprint() {
+        long objectIds = 0;
+        long bytes = 0;
+        for (RoaringBitmap bitmap : bitmaps.values()) {
+            objectIds += bitmap.getLongCardinality();
+            bytes += bitmap.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : inheriting.values()) {
+            bytes += bitmap.getLongSizeInBytes();
+        }
+        return new Footprint(bitmaps.size(), objectIds, bytes);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPermissionChange(AclPermissionChangeEvent event) {
+        if (!built) {
+            return;
+        }
+        readTransaction.executeWithoutResult(status -> reindexSubtrees(event.getDomainType(), List.of(event.getIdentifier().toString())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onBulkPermissionChange(AclBulkPermissionChangeEvent event) {
+        if (!built || event.getIdentifiers().isEmpty()) {
+            return;
+        }
+        List<String> identifiers = event.getIdentifiers().stream().map(Object::toString).toList();
+        readTransaction.executeWithoutResult(status -> {
+            for (int from = 0; from < identifiers.size(); from += REINDEX_BATCH_SIZE) {
+                reindexSubtrees(event.getDomainType(), identifiers.subList(from, Math.min(from + REINDEX_BATCH_SIZE, identifiers.size())));
+            }
+        });
+    }
+
+    /**
+     * Adds one granted mask; used to load synthetic data without a database.
+     */
+    synchronized void add(Sid sid, String domainClass, int mask, long objectId) {
+        bitmaps.computeIfAbsent(new IndexKey(sid, domainClass, mask), key -> new RoaringBitmap()).add(toIndexId(objectId));
+        built = true;
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    readTransaction.executeWithoutResult(status -> build());
+                    built = true;
+                }
+            }
+        }
+    }
+
+    private void build() {
+        Map<IndexKey, RoaringBitmap> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL, rs -> {
+            loaded.computeIfAbsent(indexKey(rs), key -> new RoaringBitmap()).add(objectId(rs));
+        });
+        Map<String, RoaringBitmap> loadedInheriting = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_INHERITING, rs -> {
+            loadedInheriting.computeIfAbsent(rs.getString(1), type -> new RoaringBitmap()).add(objectId(rs));
+        });
+        loaded.values().forEach(RoaringBitmap::runOptimize);
+        bitmaps.putAll(loaded);
+        inheriting.putAll(loadedInheriting);
+        Footprint footprint = footprint();
+        log.info("Built ACL permission index: {} bitmaps, {} object ids, {} bytes",
+                footprint.bitmaps(), footprint.objectIds(), footprint.bytes());
+    }
+
+    private void reindexSubtrees(Class<?> domainType, List<String> identifiers) {
+        Map<String, RoaringBitmap> subtree = new HashMap<>();
+        Map<String, RoaringBitmap> subtreeInheriting = new HashMap<>();
+        Map<IndexKey, RoaringBitmap> granted = new HashMap<>();
+        String sql = SELECT_SUBTREE.formatted(String.join(", ", Collections.nCopies(identifiers.size(), "?")));
+        List<Object> args = new ArrayList<>(identifiers.size() + 1);
+        args.add(domainType.getName());
+        args.addAll(identifiers);
+        jdbcTemplate.query(sql, rs -> {
+            String type = rs.getString(1);
+            int objectId = objectId(rs);
+            subtree.computeIfAbsent(type, t -> new RoaringBitmap()).add(objectId);
+            if (rs.getBoolean(3) && rs.getObject(4) != null) {
+                subtreeInheriting.computeIfAbsent(type, t -> new RoaringBitmap()).add(objectId);
+            }
+            if (rs.getString(6) != null) {
+                granted.computeIfAbsent(new IndexKey(sid(rs.getBoolean(5), rs.getString(6)), type, rs.getInt(7)),
+                        key -> new RoaringBitmap()).add(objectId);
+            }
+        }, args.toArray());
+
+        Map<IndexKey, RoaringBitmap> changed = new HashMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            RoaringBitmap removed = subtree.get(key.domainClass());
+            if (removed != null && RoaringBitmap.intersects(bitmap, removed)) {
+                changed.put(key, RoaringBitmap.andNot(bitmap, removed));
+            }
+        });
+        granted.forEach((key, ids) -> {
+            RoaringBitmap base = changed.containsKey(key) ? changed.get(key) : bitmaps.get(key);
+            changed.put(key, base == null ? ids : RoaringBitmap.or(base, ids));
+        });
+        changed.forEach((key, ids) -> {
+            if (ids.isEmpty()) {
+                bitmaps.remove(key);
+            } else {
+                bitmaps.put(key, ids);
+            }
+        });
+        subtree.forEach((type, ids) -> {
+            RoaringBitmap current = inheriting.getOrDefault(type, new RoaringBitmap());
+            RoaringBitmap updated = RoaringBitmap.andNot(current, ids);
+            updated.or(subtreeInheriting.getOrDefault(type, new RoaringBitmap()));
+            inheriting.put(type, updated);
+        });
+    }
+
+    private IndexKey indexKey(ResultSet rs) throws SQLException {
+        return new IndexKey(sid(rs.getBoolean(3), rs.getString(4)), rs.getString(1), rs.getInt(5));
+    }
+
+    private Sid sid(boolean principal, String sid) {
+        return sidDictionary.sid(principal, sid);
+    }
+
+    private int objectId(ResultSet rs) throws SQLException {
+        return toIndexId(Long.parseLong(rs.getString(2)));
+    }
+
+    private int toIndexId(long objectId) {
+        return Math.toIntExact(objectId);
+    }
+}
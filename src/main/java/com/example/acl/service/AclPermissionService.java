@@ -2,6 +2,7 @@ package com.example.acl.service;
 
 import com.example.acl.domain.Group;
 import com.example.acl.domain.Role;
+import com.example.acl.security.CompactAcl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
@@ -15,12 +16,12 @@ import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.security.acls.model.Permission;
 import org.springframework.security.acls.model.Sid;
-import org.springframework.security.acls.model.SidRetrievalStrategy;
-import org.springframework.security.acls.domain.SidRetrievalStrategyImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -42,15 +43,21 @@ public class AclPermissionService {
     private final AclPermissionRegistry permissionRegistry;
     private final AclSidResolver sidResolver;
     private final AclAuditService auditService;
-    private final SidRetrievalStrategy sidRetrievalStrategy = new SidRetrievalStrategyImpl();
+    private final AclEffectivePermissionStore effectivePermissionStore;
+    private final AclDecisionCache decisionCache;
+    private final AclBulkPermissionService bulkPermissionService;
 
     @Transactional
     public MutableAcl ensureAcl(Class<?> domainClass, Serializable identifier) {
         ObjectIdentity oid = new ObjectIdentityImpl(domainClass, identifier);
         try {
-            return (MutableAcl) aclService.readAclById(oid);
+            // Callers change the returned ACL, so hand out a copy of the cached one that concurrent readers share;
+            // updateAcl evicts the cached one once the change is persisted.
+            Acl acl = aclService.readAclById(oid);
+            return acl instanceof CompactAcl compact ? compact.copy() : (MutableAcl) acl;
         } catch (NotFoundException ex) {
             MutableAcl acl = aclService.createAcl(oid);
+            evictOnRollback(oid);
             auditService.publishChange(AclAuditOperation.CREATE, domainClass, identifier, null, Collections.emptyList(), currentActor());
             log.debug("Created ACL for {} with id {}", domainClass.getSimpleName(), identifier);
             return acl;
@@ -121,19 +128,19 @@ public class AclPermissionService {
         }
     }
 
+    /**
+     * Grants the permissions on every object in a few set-based statements; see {@link AclBulkPermissionService}.
+     */
     @Transactional
-    public void bulkGrant(Class<?> domainClass, Collection<? extends Serializable> identifiers, Sid sid, Collection<Permission> permissions) {
-        if (identifiers == null || identifiers.isEmpty()) {
-            return;
-        }
-        for (Serializable identifier : identifiers) {
-            grantPermissions(domainClass, identifier, sid, permissions);
-        }
+    public AclBulkPermissionService.BulkResult bulkGrant(Class<?> domainClass, Collection<? extends Serializable> identifiers,
+                                                         Sid sid, Collection<Permission> permissions) {
+        return bulkPermissionService.grant(domainClass, identifiers, sid, permissions, currentActor());
     }
 
     @Transactional
-    public void bulkGrantToUsers(Class<?> domainClass, Collection<? extends Serializable> identifiers, String username, Permission... permissions) {
-        bulkGrant(domainClass, identifiers, sidResolver.principalSid(username), Arrays.asList(permissions));
+    public AclBulkPermissionService.BulkResult bulkGrantToUsers(Class<?> domainClass, Collection<? extends Serializable> identifiers,
+                                                                String username, Permission... permissions) {
+        return bulkGrant(domainClass, identifiers, sidResolver.principalSid(username), Arrays.asList(permissions));
     }
 
     @Transactional
@@ -166,29 +173,33 @@ public class AclPermissionService {
     }
 
     @Transactional
-    public void bulkRevoke(Class<?> domainClass, Collection<? extends Serializable> identifiers, Sid sid, Collection<Permission> permissions) {
-        if (identifiers == null || identifiers.isEmpty()) {
-            return;
-        }
-        for (Serializable identifier : identifiers) {
-            revokePermissions(domainClass, identifier, sid, permissions);
-        }
+    public AclBulkPermissionService.BulkResult bulkRevoke(Class<?> domainClass, Collection<? extends Serializable> identifiers,
+                                                          Sid sid, Collection<Permission> permissions) {
+        return bulkPermissionService.revoke(domainClass, identifiers, sid, permissions, currentActor());
     }
 
     @Transactional
     public void revokeAllForSid(Class<?> domainClass, Serializable identifier, Sid sid) {
         MutableAcl acl = ensureAcl(domainClass, identifier);
         List<AccessControlEntry> entries = new ArrayList<>(acl.getEntries());
-        boolean changed = false;
+        List<Permission> revoked = new ArrayList<>();
         for (int i = entries.size() - 1; i >= 0; i--) {
             AccessControlEntry entry = entries.get(i);
             if (entry.getSid().equals(sid)) {
                 acl.deleteAce(i);
-                changed = true;
+                revoked.add(entry.getPermission());
             }
         }
-        if (changed) {
+        if (!revoked.isEmpty()) {
             updateAcl(acl);
+            auditService.publishChange(
+                    AclAuditOperation.REVOKE,
+                    domainClass,
+                    identifier,
+                    sid,
+                    revoked,
+                    currentActor()
+            );
         }
     }
 
@@ -220,14 +231,10 @@ public class AclPermissionService {
 
     @Transactional(readOnly = true)
     public boolean hasPermission(Authentication authentication, Class<?> domainClass, Serializable identifier, Permission... permissions) {
-        ObjectIdentity oid = new ObjectIdentityImpl(domainClass, identifier);
-        List<Sid> sids = sidRetrievalStrategy.getSids(authentication);
-        try {
-            Acl acl = aclService.readAclById(oid, sids);
-            return acl.isGranted(Arrays.asList(permissions), sids, false);
-        } catch (NotFoundException ex) {
+        if (authentication == null) {
             return false;
         }
+        return decisionCache.isGranted(authentication, new ObjectIdentityImpl(domainClass, identifier), Arrays.asList(permissions));
     }
 
     public void evictCache(Class<?> domainClass, Serializable identifier) {
@@ -257,7 +264,27 @@ public class AclPermissionService {
 
     private void updateAcl(MutableAcl acl) {
         aclService.updateAcl(acl);
+        effectivePermissionStore.refresh(acl.getId());
         aclCache.evictFromCache(acl.getObjectIdentity());
+        evictOnRollback(acl.getObjectIdentity());
+    }
+
+    /**
+     * The ACL cache is not transactional: an ACL read back inside a transaction that later rolls back would
+     * otherwise stay cached with entries (or a primary key) that no longer exist.
+     */
+    private void evictOnRollback(ObjectIdentity oid) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    aclCache.evictFromCache(oid);
+                }
+            }
+        });
     }
 
     private String currentActor() {
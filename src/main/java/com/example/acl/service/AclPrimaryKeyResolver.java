@@ -0,0 +1,131 @@
+package com.example.acl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code acl_class}, {@code acl_sid} and {@code acl_object_identity} primary keys for the services that write
+ * ACL rows directly; class and SID rows are inserted when they do not exist yet, as {@code JdbcMutableAclService}
+ * does.
+ *
+ * Class and SID rows are never deleted, so their keys are cached for the lifetime of the application. New rows
+ * take their key from the insert's generated keys rather than a follow-up query, and a key is only cached once
+ * the transaction that read or inserted it commits, so a rolled back insert never leaves a dangling key behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class AclPrimaryKeyResolver {
+
+    private static final String SELECT_CLASS = "SELECT id FROM acl_class WHERE class = :type";
+    private static final String INSERT_CLASS = "INSERT INTO acl_class (class) VALUES (:type)";
+    private static final String SELECT_SID = "SELECT id FROM acl_sid WHERE principal = :principal AND sid = :sid";
+    private static final String INSERT_SID = "INSERT INTO acl_sid (principal, sid) VALUES (:principal, :sid)";
+    private static final String SELECT_OBJECTS = """
+            SELECT object_id_identity, id FROM acl_object_identity
+            WHERE object_id_class = :classId AND object_id_identity IN (:identifiers)
+            """;
+    private static final String[] KEY_COLUMNS = {"id"};
+
+    private record SidKey(boolean principal, String sid) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Map<String, Long> classIds = new ConcurrentHashMap<>();
+    private final Map<SidKey, Long> sidIds = new ConcurrentHashMap<>();
+
+    public long classId(Class<?> domainClass) {
+        return classId(domainClass.getName(), true);
+    }
+
+    /**
+     * {@code acl_class.id} of the type, or {@code null} when it has no row and {@code allowCreate} is false.
+     */
+    public Long classId(String type, boolean allowCreate) {
+        return resolve(classIds, type, SELECT_CLASS, INSERT_CLASS, new MapSqlParameterSource("type", type), allowCreate);
+    }
+
+    public long sidId(Sid sid) {
+        if (sid instanceof PrincipalSid principalSid) {
+            return sidId(true, principalSid.getPrincipal(), true);
+        }
+        if (sid instanceof GrantedAuthoritySid authoritySid) {
+            return sidId(false, authoritySid.getGrantedAuthority(), true);
+        }
+        throw new IllegalArgumentException("Unsupported implementation of Sid");
+    }
+
+    /**
+     * {@code acl_sid.id} of the SID, or {@code null} when it has no row and {@code allowCreate} is false.
+     */
+    public Long sidId(boolean principal, String sid, boolean allowCreate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("principal", principal)
+                .addValue("sid", sid);
+        return resolve(sidIds, new SidKey(principal, sid), SELECT_SID, INSERT_SID, params, allowCreate);
+    }
+
+    /**
+     * {@code acl_object_identity.id} by object identifier for the identifiers of the class that have an ACL.
+     */
+    public Map<String, Long> objectIds(long classId, Collection<String> identifiers) {
+        Map<String, Long> ids = new HashMap<>(identifiers.size() * 2);
+        if (identifiers.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("classId", classId)
+                .addValue("identifiers", identifiers);
+        jdbcTemplate.query(SELECT_OBJECTS, params, rs -> {
+            ids.put(rs.getString(1), rs.getLong(2));
+        });
+        return ids;
+    }
+
+    private <K> Long resolve(Map<K, Long> cache, K key, String select, String insert, MapSqlParameterSource params,
+                             boolean allowCreate) {
+        Long id = cache.get(key);
+        if (id != null) {
+            return id;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(select, params, Long.class);
+        if (!ids.isEmpty()) {
+            id = ids.get(0);
+        } else if (!allowCreate) {
+            return null;
+        } else {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(insert, params, keyHolder, KEY_COLUMNS);
+            id = keyHolder.getKey().longValue();
+        }
+        remember(cache, key, id);
+        return id;
+    }
+
+    private <K> void remember(Map<K, Long> cache, K key, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(key, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(key, id);
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.User;
+import com.example.acl.repository.AclQueryContext;
+import com.example.acl.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the {@link AclQueryContext} of the current caller for the repositories' {@code findAccessible} queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class AclQueryContextFactory {
+
+    private final UserRepository userRepository;
+
+    public AclQueryContext currentContext(Class<?> domainClass, Permission permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AccessDeniedException("User must be authenticated to list " + domainClass.getSimpleName() + " resources");
+        }
+        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
+        return AclQueryContext.of(authentication, user, domainClass, permission);
+    }
+
+    /**
+     * The accessible queries define their own stable order (by id), so only the page window is kept.
+     */
+    public Pageable window(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : Pageable.unpaged();
+    }
+}
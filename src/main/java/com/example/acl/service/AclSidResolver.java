@@ -2,57 +2,157 @@ package com.example.acl.service;
 
 import com.example.acl.domain.Group;
 import com.example.acl.domain.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.acls.domain.GrantedAuthoritySid;
 import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.Sid;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * Resolves SIDs as canonical {@link SidDictionary} instances; also the {@link SidRetrievalStrategy} used for ACL
+ * checks, with the same SIDs as {@code SidRetrievalStrategyImpl}: the principal plus every granted authority.
+ */
 @Component
-public class AclSidResolver {
+@RequiredArgsConstructor
+public class AclSidResolver implements SidRetrievalStrategy {
+
+    /**
+     * Principal name and an order-sensitive hash of the authority names, computed without allocating.
+     */
+    private record SidKey(String principal, int authorities) {
+    }
+
+    /**
+     * The authority names a SID list was resolved for, compared on hit so a fingerprint collision is a miss.
+     */
+    private record SidEntry(List<String> authorities, List<Sid> sids) {
+    }
+
+    private final SidDictionary sidDictionary;
+    private final ObjectProvider<RoleHierarchy> roleHierarchy;
+    private final Cache<SidKey, SidEntry> sidLists = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
 
     public PrincipalSid principalSid(String username) {
-        return new PrincipalSid(username);
+        return sidDictionary.principal(username);
     }
 
     public GrantedAuthoritySid roleSid(Role role) {
-        return new GrantedAuthoritySid("ROLE_" + role.name());
+        return sidDictionary.authority("ROLE_" + role.name());
     }
 
     public GrantedAuthoritySid groupSid(Group group) {
-        return new GrantedAuthoritySid("GROUP_" + group.name());
+        return sidDictionary.authority("GROUP_" + group.name());
     }
 
     public GrantedAuthoritySid authoritySid(String authority) {
-        return new GrantedAuthoritySid(authority);
+        return sidDictionary.authority(authority);
     }
 
+    /**
+     * The principal and authority SIDs of an authentication, authorities expanded through the role hierarchy when
+     * one is configured. Lists are immutable and cached per principal and authorities, so a changed role or group
+     * membership misses and replaces the entry. Stale entries expire; {@link #evict(String)} drops them at once.
+     */
     public List<Sid> authenticationSids(Authentication authentication) {
-        List<Sid> sids = new ArrayList<>();
         if (authentication == null) {
-            return sids;
-        }
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails userDetails) {
-            sids.add(new PrincipalSid(userDetails.getUsername()));
-        } else if (authentication.getName() != null) {
-            sids.add(new PrincipalSid(authentication.getName()));
+            return List.of();
         }
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        if (authorities != null) {
-            authorities.forEach(authority -> sids.add(new GrantedAuthoritySid(authority.getAuthority())));
+        SidKey key = new SidKey(principalName(authentication), fingerprint(authorities));
+        SidEntry entry = sidLists.getIfPresent(key);
+        if (entry != null && sameAuthorities(entry.authorities(), authorities)) {
+            return entry.sids();
         }
+        List<Sid> sids = resolveSids(authentication, key.principal());
+        sidLists.put(key, new SidEntry(authorityNames(authorities), sids));
         return sids;
     }
 
+    /**
+     * Drops the cached SID lists of a user, e.g. after its role or groups changed.
+     */
+    public void evict(String username) {
+        sidLists.asMap().keySet().removeIf(key -> Objects.equals(key.principal(), username));
+    }
+
     public List<Sid> currentAuthenticationSids() {
         return authenticationSids(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    @Override
+    public List<Sid> getSids(Authentication authentication) {
+        return authenticationSids(authentication);
+    }
+
+    private static String principalName(Authentication authentication) {
+        return authentication.getPrincipal() instanceof UserDetails userDetails
+                ? userDetails.getUsername() : authentication.getName();
+    }
+
+    private static int fingerprint(Collection<? extends GrantedAuthority> authorities) {
+        int hash = 1;
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                hash = 31 * hash + Objects.hashCode(authority.getAuthority());
+            }
+        }
+        return hash;
+    }
+
+    private static boolean sameAuthorities(List<String> names, Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null) {
+            return names.isEmpty();
+        }
+        if (names.size() != authorities.size()) {
+            return false;
+        }
+        int i = 0;
+        for (GrantedAuthority authority : authorities) {
+            if (!Objects.equals(names.get(i++), authority.getAuthority())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> authorityNames(Collection<? extends GrantedAuthority> authorities) {
+        List<String> names = new ArrayList<>(authorities != null ? authorities.size() : 0);
+        if (authorities != null) {
+            authorities.forEach(authority -> names.add(authority.getAuthority()));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private List<Sid> resolveSids(Authentication authentication, String principal) {
+        List<Sid> sids = new ArrayList<>();
+        if (principal != null) {
+            sids.add(sidDictionary.principal(principal));
+        }
+        Collection<? extends GrantedAuthority> authorities = roleHierarchy.getIfAvailable(NullRoleHierarchy::new)
+                .getReachableGrantedAuthorities(authentication.getAuthorities());
+        if (authorities != null) {
+            authorities.forEach(authority -> sids.add(sidDictionary.authority(authority.getAuthority())));
+        }
+        return List.copyOf(sids);
+    }
 }
@@ -3,6 +3,7 @@ package com.example.acl.service;
 import com.example.acl.domain.Comment;
 import com.example.acl.domain.Document;
 import com.example.acl.domain.User;
+import com.example.acl.repository.AclQueryContext;
 import com.example.acl.repository.CommentRepository;
 import com.example.acl.repository.DocumentRepository;
 import com.example.acl.repository.UserRepository;
@@ -11,10 +12,13 @@ import com.example.acl.web.dto.CommentCreateRequest;
 import com.example.acl.web.dto.CommentUpdateRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,6 +35,7 @@ public class CommentService {
     private final DocumentRepository documentRepository;
     private final UserRepository userRepository;
     private final AclPermissionService aclPermissionService;
+    private final AclQueryContextFactory aclQueryContextFactory;
 
     @Transactional
     public Comment createComment(CommentCreateRequest request) {
@@ -68,24 +73,34 @@ public class CommentService {
         return commentRepository.findAll();
     }
 
+    /**
+     * Paged listing with the same read rule as {@link #getAllComments()}, evaluated in SQL against the ACL tables
+     * so only authorized rows are loaded. Results are ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Page<Comment> getAccessibleComments(Pageable pageable) {
+        AclQueryContext context = aclQueryContextFactory.currentContext(Comment.class, BasePermission.READ);
+        return commentRepository.findAccessible(context, aclQueryContextFactory.window(pageable));
+    }
+
     @PostAuthorize("hasRole('ADMIN') or hasPermission(returnObject, 'READ') or returnObject.author.username == authentication.name")
     @Transactional(readOnly = true)
     public Comment getCommentById(Long id) {
         return commentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
     }
 
     @Transactional(readOnly = true)
     public List<Comment> getCommentsByDocumentId(Long documentId) {
         Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new IllegalArgumentException("Document not found with id: " + documentId));
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
         return commentRepository.findByDocumentOrderByCreatedAtDesc(document);
     }
 
     @Transactional
     public Comment updateComment(Long id, CommentUpdateRequest request) {
         Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication != null ? authentication.getName() : "unknown";
@@ -112,7 +127,7 @@ public class CommentService {
     @Transactional
     public void deleteComment(Long id) {
         Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication != null ? authentication.getName() : "unknown";
@@ -3,6 +3,7 @@ package com.example.acl.service;
 import com.example.acl.domain.Document;
 import com.example.acl.domain.Project;
 import com.example.acl.domain.User;
+import com.example.acl.repository.AclQueryContext;
 import com.example.acl.repository.DocumentRepository;
 import com.example.acl.repository.ProjectRepository;
 import com.example.acl.repository.UserRepository;
@@ -10,10 +11,13 @@ import com.example.acl.web.dto.DocumentCreateRequest;
 import com.example.acl.web.dto.DocumentUpdateRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -30,6 +34,7 @@ public class DocumentService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final AclPermissionService aclPermissionService;
+    private final AclQueryContextFactory aclQueryContextFactory;
 
     @Transactional
     public Document createDocument(DocumentCreateRequest request) {
@@ -69,18 +74,28 @@ public class DocumentService {
         return documentRepository.findAll();
     }
 
+    /**
+     * Paged listing with the same read rule as {@link #getAllDocuments()}, evaluated in SQL against the ACL tables
+     * so only authorized rows are loaded. Results are ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Page<Document> getAccessibleDocuments(Pageable pageable) {
+        AclQueryContext context = aclQueryContextFactory.currentContext(Document.class, BasePermission.READ);
+        return documentRepository.findAccessible(context, aclQueryContextFactory.window(pageable));
+    }
+
     @PostAuthorize("hasRole('ADMIN') or hasPermission(returnObject, 'READ') or isDocumentOwner(returnObject.id) or hasProjectRole(returnObject.project.id, 'VIEWER')")
     @Transactional(readOnly = true)
     public Document getDocumentById(Long id) {
         return documentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Document not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
     }
 
     @PreAuthorize("hasRole('ADMIN') or isDocumentOwner(#id) or hasPermission(#id, 'com.example.acl.domain.Document', 'WRITE')")
     @Transactional
     public Document updateDocument(Long id, DocumentUpdateRequest request) {
         Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Document not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
 
         document.setTitle(request.getTitle());
         document.setContent(request.getContent());
@@ -104,7 +119,7 @@ public class DocumentService {
     @Transactional
     public void deleteDocument(Long id) {
         Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Document not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication != null ? authentication.getName() : "unknown";
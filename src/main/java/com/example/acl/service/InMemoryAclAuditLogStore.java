@@ -1,19 +1,37 @@
 package com.example.acl.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Keeps the newest {@code acl.audit.max-entries} entries; older ones are dropped as new ones arrive.
+ */
 @Component
 public class InMemoryAclAuditLogStore implements AclAuditLogStore {
 
-    private final CopyOnWriteArrayList<AclAuditLogEntry> entries = new CopyOnWriteArrayList<>();
+    private final int maximumEntries;
+    private final ArrayDeque<AclAuditLogEntry> entries = new ArrayDeque<>();
+
+    public InMemoryAclAuditLogStore(@Value("${acl.audit.max-entries:10000}") int maximumEntries) {
+        if (maximumEntries <= 0) {
+            throw new IllegalArgumentException("acl.audit.max-entries must be positive: " + maximumEntries);
+        }
+        this.maximumEntries = maximumEntries;
+    }
 
     @Override
-    public void save(AclAuditLogEntry entry) {
-        entries.add(entry);
+    public synchronized void save(AclAuditLogEntry entry) {
+        append(entry);
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<AclAuditLogEntry> entries) {
+        entries.forEach(this::append);
     }
 
     /**
@@ -21,7 +39,14 @@ public class InMemoryAclAuditLogStore implements AclAuditLogStore {
      */
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    public List<AclAuditLogEntry> findAll() {
+    public synchronized List<AclAuditLogEntry> findAll() {
         return List.copyOf(entries);
     }
+
+    private void append(AclAuditLogEntry entry) {
+        if (entries.size() == maximumEntries) {
+            entries.removeFirst();
+        }
+        entries.addLast(entry);
+    }
 }
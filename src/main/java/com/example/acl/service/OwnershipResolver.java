@@ -0,0 +1,63 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.CommentRepository;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.repository.OwnerView;
+import com.example.acl.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves who owns domain objects without loading them: one projection query per batch selecting only the
+ * author's or owner's username.
+ *
+ * The entity is the source of truth. The ACL owner is not used: it is whoever created the ACL, which for a bulk
+ * grant is the granting user rather than the author.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OwnershipResolver {
+
+    private final DocumentRepository documentRepository;
+    private final ProjectRepository projectRepository;
+    private final CommentRepository commentRepository;
+
+    public boolean isOwner(Class<?> domainClass, Long id, String username) {
+        return username != null && username.equals(owners(domainClass, List.of(id)).get(id));
+    }
+
+    /**
+     * Owner username by object id; ids of objects that do not exist are absent.
+     */
+    public Map<Long, String> owners(Class<?> domainClass, Collection<Long> ids) {
+        Map<Long, String> owners = new HashMap<>(ids.size() * 2);
+        for (OwnerView view : ownerViews(domainClass, ids)) {
+            owners.put(view.id(), view.username());
+        }
+        log.trace("Resolved {} {} owners by projection", ids.size(), domainClass.getSimpleName());
+        return owners;
+    }
+
+    private List<OwnerView> ownerViews(Class<?> domainClass, Collection<Long> ids) {
+        if (domainClass == Document.class) {
+            return documentRepository.findAuthors(ids);
+        }
+        if (domainClass == Project.class) {
+            return projectRepository.findOwners(ids);
+        }
+        if (domainClass == Comment.class) {
+            return commentRepository.findAuthors(ids);
+        }
+        throw new IllegalArgumentException("Unsupported domain class: " + domainClass.getName());
+    }
+}
@@ -8,9 +8,15 @@ import com.example.acl.repository.DocumentRepository;
 import com.example.acl.repository.ProjectRepository;
 import com.example.acl.web.dto.AccessibleResourcesResponse;
 import com.example.acl.web.dto.EffectivePermissionsResponse;
+import com.example.acl.web.dto.PermissionCheckBatchRequest;
+import com.example.acl.web.dto.PermissionCheckBatchResponse;
 import com.example.acl.web.dto.PermissionInheritanceResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.model.Acl;
 import org.springframework.security.acls.model.AccessControlEntry;
@@ -19,8 +25,6 @@ import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.security.acls.model.Permission;
 import org.springframework.security.acls.model.Sid;
-import org.springframework.security.acls.model.SidRetrievalStrategy;
-import org.springframework.security.acls.domain.SidRetrievalStrategyImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -28,9 +32,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,83 +47,135 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PermissionDiscoveryService {
 
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final MutableAclService aclService;
     private final AclPermissionRegistry permissionRegistry;
     private final AclSidResolver sidResolver;
     private final ProjectRepository projectRepository;
     private final DocumentRepository documentRepository;
     private final CommentRepository commentRepository;
-    private final SidRetrievalStrategy sidRetrievalStrategy = new SidRetrievalStrategyImpl();
+    private final AclPermissionIndex permissionIndex;
+    private final AclBatchLoader aclBatchLoader;
+    private final AclEffectivePermissionStore effectivePermissionStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    /**
+     * Answered from {@code acl_effective_permission}: the caller's granted masks on the object, split into the
+     * object's own and the ones inherited from any ancestor.
+     */
     @Transactional(readOnly = true)
     public EffectivePermissionsResponse getEffectivePermissions(Class<?> domainClass, Serializable identifier, Authentication authentication) {
         ObjectIdentity oid = new ObjectIdentityImpl(domainClass, identifier);
-        List<Sid> sids = sidRetrievalStrategy.getSids(authentication);
+        List<Sid> sids = sidResolver.getSids(authentication);
 
         EffectivePermissionsResponse.EffectivePermissionsResponseBuilder builder = EffectivePermissionsResponse.builder()
-                .resourceType(domainClass.getSimpleName())
+                .resourceType(resourceType(domainClass))
                 .resourceId((Long) identifier)
                 .subject(authentication.getName())
                 .hasAccess(false);
 
-        try {
-            Acl acl = aclService.readAclById(oid, sids);
-            
-            List<String> directPermissions = new ArrayList<>();
-            List<String> inheritedPermissions = new ArrayList<>();
-            
-            for (AccessControlEntry ace : acl.getEntries()) {
-                if (sids.contains(ace.getSid()) && ace.isGranting()) {
-                    String permName = permissionRegistry.resolveName(ace.getPermission()).orElse("UNKNOWN");
-                    directPermissions.add(permName);
-                }
-            }
-            
-            if (acl.isEntriesInheriting() && acl.getParentAcl() != null) {
-                Acl parentAcl = acl.getParentAcl();
-                for (AccessControlEntry ace : parentAcl.getEntries()) {
-                    if (sids.contains(ace.getSid()) && ace.isGranting()) {
-                        String permName = permissionRegistry.resolveName(ace.getPermission()).orElse("UNKNOWN");
-                        inheritedPermissions.add(permName);
-                    }
-                }
-                builder.parentResource(parentAcl.getObjectIdentity().getType() + ":" + parentAcl.getObjectIdentity().getIdentifier());
-            }
-            
-            builder.grantedPermissions(directPermissions)
-                   .inheritedPermissions(inheritedPermissions)
-                   .hasAccess(!directPermissions.isEmpty() || !inheritedPermissions.isEmpty());
-            
-        } catch (NotFoundException ex) {
+        Optional<AclEffectivePermissionStore.EffectiveGrants> grants = effectivePermissionStore.effectiveGrants(sids, oid);
+        if (grants.isEmpty()) {
             log.debug("No ACL found for {} with id {}", domainClass.getSimpleName(), identifier);
-            builder.grantedPermissions(List.of())
-                   .inheritedPermissions(List.of());
+            return builder.grantedPermissions(List.of())
+                    .inheritedPermissions(List.of())
+                    .build();
+        }
+        List<String> directPermissions = permissionNames(grants.get().direct());
+        List<String> inheritedPermissions = permissionNames(grants.get().inherited());
+        ObjectIdentity parent = grants.get().parent();
+        if (parent != null) {
+            builder.parentResource(parent.getType() + ":" + parent.getIdentifier());
         }
+        builder.grantedPermissions(directPermissions)
+               .inheritedPermissions(inheritedPermissions)
+               .hasAccess(!directPermissions.isEmpty() || !inheritedPermissions.isEmpty());
 
         return builder.build();
     }
 
+    /**
+     * Which of the permissions the caller holds on each resource, decided like {@code hasPermission} (inheritance
+     * and denying entries included). All ACLs are read with batched lookups rather than one per resource.
+     */
     @Transactional(readOnly = true)
-    public AccessibleResourcesResponse findAccessibleResources(String resourceType, Authentication authentication) {
-        List<Sid> sids = sidRetrievalStrategy.getSids(authentication);
-        
-        List<AccessibleResourcesResponse.ResourcePermissionInfo> accessibleResources = new ArrayList<>();
-        
-        switch (resourceType.toUpperCase()) {
-            case "PROJECT" -> accessibleResources = findAccessibleProjects(sids);
-            case "DOCUMENT" -> accessibleResources = findAccessibleDocuments(sids);
-            case "COMMENT" -> accessibleResources = findAccessibleComments(sids);
-            default -> throw new IllegalArgumentException("Unknown resource type: " + resourceType);
+    public PermissionCheckBatchResponse checkPermissions(List<PermissionCheckBatchRequest.ResourceRef> resources,
+                                                         List<String> permissionNames, Authentication authentication) {
+        List<Permission> permissions = permissionNames == null || permissionNames.isEmpty()
+                ? permissionRegistry.allPermissions().stream().sorted(Comparator.comparingInt(Permission::getMask)).toList()
+                : permissionRegistry.resolvePermissions(permissionNames);
+        List<Sid> sids = sidResolver.getSids(authentication);
+        Map<ObjectIdentity, String> types = new LinkedHashMap<>();
+        for (PermissionCheckBatchRequest.ResourceRef resource : resources) {
+            Class<?> domainClass = domainClassForResourceType(resource.getResourceType());
+            types.put(new ObjectIdentityImpl(domainClass, resource.getResourceId()), resourceType(domainClass));
         }
-        
+        Map<ObjectIdentity, Acl> acls = aclBatchLoader.readAcls(types.keySet(), sids);
+
+        Map<String, Map<Long, PermissionCheckBatchResponse.GrantedPermissions>> results = new LinkedHashMap<>();
+        types.forEach((oid, type) -> {
+            Acl acl = acls.get(oid);
+            int mask = 0;
+            List<String> granted = new ArrayList<>();
+            for (Permission permission : permissions) {
+                if (acl != null && isGranted(acl, permission, sids)) {
+                    mask |= permission.getMask();
+                    granted.add(permissionRegistry.resolveName(permission).orElse("UNKNOWN"));
+                }
+            }
+            results.computeIfAbsent(type, t -> new LinkedHashMap<>())
+                    .put((Long) oid.getIdentifier(), new PermissionCheckBatchResponse.GrantedPermissions(mask, granted));
+        });
+
+        return PermissionCheckBatchResponse.builder()
+                .subject(authentication.getName())
+                .checkedPermissions(permissionRegistry.toNames(permissions))
+                .results(results)
+                .build();
+    }
+
+    /**
+     * One keyset page of the accessible resources: ids strictly greater than {@code after}, in ascending order.
+     * {@code nextCursor} is the last id of the page while more resources follow.
+     */
+    @Transactional(readOnly = true)
+    public AccessibleResourcesResponse findAccessibleResources(String resourceType, Authentication authentication, Long after, int limit) {
+        Class<?> domainClass = domainClassForResourceType(resourceType);
+        AccessibleIds accessible = accessibleIds(sidResolver.getSids(authentication), domainClass);
+        List<Long> ids = AclPermissionIndex.after(accessible.all(), after != null ? after : 0L, limit);
+        Long last = ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        boolean more = last != null && accessible.all().nextValue(Math.toIntExact(last) + 1) != -1;
+
         return AccessibleResourcesResponse.builder()
                 .subject(authentication.getName())
                 .resourceType(resourceType)
-                .resources(accessibleResources)
-                .totalCount(accessibleResources.size())
+                .resources(describe(domainClass, ids, accessible))
+                .totalCount(accessible.all().getCardinality())
+                .nextCursor(more ? last : null)
                 .build();
     }
 
+    /**
+     * Hands every accessible resource to {@code sink}, {@value #STREAM_CHUNK_SIZE} at a time. Entities of a chunk
+     * are detached before the next one is loaded, so heap use does not grow with the number of resources.
+     */
+    @Transactional(readOnly = true)
+    public void streamAccessibleResources(String resourceType, Authentication authentication,
+                                          Consumer<List<AccessibleResourcesResponse.ResourcePermissionInfo>> sink) {
+        Class<?> domainClass = domainClassForResourceType(resourceType);
+        AccessibleIds accessible = accessibleIds(sidResolver.getSids(authentication), domainClass);
+        long after = 0L;
+        List<Long> ids;
+        while (!(ids = AclPermissionIndex.after(accessible.all(), after, STREAM_CHUNK_SIZE)).isEmpty()) {
+            sink.accept(describe(domainClass, ids, accessible));
+            entityManager.clear();
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
     @Transactional(readOnly = true)
     public PermissionInheritanceResponse getPermissionInheritance(Class<?> domainClass, Serializable identifier) {
         ObjectIdentity oid = new ObjectIdentityImpl(domainClass, identifier);
@@ -132,7 +193,7 @@ public class PermissionDiscoveryService {
             String resourceName = getResourceName(domainClass, identifier);
             
             PermissionInheritanceResponse.PermissionInheritanceResponseBuilder builder = PermissionInheritanceResponse.builder()
-                    .resourceType(domainClass.getSimpleName())
+                    .resourceType(resourceType(domainClass))
                     .resourceId((Long) identifier)
                     .resourceName(resourceName)
                     .directPermissions(directPermissions)
@@ -168,7 +229,7 @@ public class PermissionDiscoveryService {
         } catch (NotFoundException ex) {
             log.debug("No ACL found for {} with id {}", domainClass.getSimpleName(), identifier);
             return PermissionInheritanceResponse.builder()
-                    .resourceType(domainClass.getSimpleName())
+                    .resourceType(resourceType(domainClass))
                     .resourceId((Long) identifier)
                     .resourceName(getResourceName(domainClass, identifier))
                     .directPermissions(List.of())
@@ -179,96 +240,92 @@ public class PermissionDiscoveryService {
         }
     }
 
-    private List<AccessibleResourcesResponse.ResourcePermissionInfo> findAccessibleProjects(List<Sid> sids) {
-        List<Project> allProjects = projectRepository.findAll();
-        List<AccessibleResourcesResponse.ResourcePermissionInfo> accessible = new ArrayList<>();
-        
-        for (Project project : allProjects) {
-            ObjectIdentity oid = new ObjectIdentityImpl(Project.class, project.getId());
-            try {
-                Acl acl = aclService.readAclById(oid, sids);
-                Set<String> permissions = getPermissionsForSids(acl, sids);
-                if (!permissions.isEmpty()) {
-                    accessible.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
-                            .resourceId(project.getId())
-                            .resourceName(project.getName())
-                            .permissions(new ArrayList<>(permissions))
-                            .accessSource("ACL")
-                            .build());
-                }
-            } catch (NotFoundException ex) {
-                log.trace("No ACL for project {}", project.getId());
+    private List<AccessibleResourcesResponse.ResourcePermissionInfo> describe(Class<?> domainClass, List<Long> ids, AccessibleIds accessible) {
+        List<AccessibleResourcesResponse.ResourcePermissionInfo> resources = new ArrayList<>(ids.size());
+        if (domainClass.equals(Project.class)) {
+            for (Project project : projectRepository.findAllById(ids)) {
+                resources.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
+                        .resourceId(project.getId())
+                        .resourceName(project.getName())
+                        .permissions(accessible.permissionNames(project.getId()))
+                        .accessSource("ACL")
+                        .build());
+            }
+        } else if (domainClass.equals(Document.class)) {
+            for (Document document : documentRepository.findAllById(ids)) {
+                resources.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
+                        .resourceId(document.getId())
+                        .resourceName(document.getTitle())
+                        .permissions(accessible.permissionNames(document.getId()))
+                        .accessSource(permissionIndex.isInheriting(Document.class, document.getId()) ? "Inherited" : "Direct")
+                        .build());
+            }
+        } else if (domainClass.equals(Comment.class)) {
+            for (Comment comment : commentRepository.findAllById(ids)) {
+                resources.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
+                        .resourceId(comment.getId())
+                        .resourceName("Comment on: " + comment.getDocument().getTitle())
+                        .permissions(accessible.permissionNames(comment.getId()))
+                        .accessSource(permissionIndex.isInheriting(Comment.class, comment.getId()) ? "Inherited" : "Direct")
+                        .build());
             }
         }
-        return accessible;
+        resources.sort(Comparator.comparing(AccessibleResourcesResponse.ResourcePermissionInfo::getResourceId));
+        return resources;
     }
 
-    private List<AccessibleResourcesResponse.ResourcePermissionInfo> findAccessibleDocuments(List<Sid> sids) {
-        List<Document> allDocuments = documentRepository.findAll();
-        List<AccessibleResourcesResponse.ResourcePermissionInfo> accessible = new ArrayList<>();
-        
-        for (Document document : allDocuments) {
-            ObjectIdentity oid = new ObjectIdentityImpl(Document.class, document.getId());
-            try {
-                Acl acl = aclService.readAclById(oid, sids);
-                Set<String> permissions = getPermissionsForSids(acl, sids);
-                if (!permissions.isEmpty()) {
-                    accessible.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
-                            .resourceId(document.getId())
-                            .resourceName(document.getTitle())
-                            .permissions(new ArrayList<>(permissions))
-                            .accessSource(acl.isEntriesInheriting() && acl.getParentAcl() != null ? "Inherited" : "Direct")
-                            .build());
-                }
-            } catch (NotFoundException ex) {
-                log.trace("No ACL for document {}", document.getId());
+    /**
+     * The caller's accessible ids per permission name, from the SIDs' bitmaps in the permission index,
+     * and their union.
+     */
+    private AccessibleIds accessibleIds(List<Sid> sids, Class<?> domainClass) {
+        Map<String, RoaringBitmap> byPermission = new LinkedHashMap<>();
+        for (Permission permission : permissionRegistry.allPermissions()) {
+            RoaringBitmap ids = permissionIndex.accessibleIds(sids, domainClass, permission.getMask());
+            if (!ids.isEmpty()) {
+                byPermission.merge(permissionRegistry.resolveName(permission).orElse("UNKNOWN"), ids, (left, right) -> RoaringBitmap.or(left, right));
             }
         }
-        return accessible;
+        RoaringBitmap all = byPermission.isEmpty() ? new RoaringBitmap() : FastAggregation.or(byPermission.values().iterator());
+        return new AccessibleIds(all, byPermission);
     }
 
-    private List<AccessibleResourcesResponse.ResourcePermissionInfo> findAccessibleComments(List<Sid> sids) {
-        List<Comment> allComments = commentRepository.findAll();
-        List<AccessibleResourcesResponse.ResourcePermissionInfo> accessible = new ArrayList<>();
-        
-        for (Comment comment : allComments) {
-            ObjectIdentity oid = new ObjectIdentityImpl(Comment.class, comment.getId());
-            try {
-                Acl acl = aclService.readAclById(oid, sids);
-                Set<String> permissions = getPermissionsForSids(acl, sids);
-                if (!permissions.isEmpty()) {
-                    accessible.add(AccessibleResourcesResponse.ResourcePermissionInfo.builder()
-                            .resourceId(comment.getId())
-                            .resourceName("Comment on: " + comment.getDocument().getTitle())
-                            .permissions(new ArrayList<>(permissions))
-                            .accessSource(acl.isEntriesInheriting() && acl.getParentAcl() != null ? "Inherited" : "Direct")
-                            .build());
+    private record AccessibleIds(RoaringBitmap all, Map<String, RoaringBitmap> byPermission) {
+
+        List<String> permissionNames(Long id) {
+            int indexId = Math.toIntExact(id);
+            List<String> names = new ArrayList<>();
+            byPermission.forEach((name, ids) -> {
+                if (ids.contains(indexId)) {
+                    names.add(name);
                 }
-            } catch (NotFoundException ex) {
-                log.trace("No ACL for comment {}", comment.getId());
-            }
+            });
+            return names;
         }
-        return accessible;
     }
 
-    private Set<String> getPermissionsForSids(Acl acl, List<Sid> sids) {
-        Set<String> permissions = new HashSet<>();
-        for (AccessControlEntry ace : acl.getEntries()) {
-            if (sids.contains(ace.getSid()) && ace.isGranting()) {
-                String permName = permissionRegistry.resolveName(ace.getPermission()).orElse("UNKNOWN");
-                permissions.add(permName);
-            }
-        }
-        
-        if (acl.isEntriesInheriting() && acl.getParentAcl() != null) {
-            for (AccessControlEntry ace : acl.getParentAcl().getEntries()) {
-                if (sids.contains(ace.getSid()) && ace.isGranting()) {
-                    String permName = permissionRegistry.resolveName(ace.getPermission()).orElse("UNKNOWN");
-                    permissions.add(permName);
-                }
-            }
+    private List<String> permissionNames(Set<Integer> masks) {
+        return masks.stream()
+                .sorted()
+                .map(mask -> permissionRegistry.resolveName(permissionRegistry.buildFromMask(mask)).orElse("UNKNOWN"))
+                .toList();
+    }
+
+    private boolean isGranted(Acl acl, Permission permission, List<Sid> sids) {
+        try {
+            return acl.isGranted(List.of(permission), sids, false);
+        } catch (NotFoundException ex) {
+            return false;
         }
-        return permissions;
+    }
+
+    private Class<?> domainClassForResourceType(String resourceType) {
+        return switch (resourceType.toUpperCase(Locale.ROOT)) {
+            case "PROJECT" -> Project.class;
+            case "DOCUMENT" -> Document.class;
+            case "COMMENT" -> Comment.class;
+            default -> throw new IllegalArgumentException("Unknown resource type: " + resourceType);
+        };
     }
 
     private String getResourceName(Class<?> domainClass, Serializable identifier) {
@@ -288,6 +345,10 @@ public class PermissionDiscoveryService {
         return "Unknown";
     }
 
+    private String resourceType(Class<?> domainClass) {
+        return domainClass.getSimpleName().toUpperCase(Locale.ROOT);
+    }
+
     private Class<?> getClassForType(String type) {
         return switch (type) {
             case "com.example.acl.domain.Project" -> Project.class;
@@ -0,0 +1,37 @@
+package com.example.acl.service;
+
+import com.example.acl.repository.ProjectMembershipView;
+import com.example.acl.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers project role checks with one query per batch of projects: ownership, direct and group sharing are
+ * evaluated as {@code EXISTS} subqueries, so neither the project nor its shared users, groups or the current user
+ * are loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipResolver {
+
+    private final ProjectRepository projectRepository;
+
+    public Optional<ProjectMembershipView> membership(Long projectId, String username) {
+        return Optional.ofNullable(memberships(List.of(projectId), username).get(projectId));
+    }
+
+    /**
+     * Membership by project id; ids of projects that do not exist are absent.
+     */
+    public Map<Long, ProjectMembershipView> memberships(Collection<Long> projectIds, String username) {
+        Map<Long, ProjectMembershipView> memberships = new HashMap<>(projectIds.size() * 2);
+        projectRepository.findMemberships(projectIds, username).forEach(view -> memberships.put(view.projectId(), view));
+        return memberships;
+    }
+}
@@ -2,16 +2,20 @@ package com.example.acl.service;
 
 import com.example.acl.domain.Project;
 import com.example.acl.domain.User;
+import com.example.acl.repository.AclQueryContext;
 import com.example.acl.repository.ProjectRepository;
 import com.example.acl.repository.UserRepository;
 import com.example.acl.web.dto.ProjectCreateRequest;
 import com.example.acl.web.dto.ProjectUpdateRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,6 +31,7 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final AclPermissionService aclPermissionService;
+    private final AclQueryContextFactory aclQueryContextFactory;
 
     @Transactional
     public Project createProject(ProjectCreateRequest request) {
@@ -61,18 +66,28 @@ public class ProjectService {
         return projectRepository.findAll();
     }
 
+    /**
+     * Paged listing with the same read rule as {@link #getAllProjects()}, evaluated in SQL against the ACL tables
+     * so only authorized rows are loaded. Results are ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getAccessibleProjects(Pageable pageable) {
+        AclQueryContext context = aclQueryContextFactory.currentContext(Project.class, BasePermission.READ);
+        return projectRepository.findAccessible(context, aclQueryContextFactory.window(pageable));
+    }
+
     @PostAuthorize("hasRole('ADMIN') or hasPermission(returnObject, 'READ') or isProjectOwner(returnObject.id) or hasProjectRole(returnObject.id, 'VIEWER')")
     @Transactional(readOnly = true)
     public Project getProjectById(Long id) {
         return projectRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
     }
 
     @PreAuthorize("hasRole('ADMIN') or isProjectOwner(#id) or hasPermission(#id, 'com.example.acl.domain.Project', 'WRITE')")
     @Transactional
     public Project updateProject(Long id, ProjectUpdateRequest request) {
         Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
 
         project.setName(request.getName());
         project.setDescription(request.getDescription());
@@ -96,7 +111,7 @@ public class ProjectService {
     @Transactional
     public void deleteProject(Long id) {
         Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Project not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication != null ? authentication.getName() : "unknown";
@@ -0,0 +1,8 @@
+package com.example.acl.service;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
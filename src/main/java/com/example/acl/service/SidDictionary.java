@@ -0,0 +1,117 @@
+package com.example.acl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary of SIDs: one canonical {@link Sid} instance and a dense int id per principal or
+ * authority string, seeded from {@code acl_sid} at startup.
+ *
+ * The SID resolver, the ACL lookup strategy and the permission granting strategy all hand out these instances,
+ * so matching an ACE's SID against the caller's SIDs succeeds on the identity check in {@code equals}/{@code HashMap}
+ * and requests no longer allocate SIDs. Entries are never removed; the dictionary grows with the number of
+ * distinct users and authorities.
+ */
+@Component
+@Slf4j
+public class SidDictionary {
+
+    private record Entry(Sid sid, int id) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+    private final Map<String, Entry> authorities = new ConcurrentHashMap<>();
+    private volatile Sid[] byId = new Sid[64];
+    private int size;
+
+    public SidDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        jdbcTemplate.query("SELECT principal, sid FROM acl_sid ORDER BY id", rs -> {
+            sid(rs.getBoolean(1), rs.getString(2));
+        });
+        log.info("Seeded SID dictionary with {} SIDs", size());
+    }
+
+    public PrincipalSid principal(String principal) {
+        return (PrincipalSid) entry(principals, principal, true).sid();
+    }
+
+    public GrantedAuthoritySid authority(String authority) {
+        return (GrantedAuthoritySid) entry(authorities, authority, false).sid();
+    }
+
+    public Sid sid(boolean principal, String sid) {
+        return principal ? principal(sid) : authority(sid);
+    }
+
+    /**
+     * The canonical instance equal to the given SID; SIDs of other types are returned unchanged.
+     */
+    public Sid canonical(Sid sid) {
+        if (sid instanceof PrincipalSid principalSid) {
+            return principal(principalSid.getPrincipal());
+        }
+        if (sid instanceof GrantedAuthoritySid authoritySid) {
+            return authority(authoritySid.getGrantedAuthority());
+        }
+        return sid;
+    }
+
+    /**
+     * Dense id of a principal or authority SID, assigned on first sight.
+     */
+    public int id(Sid sid) {
+        if (sid instanceof PrincipalSid principalSid) {
+            return entry(principals, principalSid.getPrincipal(), true).id();
+        }
+        if (sid instanceof GrantedAuthoritySid authoritySid) {
+            return entry(authorities, authoritySid.getGrantedAuthority(), false).id();
+        }
+        throw new IllegalArgumentException("Unsupported SID type: " + sid.getClass().getName());
+    }
+
+    public Sid sid(int id) {
+        Sid[] sids = byId;
+        if (id < 0 || id >= sids.length || sids[id] == null) {
+            throw new IllegalArgumentException("Unknown SID id: " + id);
+        }
+        return sids[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private Entry entry(Map<String, Entry> entries, String name, boolean principal) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry : register(entries, name, principal);
+    }
+
+    private synchronized Entry register(Map<String, Entry> entries, String name, boolean principal) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            Sid sid = principal ? new PrincipalSid(name) : new GrantedAuthoritySid(name);
+            Sid[] sids = size < byId.length ? byId : Arrays.copyOf(byId, byId.length * 2);
+            sids[size] = sid;
+            byId = sids;
+            entry = new Entry(sid, size++);
+            entries.put(name, entry);
+        }
+        return entry;
+    }
+}
@@ -8,9 +8,13 @@ import com.example.acl.web.dto.DocumentUpdateRequest;
 import com.example.acl.web.mapper.DocumentMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +24,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DocumentController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final DocumentService documentService;
     private final DocumentMapper documentMapper;
 
@@ -31,12 +38,17 @@ public class DocumentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<DocumentResponse>> getAllDocuments() {
-        List<Document> documents = documentService.getAllDocuments();
+    public ResponseEntity<List<DocumentResponse>> getAllDocuments(
+            @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable, WebRequest request) {
+        // Only a request that asks for a page gets one; without page or size the whole list is returned.
+        boolean paged = request.getParameter("page") != null || request.getParameter("size") != null;
+        Page<Document> documents = documentService.getAccessibleDocuments(paged ? pageable : Pageable.unpaged());
         List<DocumentResponse> responses = documents.stream()
                 .map(documentMapper::toResponse)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(documents.getTotalElements()))
+                .body(responses);
     }
 
     @GetMapping("/{id}")
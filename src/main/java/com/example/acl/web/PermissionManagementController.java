@@ -5,6 +5,7 @@ import com.example.acl.domain.Document;
 import com.example.acl.domain.Group;
 import com.example.acl.domain.Project;
 import com.example.acl.domain.Role;
+import com.example.acl.service.AclBulkPermissionService;
 import com.example.acl.service.AclPermissionRegistry;
 import com.example.acl.service.AclPermissionService;
 import com.example.acl.service.AclSidResolver;
@@ -12,21 +13,28 @@ import com.example.acl.service.PermissionDiscoveryService;
 import com.example.acl.web.dto.AccessibleResourcesResponse;
 import com.example.acl.web.dto.BulkPermissionUpdateRequest;
 import com.example.acl.web.dto.EffectivePermissionsResponse;
+import com.example.acl.web.dto.PermissionCheckBatchRequest;
+import com.example.acl.web.dto.PermissionCheckBatchResponse;
 import com.example.acl.web.dto.PermissionGrantRequest;
 import com.example.acl.web.dto.PermissionInheritanceResponse;
 import com.example.acl.web.dto.PermissionResponse;
 import com.example.acl.web.dto.PermissionRevokeRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.acls.model.Permission;
 import org.springframework.security.acls.model.Sid;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,10 +45,15 @@ import java.util.Map;
 @Slf4j
 public class PermissionManagementController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String DEFAULT_ACCESSIBLE_LIMIT = "100";
+    private static final int MAX_ACCESSIBLE_LIMIT = 1000;
+
     private final AclPermissionService aclPermissionService;
     private final PermissionDiscoveryService permissionDiscoveryService;
     private final AclPermissionRegistry permissionRegistry;
     private final AclSidResolver sidResolver;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/grant")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -133,10 +146,11 @@ public class PermissionManagementController {
             Sid sid = resolveSid(request.getSubjectType(), request.getSubjectIdentifier());
             List<Permission> permissions = permissionRegistry.resolvePermissions(request.getPermissions());
 
+            AclBulkPermissionService.BulkResult result;
             if ("GRANT".equalsIgnoreCase(request.getOperation())) {
-                aclPermissionService.bulkGrant(domainClass, request.getResourceIds(), sid, permissions);
+                result = aclPermissionService.bulkGrant(domainClass, request.getResourceIds(), sid, permissions);
             } else if ("REVOKE".equalsIgnoreCase(request.getOperation())) {
-                aclPermissionService.bulkRevoke(domainClass, request.getResourceIds(), sid, permissions);
+                result = aclPermissionService.bulkRevoke(domainClass, request.getResourceIds(), sid, permissions);
             } else {
                 throw new IllegalArgumentException("Invalid operation: " + request.getOperation());
             }
@@ -146,7 +160,9 @@ public class PermissionManagementController {
             response.put("message", "Bulk operation completed successfully");
             response.put("operation", request.getOperation());
             response.put("resourcesAffected", request.getResourceIds().size());
+            response.put("resourcesChanged", result.changed());
             response.put("resourceType", request.getResourceType());
+            response.put("results", result.items());
 
             return ResponseEntity.ok(response);
 
@@ -182,17 +198,36 @@ public class PermissionManagementController {
         }
     }
 
+    @PostMapping("/check-batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PermissionCheckBatchResponse> checkPermissionsBatch(
+            @Valid @RequestBody PermissionCheckBatchRequest request,
+            Authentication authentication) {
+
+        log.info("Checking {} permissions for {} on {} resources",
+                request.getPermissions() != null ? request.getPermissions() : "all",
+                authentication.getName(), request.getResources().size());
+
+        // Unknown resource types and permission names surface as IllegalArgumentException (400)
+        PermissionCheckBatchResponse response = permissionDiscoveryService
+                .checkPermissions(request.getResources(), request.getPermissions(), authentication);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/accessible")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AccessibleResourcesResponse> listAccessibleResources(
             @RequestParam String resourceType,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = DEFAULT_ACCESSIBLE_LIMIT) int limit,
             Authentication authentication) {
         
-        log.info("Listing accessible {} for {}", resourceType, authentication.getName());
+        log.info("Listing accessible {} for {} after {}", resourceType, authentication.getName(), after);
 
         try {
             AccessibleResourcesResponse response = permissionDiscoveryService
-                    .findAccessibleResources(resourceType, authentication);
+                    .findAccessibleResources(resourceType, authentication, after, Math.max(1, Math.min(limit, MAX_ACCESSIBLE_LIMIT)));
             
             return ResponseEntity.ok(response);
 
@@ -202,6 +237,33 @@ public class PermissionManagementController {
         }
     }
 
+    /**
+     * NDJSON variant of {@code /accessible}: one {@code ResourcePermissionInfo} per line, written and flushed
+     * chunk by chunk as resources are authorized.
+     */
+    @GetMapping(value = "/accessible/stream", produces = NDJSON)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> streamAccessibleResources(
+            @RequestParam String resourceType,
+            Authentication authentication) {
+
+        log.info("Streaming accessible {} for {}", resourceType, authentication.getName());
+
+        StreamingResponseBody body = outputStream -> permissionDiscoveryService.streamAccessibleResources(
+                resourceType, authentication, chunk -> {
+                    try {
+                        for (AccessibleResourcesResponse.ResourcePermissionInfo resource : chunk) {
+                            outputStream.write(objectMapper.writeValueAsBytes(resource));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     @GetMapping("/inheritance")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<PermissionInheritanceResponse> checkInheritance(
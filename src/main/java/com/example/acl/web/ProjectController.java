@@ -8,9 +8,13 @@ import com.example.acl.web.dto.ProjectUpdateRequest;
 import com.example.acl.web.mapper.ProjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +24,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProjectController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final ProjectService projectService;
     private final ProjectMapper projectMapper;
 
@@ -31,12 +38,17 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
-        List<Project> projects = projectService.getAllProjects();
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(
+            @PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable, WebRequest request) {
+        // Only a request that asks for a page gets one; without page or size the whole list is returned.
+        boolean paged = request.getParameter("page") != null || request.getParameter("size") != null;
+        Page<Project> projects = projectService.getAccessibleProjects(paged ? pageable : Pageable.unpaged());
         List<ProjectResponse> responses = projects.stream()
                 .map(projectMapper::toResponse)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(projects.getTotalElements()))
+                .body(responses);
     }
 
     @GetMapping("/{id}")
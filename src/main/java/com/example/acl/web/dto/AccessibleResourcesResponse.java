@@ -18,6 +18,7 @@ public class AccessibleResourcesResponse {
     private String resourceType;
     private List<ResourcePermissionInfo> resources;
     private int totalCount;
+    private Long nextCursor;
 
     @Data
     @Builder
@@ -0,0 +1,42 @@
+package com.example.acl.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCheckBatchRequest {
+
+    @NotEmpty(message = "At least one resource is required")
+    @Size(max = 1000, message = "At most 1000 resources per request")
+    private List<@NotNull(message = "Resource is required") @Valid ResourceRef> resources;
+
+    /**
+     * Permissions to check; every registered permission when empty.
+     */
+    private List<@NotBlank(message = "Permission name is required") String> permissions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResourceRef {
+
+        @NotBlank(message = "Resource type is required")
+        private String resourceType;
+
+        @NotNull(message = "Resource ID is required")
+        private Long resourceId;
+    }
+}
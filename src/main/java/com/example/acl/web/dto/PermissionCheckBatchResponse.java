@@ -0,0 +1,33 @@
+package com.example.acl.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCheckBatchResponse {
+
+    private String subject;
+    private List<String> checkedPermissions;
+
+    /**
+     * Resource type, then resource id, to the permissions granted on it.
+     */
+    private Map<String, Map<Long, GrantedPermissions>> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GrantedPermissions {
+        private int mask;
+        private List<String> permissions;
+    }
+}
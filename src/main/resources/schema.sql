@@ -54,3 +54,21 @@ CREATE INDEX IF NOT EXISTS idx_acl_sid_sid ON acl_sid(sid);
 CREATE INDEX IF NOT EXISTS idx_acl_class_class ON acl_class(class);
 CREATE INDEX IF NOT EXISTS idx_acl_object_identity_object ON acl_object_identity(object_id_class, object_id_identity);
 CREATE INDEX IF NOT EXISTS idx_acl_entry_object ON acl_entry(acl_object_identity);
+
+-- Table: acl_effective_permission
+-- Granted (sid, mask) pairs per object identity with parent inheritance already flattened.
+-- Maintained by AclEffectivePermissionStore whenever AclPermissionService changes an ACL.
+CREATE TABLE IF NOT EXISTS acl_effective_permission (
+    acl_object_identity BIGINT NOT NULL,
+    sid_id BIGINT NOT NULL,
+    class_id BIGINT NOT NULL,
+    object_id VARCHAR(36) NOT NULL,
+    mask INTEGER NOT NULL,
+    CONSTRAINT pk_acl_effective_permission PRIMARY KEY (acl_object_identity, sid_id, mask),
+    CONSTRAINT fk_acl_effective_permission_object FOREIGN KEY (acl_object_identity) REFERENCES acl_object_identity(id) ON DELETE CASCADE,
+    CONSTRAINT fk_acl_effective_permission_sid FOREIGN KEY (sid_id) REFERENCES acl_sid(id),
+    CONSTRAINT fk_acl_effective_permission_class FOREIGN KEY (class_id) REFERENCES acl_class(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_acl_effective_permission_sid ON acl_effective_permission(sid_id, class_id, mask);
+CREATE INDEX IF NOT EXISTS idx_acl_effective_permission_object ON acl_effective_permission(class_id, object_id, sid_id);
@@ -1,11 +1,16 @@
 package com.example.acl;
 
+import com.example.acl.domain.Document;
 import com.example.acl.domain.Project;
+import com.example.acl.repository.DocumentRepository;
 import com.example.acl.repository.ProjectRepository;
+import com.example.acl.security.CustomAclPermission;
 import com.example.acl.service.AclPermissionService;
 import com.example.acl.web.dto.AccessibleResourcesResponse;
 import com.example.acl.web.dto.BulkPermissionUpdateRequest;
 import com.example.acl.web.dto.EffectivePermissionsResponse;
+import com.example.acl.web.dto.PermissionCheckBatchRequest;
+import com.example.acl.web.dto.PermissionCheckBatchResponse;
 import com.example.acl.web.dto.PermissionGrantRequest;
 import com.example.acl.web.dto.PermissionInheritanceResponse;
 import com.example.acl.web.dto.PermissionResponse;
@@ -17,16 +22,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -42,6 +55,9 @@ class PermissionManagementControllerTests {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private DocumentRepository documentRepository;
+
     @Autowired
     private AclPermissionService aclPermissionService;
 
@@ -109,7 +125,9 @@ class PermissionManagementControllerTests {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.resourcesAffected").value(projectIds.size()));
+                .andExpect(jsonPath("$.resourcesAffected").value(projectIds.size()))
+                .andExpect(jsonPath("$.results.length()").value(projectIds.size()))
+                .andExpect(jsonPath("$.results[0].resourceId").value(projectIds.get(0)));
     }
 
     @Test
@@ -131,6 +149,75 @@ class PermissionManagementControllerTests {
         assertThat(response.getGrantedPermissions()).isNotNull();
     }
 
+    @Test
+    @WithMockUser(username = "alice", roles = {"MANAGER"})
+    void testCheckPermissionsBatch() throws Exception {
+        List<Document> documents = documentRepository.findAll();
+        PermissionCheckBatchRequest request = PermissionCheckBatchRequest.builder()
+                .resources(documents.stream()
+                        .map(document -> new PermissionCheckBatchRequest.ResourceRef("DOCUMENT", document.getId()))
+                        .toList())
+                .permissions(List.of("READ", "WRITE", "DELETE", "SHARE"))
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/api/permissions/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject").value("alice"))
+                .andReturn();
+
+        PermissionCheckBatchResponse response = objectMapper.readValue(
+                result.getResponse().getContentAsString(), PermissionCheckBatchResponse.class);
+        Authentication alice = UsernamePasswordAuthenticationToken.authenticated(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER"));
+        Map<Long, PermissionCheckBatchResponse.GrantedPermissions> results = response.getResults().get("DOCUMENT");
+        assertThat(results).hasSize(documents.size());
+        for (Document document : documents) {
+            for (Permission permission : List.of(BasePermission.READ, BasePermission.WRITE, BasePermission.DELETE, CustomAclPermission.SHARE)) {
+                assertThat((results.get(document.getId()).getMask() & permission.getMask()) != 0)
+                        .as("mask %d on document %d", permission.getMask(), document.getId())
+                        .isEqualTo(aclPermissionService.hasPermission(alice, Document.class, document.getId(), permission));
+            }
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "alice", roles = {"MANAGER"})
+    void testCheckPermissionsBatchInvalidResourceType() throws Exception {
+        PermissionCheckBatchRequest request = PermissionCheckBatchRequest.builder()
+                .resources(List.of(new PermissionCheckBatchRequest.ResourceRef("INVALID", 1L)))
+                .build();
+
+        mockMvc.perform(post("/api/permissions/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown resource type: INVALID"));
+    }
+
+    @Test
+    @WithMockUser(username = "alice", roles = {"MANAGER"})
+    void testCheckPermissionsBatchInvalidPermissions() throws Exception {
+        PermissionCheckBatchRequest unknown = PermissionCheckBatchRequest.builder()
+                .resources(List.of(new PermissionCheckBatchRequest.ResourceRef("DOCUMENT", 1L)))
+                .permissions(List.of("READ", "FLY"))
+                .build();
+
+        mockMvc.perform(post("/api/permissions/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(unknown)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown permission name: FLY"));
+
+        mockMvc.perform(post("/api/permissions/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"resources\": [null], \"permissions\": [\" \"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors['resources[0]']").value("Resource is required"))
+                .andExpect(jsonPath("$.validationErrors['permissions[0]']").value("Permission name is required"));
+    }
+
     @Test
     @WithMockUser(username = "alice", roles = {"MANAGER"})
     void testListAccessibleResources() throws Exception {
@@ -147,6 +234,64 @@ class PermissionManagementControllerTests {
         assertThat(response.getResources()).isNotNull();
     }
 
+    @Test
+    @WithMockUser(username = "alice", roles = {"MANAGER"})
+    void testListAccessibleResourcesWithCursor() throws Exception {
+        AccessibleResourcesResponse firstPage = accessiblePage(null);
+        assertThat(firstPage.getTotalCount()).isGreaterThan(1);
+        assertThat(firstPage.getResources()).hasSize(1);
+        assertThat(firstPage.getNextCursor()).isEqualTo(firstPage.getResources().get(0).getResourceId());
+
+        AccessibleResourcesResponse secondPage = accessiblePage(firstPage.getNextCursor());
+        assertThat(secondPage.getResources()).hasSize(1);
+        assertThat(secondPage.getResources().get(0).getResourceId()).isGreaterThan(firstPage.getNextCursor());
+    }
+
+    @Test
+    @WithMockUser(username = "alice", roles = {"MANAGER"})
+    void testStreamAccessibleResources() throws Exception {
+        AccessibleResourcesResponse all = objectMapper.readValue(mockMvc.perform(get("/api/permissions/accessible")
+                        .param("resourceType", "PROJECT"))
+                .andReturn().getResponse().getContentAsString(), AccessibleResourcesResponse.class);
+
+        MvcResult result = mockMvc.perform(get("/api/permissions/accessible/stream")
+                        .param("resourceType", "PROJECT"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> streamedIds = content.lines()
+                .map(line -> readResource(line).getResourceId())
+                .toList();
+        assertThat(streamedIds).containsExactlyElementsOf(all.getResources().stream()
+                .map(AccessibleResourcesResponse.ResourcePermissionInfo::getResourceId)
+                .toList());
+    }
+
+    private AccessibleResourcesResponse accessiblePage(Long after) throws Exception {
+        var request = get("/api/permissions/accessible")
+                .param("resourceType", "PROJECT")
+                .param("limit", "1");
+        if (after != null) {
+            request.param("after", after.toString());
+        }
+        String content = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(content, AccessibleResourcesResponse.class);
+    }
+
+    private AccessibleResourcesResponse.ResourcePermissionInfo readResource(String line) {
+        try {
+            return objectMapper.readValue(line, AccessibleResourcesResponse.ResourcePermissionInfo.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Test
     @WithMockUser(username = "alice", roles = {"MANAGER"})
     void testCheckInheritance() throws Exception {
@@ -0,0 +1,28 @@
+package com.example.acl;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Seeds ACL changes as the administrator from tests that otherwise run as a less privileged user.
+ */
+public final class TestAuthentication {
+
+    private TestAuthentication() {
+    }
+
+    public static void runAsAdmin(Runnable action) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Authentication original = context.getAuthentication();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        try {
+            action.run();
+        } finally {
+            context.setAuthentication(original);
+        }
+    }
+}
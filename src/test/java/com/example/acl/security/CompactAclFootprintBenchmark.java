@@ -0,0 +1,152 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retained heap per ACL of {@link AclImpl} against {@link CompactAcl}, measured as the heap growth after GC while
+ * holding 100k ACLs; SIDs, permissions and object identities are shared or counted alike for both. Random entries
+ * give most ACLs a template of their own, which costs more than it saves once there are a few of them; owner
+ * defaults plus one group grant, with 1k owners, share one.
+ * Run with {@code mvn test -Dtest=CompactAclFootprintBenchmark -Dacl.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "acl.benchmark", matches = "true")
+@DisplayName("Compact ACL Footprint Benchmark")
+class CompactAclFootprintBenchmark {
+
+    private static final int ACLS = 100_000;
+    private static final int[] ENTRIES = {1, 4, 16};
+    private static final List<Permission> PERMISSIONS = List.of(BasePermission.READ, BasePermission.WRITE,
+            BasePermission.DELETE, CustomAclPermission.APPROVE);
+
+    private final SidDictionary sidDictionary = new SidDictionary(null);
+    private final IndexedPermissionGrantingStrategy grantingStrategy =
+            new IndexedPermissionGrantingStrategy((granted, ace) -> { }, sidDictionary, 1_000);
+    private final AclAuthorizationStrategy allowAll = (acl, changeType) -> { };
+    private CompactAcl.Context context;
+    private final List<Sid> sids = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should report retained bytes per ACL for both representations")
+    void benchmark() {
+        for (int i = 0; i < 1_000; i++) {
+            Sid sid = i % 10 == 0 ? new GrantedAuthoritySid("GROUP_" + i) : new PrincipalSid("user-" + i);
+            sids.add(sid);
+            sidDictionary.id(sid);
+        }
+        for (int entries : ENTRIES) {
+            long aclImpl = retainedBytesPerAcl(id -> aclImpl(id, entries));
+            context = newContext();
+            long compact = retainedBytesPerAcl(id -> compactAcl(id, entries));
+            System.out.printf("%2d ACEs: AclImpl %5d B/ACL, CompactAcl %5d B/ACL (%.0f%%)%n",
+                    entries, aclImpl, compact, 100.0 * compact / aclImpl);
+        }
+        long aclImpl = retainedBytesPerAcl(this::ownerDefaultsAclImpl);
+        context = newContext();
+        long compact = retainedBytesPerAcl(this::ownerDefaultsCompactAcl);
+        System.out.printf("owner defaults: AclImpl %5d B/ACL, CompactAcl %5d B/ACL (%.0f%%)%n",
+                aclImpl, compact, 100.0 * compact / aclImpl);
+        assertThat(compact).isLessThan(aclImpl);
+    }
+
+    /**
+     * Fresh context, so templates interned for an earlier run are not counted against the next.
+     */
+    private CompactAcl.Context newContext() {
+        return new CompactAcl.Context(allowAll, grantingStrategy, new DefaultPermissionFactory(CustomAclPermission.class),
+                sidDictionary);
+    }
+
+    private long retainedBytesPerAcl(IntFunction<Acl> factory) {
+        long before = usedHeap();
+        Acl[] acls = new Acl[ACLS];
+        for (int id = 0; id < ACLS; id++) {
+            acls[id] = factory.apply(id);
+        }
+        long after = usedHeap();
+        assertThat(acls[ACLS - 1]).isNotNull();
+        return (after - before) / ACLS;
+    }
+
+    private Acl aclImpl(int id, int entries) {
+        Random random = new Random(id);
+        AclImpl acl = new AclImpl(new ObjectIdentityImpl(Document.class, (long) id), (long) id, allowAll,
+                grantingStrategy, null, null, true, sids.get(0));
+        for (int i = 0; i < entries; i++) {
+            acl.insertAce(i, PERMISSIONS.get(random.nextInt(PERMISSIONS.size())), sids.get(random.nextInt(sids.size())), true);
+        }
+        return acl;
+    }
+
+    private Acl compactAcl(int id, int entries) {
+        Random random = new Random(id);
+        long[] entryIds = new long[entries];
+        int[] sidIds = new int[entries];
+        int[] masks = new int[entries];
+        byte[] flags = new byte[entries];
+        for (int i = 0; i < entries; i++) {
+            entryIds[i] = (long) id * entries + i;
+            masks[i] = PERMISSIONS.get(random.nextInt(PERMISSIONS.size())).getMask();
+            sidIds[i] = sidDictionary.id(sids.get(random.nextInt(sids.size())));
+            flags[i] = CompactAcl.flags(true, false, false);
+        }
+        return new CompactAcl(context, new ObjectIdentityImpl(Document.class, (long) id), id, null, true, sids.get(0),
+                entryIds, sidIds, masks, flags);
+    }
+
+    private Acl ownerDefaultsAclImpl(int id) {
+        Sid owner = sids.get(id % sids.size());
+        AclImpl acl = new AclImpl(new ObjectIdentityImpl(Document.class, (long) id), (long) id, allowAll,
+                grantingStrategy, null, null, true, owner);
+        for (int i = 0; i < PERMISSIONS.size(); i++) {
+            acl.insertAce(i, PERMISSIONS.get(i), owner, true);
+        }
+        acl.insertAce(PERMISSIONS.size(), BasePermission.READ, sids.get(0), true);
+        return acl;
+    }
+
+    private Acl ownerDefaultsCompactAcl(int id) {
+        Sid owner = sids.get(id % sids.size());
+        int entries = PERMISSIONS.size() + 1;
+        long[] entryIds = new long[entries];
+        int[] sidIds = new int[entries];
+        int[] masks = new int[entries];
+        byte[] flags = new byte[entries];
+        for (int i = 0; i < entries; i++) {
+            entryIds[i] = (long) id * entries + i;
+            sidIds[i] = sidDictionary.id(i < PERMISSIONS.size() ? owner : sids.get(0));
+            masks[i] = i < PERMISSIONS.size() ? PERMISSIONS.get(i).getMask() : BasePermission.READ.getMask();
+            flags[i] = CompactAcl.flags(true, false, false);
+        }
+        return new CompactAcl(context, new ObjectIdentityImpl(Document.class, (long) id), id, null, true, owner,
+                entryIds, sidIds, masks, flags);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.AuditLogger;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Compact ACL Tests")
+class CompactAclTests {
+
+    private static final AuditLogger NO_AUDIT = (granted, ace) -> {
+    };
+
+    private static final List<Sid> SIDS = List.of(
+            new PrincipalSid("alice"), new PrincipalSid("bob"),
+            new GrantedAuthoritySid("GROUP_ENGINEERING"), new GrantedAuthoritySid("ROLE_MEMBER"));
+
+    private static final List<Permission> PERMISSIONS = List.of(
+            BasePermission.READ, BasePermission.WRITE, BasePermission.DELETE, CustomAclPermission.APPROVE);
+
+    private final SidDictionary sidDictionary = new SidDictionary(null);
+    private final List<String> audited = new ArrayList<>();
+    private final IndexedPermissionGrantingStrategy indexed = new IndexedPermissionGrantingStrategy(
+            (granted, ace) -> {
+                if (ace instanceof AuditableAccessControlEntry auditable
+                        && (granted ? auditable.isAuditSuccess() : auditable.isAuditFailure())) {
+                    audited.add(granted + ":" + ace.getSid());
+                }
+            }, sidDictionary, 1_000);
+    private final DefaultPermissionGrantingStrategy reference = new DefaultPermissionGrantingStrategy(NO_AUDIT);
+    private final AclAuthorizationStrategy allowChanges = (acl, changeType) -> {
+    };
+    private final CompactAcl.Context context = new CompactAcl.Context(allowChanges, indexed,
+            new DefaultPermissionFactory(CustomAclPermission.class), sidDictionary);
+
+    @Test
+    @DisplayName("Should decide like DefaultPermissionGrantingStrategy on random ACL trees")
+    void testMatchesDefaultStrategy() {
+        Random random = new Random(13);
+        for (int tree = 0; tree < 500; tree++) {
+            CompactAcl parent = randomAcl(random, tree * 2L + 1, null);
+            CompactAcl child = randomAcl(random, tree * 2L + 2, parent);
+            AclImpl referenceParent = copy(parent, null);
+            AclImpl referenceChild = copy(child, referenceParent);
+
+            for (int check = 0; check < 20; check++) {
+                List<Permission> permissions = sample(random, PERMISSIONS);
+                List<Sid> sids = sample(random, SIDS);
+                assertThat(decide(child, permissions, sids))
+                        .as("tree %d, %s for %s", tree, permissions, sids)
+                        .isEqualTo(decide(referenceChild, permissions, sids));
+            }
+            assertThat(describe(child)).isEqualTo(describe(referenceChild));
+        }
+    }
+
+    @Test
+    @DisplayName("Should switch to a mutable copy on the first change and leave the shared arrays alone")
+    void testChangesGoToMutableCopy() {
+        long[] ids = {11L, 12L};
+        int[] sids = {sidDictionary.id(SIDS.get(0)), sidDictionary.id(SIDS.get(1))};
+        int[] masks = {BasePermission.READ.getMask(), BasePermission.READ.getMask()};
+        byte[] flags = {CompactAcl.flags(true, false, false), CompactAcl.flags(false, false, false)};
+        CompactAcl acl = new CompactAcl(context, new ObjectIdentityImpl(Document.class, 1L), 1L, null, true, SIDS.get(0),
+                ids, sids, masks, flags);
+        CompactAcl sharing = new CompactAcl(context, new ObjectIdentityImpl(Document.class, 2L), 2L, null, true, SIDS.get(0),
+                ids, sids, masks, flags);
+        List<Sid> bob = List.of(SIDS.get(1));
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isFalse();
+
+        acl.deleteAce(1);
+        acl.insertAce(1, BasePermission.READ, SIDS.get(1), true);
+        acl.setOwner(SIDS.get(1));
+
+        assertThat(acl.isCompact()).isFalse();
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isTrue();
+        assertThat(acl.getOwner()).isEqualTo(SIDS.get(1));
+        assertThat(acl.getEntries()).extracting(AccessControlEntry::getId).containsExactly(11L, null);
+        assertThat(sharing.isGranted(List.of(BasePermission.READ), bob, false)).isFalse();
+        assertThat(sharing.getEntries()).extracting(AccessControlEntry::getId).containsExactly(11L, 12L);
+    }
+
+    @Test
+    @DisplayName("Should copy without sharing later changes in either direction")
+    void testCopy() {
+        CompactAcl acl = ownedAcl(7L, SIDS.get(0), new long[]{71L, 72L, 73L});
+        List<Sid> bob = List.of(SIDS.get(1));
+
+        CompactAcl copy = acl.copy();
+        copy.insertAce(0, BasePermission.DELETE, SIDS.get(1), true);
+
+        assertThat(acl.isCompact()).isTrue();
+        assertThat(decide(acl, List.of(BasePermission.DELETE), bob)).isEqualTo("not found");
+        assertThat(copy.isGranted(List.of(BasePermission.DELETE), bob, false)).isTrue();
+        assertThat(copy.template()).isSameAs(acl.template());
+
+        CompactAcl changedCopy = copy.copy();
+        changedCopy.deleteAce(0);
+
+        assertThat(changedCopy.isCompact()).isFalse();
+        assertThat(changedCopy.getEntries()).extracting(AccessControlEntry::getId).containsExactly(71L, 72L, 73L);
+        assertThat(copy.getEntries()).extracting(AccessControlEntry::getId).containsExactly(null, 71L, 72L, 73L);
+        assertThat(copy.isGranted(List.of(BasePermission.DELETE), bob, false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hand the audit logger only entries flagged for auditing")
+    void testAuditsFlaggedEntries() {
+        CompactAcl acl = new CompactAcl(context, new ObjectIdentityImpl(Document.class, 3L), 3L, null, true, SIDS.get(0),
+                new long[]{21L, 22L},
+                new int[]{sidDictionary.id(SIDS.get(0)), sidDictionary.id(SIDS.get(1))},
+                new int[]{BasePermission.READ.getMask(), BasePermission.READ.getMask()},
+                new byte[]{CompactAcl.flags(true, true, false), CompactAcl.flags(false, true, false)});
+
+        acl.isGranted(List.of(BasePermission.READ), List.of(SIDS.get(0)), false);
+        acl.isGranted(List.of(BasePermission.READ), List.of(SIDS.get(1)), false);
+        acl.isGranted(List.of(BasePermission.READ), List.of(SIDS.get(0)), true);
+
+        assertThat(audited).containsExactly("true:" + SIDS.get(0));
+    }
+
+    @Test
+    @DisplayName("Should share one template between ACLs that differ only in owner and ACE ids")
+    void testSharesTemplates() {
+        Sid alice = SIDS.get(0);
+        Sid bob = SIDS.get(1);
+        CompactAcl aliceAcl = ownedAcl(4L, alice, new long[]{41L, 42L, 43L});
+        CompactAcl bobAcl = ownedAcl(5L, bob, new long[]{57L, 50L, 58L});
+
+        assertThat(aliceAcl.template()).isSameAs(bobAcl.template());
+        assertThat(aliceAcl.getEntries()).extracting(AccessControlEntry::getSid)
+                .containsExactly(alice, alice, SIDS.get(2));
+        assertThat(bobAcl.getEntries()).extracting(AccessControlEntry::getSid)
+                .containsExactly(bob, bob, SIDS.get(2));
+        assertThat(bobAcl.getEntries()).extracting(AccessControlEntry::getId).containsExactly(57L, 50L, 58L);
+        assertThat(aliceAcl.isGranted(List.of(BasePermission.WRITE), List.of(alice), false)).isTrue();
+        assertThat(decide(aliceAcl, List.of(BasePermission.WRITE), List.of(bob))).isEqualTo("not found");
+        assertThat(bobAcl.isGranted(List.of(BasePermission.WRITE), List.of(bob), false)).isTrue();
+        assertThat(ownedAcl(6L, alice, new long[]{61L, 62L, 63L}).template()).isSameAs(aliceAcl.template());
+    }
+
+    private CompactAcl ownedAcl(long id, Sid owner, long[] entryIds) {
+        int ownerId = sidDictionary.id(owner);
+        return new CompactAcl(context, new ObjectIdentityImpl(Document.class, id), id, null, true, owner, entryIds,
+                new int[]{ownerId, ownerId, sidDictionary.id(SIDS.get(2))},
+                new int[]{BasePermission.READ.getMask(), BasePermission.WRITE.getMask(), BasePermission.READ.getMask()},
+                new byte[]{CompactAcl.flags(true, false, false), CompactAcl.flags(true, false, false),
+                        CompactAcl.flags(true, false, false)});
+    }
+
+    private CompactAcl randomAcl(Random random, long id, Acl parent) {
+        int entries = random.nextInt(12);
+        long[] ids = new long[entries];
+        int[] sids = new int[entries];
+        int[] masks = new int[entries];
+        byte[] flags = new byte[entries];
+        for (int i = 0; i < entries; i++) {
+            ids[i] = id * 100 + i;
+            sids[i] = sidDictionary.id(SIDS.get(random.nextInt(SIDS.size())));
+            masks[i] = PERMISSIONS.get(random.nextInt(PERMISSIONS.size())).getMask();
+            flags[i] = CompactAcl.flags(random.nextInt(4) != 0, random.nextBoolean(), random.nextBoolean());
+        }
+        return new CompactAcl(context, new ObjectIdentityImpl(Document.class, id), id, parent, random.nextBoolean(),
+                SIDS.get(0), ids, sids, masks, flags);
+    }
+
+    private AclImpl copy(CompactAcl source, AclImpl parent) {
+        AclImpl acl = new AclImpl(source.getObjectIdentity(), source.getId(), allowChanges, reference,
+                parent, null, source.isEntriesInheriting(), source.getOwner());
+        List<AccessControlEntry> entries = source.getEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            AccessControlEntry ace = entries.get(i);
+            acl.insertAce(i, ace.getPermission(), ace.getSid(), ace.isGranting());
+        }
+        return acl;
+    }
+
+    private <T> List<T> sample(Random random, List<T> values) {
+        List<T> sample = values.stream().filter(value -> random.nextBoolean()).toList();
+        return sample.isEmpty() ? List.of(values.get(random.nextInt(values.size()))) : sample;
+    }
+
+    private String decide(Acl acl, List<Permission> permissions, List<Sid> sids) {
+        try {
+            return String.valueOf(acl.isGranted(permissions, sids, false));
+        } catch (NotFoundException ex) {
+            return "not found";
+        }
+    }
+
+    private List<String> describe(Acl acl) {
+        return acl.getEntries().stream()
+                .map(ace -> ace.getSid() + ":" + ace.getPermission().getMask() + ":" + ace.isGranting())
+                .toList();
+    }
+}
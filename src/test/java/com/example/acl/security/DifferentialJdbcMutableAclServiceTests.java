@@ -0,0 +1,142 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.service.AclPermissionService;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("Differential JDBC Mutable ACL Service Tests")
+class DifferentialJdbcMutableAclServiceTests {
+
+    private static final long DOCUMENT_ID = 82_001L;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private MutableAclService aclService;
+
+    @Autowired
+    private SidDictionary sidDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should insert only the new ACE and keep the stored rows of the others")
+    void testGrantInsertsOnlyNewEntry() {
+        grantToUsers("alice", "bob", "carol");
+        Map<Long, Integer> before = storedOrders();
+
+        aclPermissionService.grantToUser(Document.class, DOCUMENT_ID, "dave", BasePermission.READ);
+
+        Map<Long, Integer> after = storedOrders();
+        assertThat(after).hasSize(before.size() + 1).containsAllEntriesOf(before);
+        assertThat(describe()).containsExactly("alice:1", "bob:1", "carol:1", "dave:1");
+    }
+
+    @Test
+    @DisplayName("Should delete only the revoked ACE and leave a gap in ace_order")
+    void testRevokeDeletesOnlyRevokedEntry() {
+        grantToUsers("alice", "bob", "carol");
+        Map<Long, Integer> before = storedOrders();
+
+        aclPermissionService.revokeAllForSid(Document.class, DOCUMENT_ID, sidDictionary.principal("bob"));
+
+        Map<Long, Integer> after = storedOrders();
+        assertThat(after).hasSize(before.size() - 1);
+        assertThat(before).containsAllEntriesOf(after);
+        assertThat(describe()).containsExactly("alice:1", "carol:1");
+
+        aclPermissionService.grantToUser(Document.class, DOCUMENT_ID, "dave", BasePermission.WRITE);
+        assertThat(storedOrders()).containsAllEntriesOf(after);
+        assertThat(describe()).containsExactly("alice:1", "carol:1", "dave:2");
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @DisplayName("Should update changed ACEs in place and renumber only when new ACEs do not fit")
+    void testUpdateAndRenumber() {
+        grantToUsers("alice", "bob");
+        Map<Long, Integer> before = storedOrders();
+
+        MutableAcl acl = aclPermissionService.ensureAcl(Document.class, DOCUMENT_ID);
+        acl.updateAce(1, BasePermission.WRITE);
+        aclService.updateAcl(acl);
+        assertThat(storedOrders()).isEqualTo(before);
+        assertThat(describe()).containsExactly("alice:1", "bob:2");
+
+        acl = aclPermissionService.ensureAcl(Document.class, DOCUMENT_ID);
+        acl.insertAce(0, BasePermission.DELETE, sidDictionary.principal("carol"), true);
+        acl.insertAce(2, BasePermission.READ, sidDictionary.principal("dave"), true);
+        aclService.updateAcl(acl);
+        Map<Long, Integer> after = storedOrders();
+        assertThat(after).containsKeys(before.keySet().toArray(Long[]::new));
+        assertThat(describe()).containsExactly("carol:8", "alice:1", "dave:1", "bob:2");
+    }
+
+    @Test
+    @DisplayName("Should drop the grant index of an ACL changed in place once it is written")
+    void testWriteForgetsGrantIndex() {
+        grantToUsers("alice");
+        List<Sid> bob = List.of(sidDictionary.principal("bob"));
+        MutableAcl acl = aclPermissionService.ensureAcl(Document.class, DOCUMENT_ID);
+        acl.insertAce(0, BasePermission.READ, bob.get(0), false);
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isFalse();
+
+        acl.updateAce(0, BasePermission.WRITE);
+        acl.insertAce(1, BasePermission.READ, bob.get(0), true);
+        aclService.updateAcl(acl);
+
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isTrue();
+    }
+
+    private void grantToUsers(String... usernames) {
+        for (String username : usernames) {
+            aclPermissionService.grantToUser(Document.class, DOCUMENT_ID, username, BasePermission.READ);
+        }
+    }
+
+    private Map<Long, Integer> storedOrders() {
+        return jdbcTemplate.query("""
+                SELECT e.id, e.ace_order FROM acl_entry e
+                JOIN acl_object_identity oi ON oi.id = e.acl_object_identity
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                WHERE ac.class = ? AND oi.object_id_identity = ?
+                """, (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getInt(2)), Document.class.getName(), String.valueOf(DOCUMENT_ID))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private List<String> describe() {
+        return jdbcTemplate.query("""
+                SELECT s.sid, e.mask FROM acl_entry e
+                JOIN acl_sid s ON s.id = e.sid
+                JOIN acl_object_identity oi ON oi.id = e.acl_object_identity
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                WHERE ac.class = ? AND oi.object_id_identity = ?
+                ORDER BY e.ace_order
+                """, (rs, rowNum) -> rs.getString(1) + ":" + rs.getInt(2), Document.class.getName(), String.valueOf(DOCUMENT_ID));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.repository.CommentRepository;
+import com.example.acl.service.AclPermissionRegistry;
+import com.example.acl.service.AclPermissionService;
+import com.example.acl.service.AclSidResolver;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes here run in transactions that are rolled back, so the store has to restore what they changed.
+ */
+@SpringBootTest(properties = "acl.engine=memory")
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+@DisplayName("In-Memory Mutable ACL Service Tests")
+class InMemoryMutableAclServiceTests {
+
+    @Autowired
+    private MutableAclService aclService;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AclAuthorizationStrategy aclAuthorizationStrategy;
+
+    @Autowired
+    private IndexedPermissionGrantingStrategy grantingStrategy;
+
+    @Autowired
+    private AclPermissionRegistry permissionRegistry;
+
+    @Autowired
+    private SidDictionary sidDictionary;
+
+    @Test
+    @DisplayName("Should answer reads and child lookups without SQL once loaded")
+    void testReadsWithoutSql() {
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        InMemoryAclStore store = new InMemoryAclStore(counting,
+                new SpringCacheBasedAclCache(new ConcurrentMapCache("inMemoryAclStoreTest"), grantingStrategy, aclAuthorizationStrategy),
+                aclAuthorizationStrategy, grantingStrategy, permissionRegistry, sidDictionary);
+        Comment comment = commentRepository.findAll().get(0);
+        ObjectIdentity commentOid = new ObjectIdentityImpl(Comment.class, comment.getId());
+        ObjectIdentity documentOid = new ObjectIdentityImpl(Document.class, comment.getDocument().getId());
+
+        Map<ObjectIdentity, Acl> first = store.readAclsById(List.of(documentOid), null);
+        assertThat(counting.statements()).isEqualTo(1);
+
+        counting.reset();
+        Map<ObjectIdentity, Acl> acls = store.readAclsById(List.of(commentOid, new ObjectIdentityImpl(Comment.class, 83_999L)), null);
+        assertThat(acls).containsOnlyKeys(commentOid);
+        assertThat(acls.get(commentOid).getParentAcl()).isSameAs(first.get(documentOid));
+        assertThat(acls.get(commentOid).getEntries()).isNotEmpty();
+        assertThat(store.findChildren(documentOid)).contains(commentOid);
+        assertThat(counting.statements()).isZero();
+        InMemoryAclStore.Footprint footprint = store.footprint();
+        assertThat(footprint.acls()).isPositive();
+        assertThat(footprint.templates()).isPositive().isLessThan(footprint.acls());
+    }
+
+    @Test
+    @DisplayName("Should see its own writes inside the transaction and forget them on rollback")
+    void testWriteThroughAndRollback() {
+        ObjectIdentity oid = new ObjectIdentityImpl(Document.class, 83_001L);
+
+        rolledBack(() -> {
+            aclPermissionService.grantToUser(Document.class, 83_001L, "alice", BasePermission.READ);
+            aclPermissionService.grantToUser(Document.class, 83_001L, "bob", BasePermission.WRITE);
+            assertThat(aclService.readAclById(oid).getEntries())
+                    .extracting(ace -> ace.getSid())
+                    .containsExactly(sidResolver.principalSid("alice"), sidResolver.principalSid("bob"));
+        });
+
+        assertThatThrownBy(() -> aclService.readAclById(oid)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should pick up bulk changes written straight to the tables")
+    void testBulkChanges() {
+        List<Long> ids = List.of(83_011L, 83_012L);
+
+        rolledBack(() -> {
+            aclPermissionService.bulkGrant(Document.class, ids, sidResolver.principalSid("grace"), List.of(BasePermission.READ));
+            for (Long id : ids) {
+                assertThat(aclService.readAclById(new ObjectIdentityImpl(Document.class, id)).getEntries())
+                        .singleElement()
+                        .satisfies(ace -> assertThat(ace.getSid()).isEqualTo(sidResolver.principalSid("grace")));
+            }
+        });
+
+        for (Long id : ids) {
+            assertThatThrownBy(() -> aclService.readAclById(new ObjectIdentityImpl(Document.class, id)))
+                    .isInstanceOf(NotFoundException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should track parents and drop deleted ACLs with their children")
+    void testParentsAndDeletion() {
+        ObjectIdentity parent = new ObjectIdentityImpl(Document.class, 83_021L);
+        ObjectIdentity child = new ObjectIdentityImpl(Comment.class, 83_022L);
+
+        rolledBack(() -> {
+            aclPermissionService.ensureAcl(Document.class, 83_021L);
+            aclPermissionService.setParent(Comment.class, 83_022L, Document.class, 83_021L, true);
+            assertThat(aclService.findChildren(parent)).containsExactly(child);
+            assertThat(aclService.readAclById(child).getParentAcl().getObjectIdentity()).isEqualTo(parent);
+
+            aclService.deleteAcl(parent, true);
+            assertThat(aclService.findChildren(parent)).isNull();
+            assertThatThrownBy(() -> aclService.readAclById(child)).isInstanceOf(NotFoundException.class);
+        });
+
+        assertThatThrownBy(() -> aclService.readAclById(parent)).isInstanceOf(NotFoundException.class);
+    }
+
+    private void rolledBack(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+}
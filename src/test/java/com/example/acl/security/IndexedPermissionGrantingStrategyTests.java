@@ -0,0 +1,117 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.AuditLogger;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Indexed Permission Granting Strategy Tests")
+class IndexedPermissionGrantingStrategyTests {
+
+    private static final AuditLogger NO_AUDIT = (granted, ace) -> {
+    };
+
+    private static final List<Sid> SIDS = List.of(
+            new PrincipalSid("alice"), new PrincipalSid("bob"),
+            new GrantedAuthoritySid("GROUP_ENGINEERING"), new GrantedAuthoritySid("ROLE_MEMBER"));
+
+    private static final List<Permission> PERMISSIONS = List.of(
+            BasePermission.READ, BasePermission.WRITE, BasePermission.DELETE, CustomAclPermission.APPROVE);
+
+    private final IndexedPermissionGrantingStrategy indexed = new IndexedPermissionGrantingStrategy(
+            NO_AUDIT, new SidDictionary(null), 1_000);
+    private final DefaultPermissionGrantingStrategy reference = new DefaultPermissionGrantingStrategy(NO_AUDIT);
+    private final AclAuthorizationStrategy allowChanges = (acl, changeType) -> {
+    };
+
+    @Test
+    @DisplayName("Should decide like DefaultPermissionGrantingStrategy on random ACL trees")
+    void testMatchesDefaultStrategy() {
+        Random random = new Random(7);
+        for (int tree = 0; tree < 500; tree++) {
+            AclImpl parent = randomAcl(random, tree * 2L + 1, null, indexed);
+            AclImpl child = randomAcl(random, tree * 2L + 2, parent, indexed);
+            AclImpl referenceParent = copy(parent, null, reference);
+            AclImpl referenceChild = copy(child, referenceParent, reference);
+
+            for (int check = 0; check < 20; check++) {
+                List<Permission> permissions = sample(random, PERMISSIONS);
+                List<Sid> sids = sample(random, SIDS);
+                assertThat(decide(child, permissions, sids))
+                        .as("tree %d, %s for %s", tree, permissions, sids)
+                        .isEqualTo(decide(referenceChild, permissions, sids));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should see ACEs changed in place on the same ACL instance once they are written")
+    void testInPlaceChangesAreSeen() {
+        AclImpl acl = new AclImpl(new ObjectIdentityImpl(Document.class, 1L), 1L, allowChanges, indexed, null, null, true, SIDS.get(0));
+        List<Sid> bob = List.of(SIDS.get(1));
+
+        acl.insertAce(0, BasePermission.READ, SIDS.get(1), false);
+        indexed.forget(acl.getObjectIdentity());
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isFalse();
+
+        acl.updateAce(0, BasePermission.WRITE);
+        acl.insertAce(0, BasePermission.READ, SIDS.get(1), true);
+        indexed.forget(acl.getObjectIdentity());
+        assertThat(acl.isGranted(List.of(BasePermission.READ), bob, false)).isTrue();
+
+        acl.deleteAce(0);
+        indexed.forget(acl.getObjectIdentity());
+        assertThat(decide(acl, List.of(BasePermission.READ), bob)).isEqualTo("not found");
+    }
+
+    private AclImpl randomAcl(Random random, long id, AclImpl parent, PermissionGrantingStrategy strategy) {
+        AclImpl acl = new AclImpl(new ObjectIdentityImpl(Document.class, id), id, allowChanges, strategy,
+                parent, null, random.nextBoolean(), SIDS.get(0));
+        int entries = random.nextInt(12);
+        for (int i = 0; i < entries; i++) {
+            acl.insertAce(i, PERMISSIONS.get(random.nextInt(PERMISSIONS.size())), SIDS.get(random.nextInt(SIDS.size())),
+                    random.nextInt(4) != 0);
+        }
+        return acl;
+    }
+
+    private AclImpl copy(AclImpl source, AclImpl parent, PermissionGrantingStrategy strategy) {
+        AclImpl acl = new AclImpl(source.getObjectIdentity(), source.getId(), allowChanges, strategy,
+                parent, null, source.isEntriesInheriting(), source.getOwner());
+        for (int i = 0; i < source.getEntries().size(); i++) {
+            var ace = source.getEntries().get(i);
+            acl.insertAce(i, ace.getPermission(), ace.getSid(), ace.isGranting());
+        }
+        return acl;
+    }
+
+    private <T> List<T> sample(Random random, List<T> values) {
+        List<T> sample = values.stream().filter(value -> random.nextBoolean()).toList();
+        return sample.isEmpty() ? List.of(values.get(random.nextInt(values.size()))) : sample;
+    }
+
+    private String decide(AclImpl acl, List<Permission> permissions, List<Sid> sids) {
+        try {
+            return String.valueOf(acl.isGranted(permissions, sids, false));
+        } catch (NotFoundException ex) {
+            return "not found";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.acl.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Long Int Hash Map Tests")
+class LongIntHashMapTests {
+
+    @Test
+    @DisplayName("Should behave like a HashMap under random puts and removes")
+    void testMatchesHashMap() {
+        Random random = new Random(11);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> reference = new HashMap<>();
+        for (int step = 0; step < 200_000; step++) {
+            // A small key range keeps probe runs long and removals frequent.
+            long key = random.nextInt(5_000) * 31L - 40_000;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                reference.remove(key);
+            } else {
+                int value = random.nextInt(1_000_000);
+                map.put(key, value);
+                reference.put(key, value);
+            }
+        }
+        assertThat(map.size()).isEqualTo(reference.size());
+        for (long key = -40_000; key < 5_000 * 31L; key++) {
+            assertThat(map.get(key)).as("%d", key).isEqualTo(reference.getOrDefault(key, LongIntHashMap.MISSING));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.service.SidDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Off-Heap ACL Cache Tests")
+class OffHeapAclCacheTests {
+
+    private static final Sid ALICE = new PrincipalSid("alice");
+    private static final Sid BOB = new PrincipalSid("bob");
+    private static final Sid ENGINEERING = new GrantedAuthoritySid("GROUP_ENGINEERING");
+
+    private final SidDictionary sidDictionary = new SidDictionary(null);
+    private final IndexedPermissionGrantingStrategy grantingStrategy =
+            new IndexedPermissionGrantingStrategy((granted, ace) -> { }, sidDictionary, 1_000);
+    private final AclAuthorizationStrategy allowAll = (acl, changeType) -> { };
+    private final CompactAcl.Context context = new CompactAcl.Context(allowAll, grantingStrategy,
+            new DefaultPermissionFactory(CustomAclPermission.class), sidDictionary);
+    private final Map<Long, Acl> parents = new HashMap<>();
+
+    @Test
+    @DisplayName("Should read back ACLs by primary key and object identity, with their parents")
+    void testRoundTrip() {
+        OffHeapAclCache cache = new OffHeapAclCache(context, 1 << 20, 64 << 10);
+        CompactAcl parent = acl(1L, new ObjectIdentityImpl(Document.class, 10L), null, BOB);
+        CompactAcl child = acl(2L, new ObjectIdentityImpl(Comment.class, 20L), parent, ALICE);
+        parents.put(1L, parent);
+
+        assertThat(cache.put(child)).isTrue();
+
+        MutableAcl byId = cache.get(2L, parents::get);
+        MutableAcl byIdentity = cache.get(new ObjectIdentityImpl(Comment.class, 20L), parents::get);
+        for (MutableAcl read : List.of(byId, byIdentity)) {
+            assertThat(read.getId()).isEqualTo(2L);
+            assertThat(read.getObjectIdentity()).isEqualTo(child.getObjectIdentity());
+            assertThat(read.getOwner()).isEqualTo(ALICE);
+            assertThat(read.getParentAcl()).isSameAs(parent);
+            assertThat(read.isEntriesInheriting()).isFalse();
+            assertThat(describe(read)).isEqualTo(describe(child));
+        }
+        assertThat(cache.get(1L, parents::get).getObjectIdentity()).isEqualTo(parent.getObjectIdentity());
+        assertThat(cache.footprint().acls()).isEqualTo(2);
+
+        parents.clear();
+        assertThat(cache.get(2L, parents::get)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should replace and evict ACLs")
+    void testReplaceAndEvict() {
+        OffHeapAclCache cache = new OffHeapAclCache(context, 1 << 20, 64 << 10);
+        ObjectIdentity oid = new ObjectIdentityImpl(Document.class, 10L);
+        cache.put(acl(1L, oid, null, ALICE));
+        long liveBytes = cache.footprint().liveBytes();
+
+        cache.put(acl(1L, oid, null, BOB));
+        assertThat(cache.get(oid, parents::get).getOwner()).isEqualTo(BOB);
+        assertThat(cache.footprint().liveBytes()).isEqualTo(liveBytes);
+
+        cache.put(acl(3L, oid, null, ALICE));
+        assertThat(cache.get(1L, parents::get)).isNull();
+        assertThat(cache.get(oid, parents::get).getId()).isEqualTo(3L);
+
+        cache.evict(oid);
+        assertThat(cache.get(3L, parents::get)).isNull();
+        assertThat(cache.footprint().acls()).isZero();
+        assertThat(cache.footprint().liveBytes()).isZero();
+
+        cache.put(acl(4L, new ObjectIdentityImpl(Document.class, 11L), null, ALICE));
+        cache.evict(4L);
+        assertThat(cache.get(new ObjectIdentityImpl(Document.class, 11L), parents::get)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest slab once every slab is in use")
+    void testEvictsOldestSlab() {
+        OffHeapAclCache cache = new OffHeapAclCache(context, 4 << 10, 1 << 10);
+        for (long id = 1; id <= 200; id++) {
+            assertThat(cache.put(acl(id, new ObjectIdentityImpl(Document.class, id), null, ALICE))).isTrue();
+        }
+
+        assertThat(cache.get(1L, parents::get)).isNull();
+        assertThat(cache.get(new ObjectIdentityImpl(Document.class, 200L), parents::get)).isNotNull();
+        OffHeapAclCache.Footprint footprint = cache.footprint();
+        assertThat(footprint.acls()).isBetween(1, 199);
+        assertThat(footprint.allocatedBytes()).isEqualTo(4 << 10);
+        assertThat(footprint.liveBytes()).isLessThanOrEqualTo(footprint.allocatedBytes());
+        for (long id = 200; id > 200 - footprint.acls(); id--) {
+            assertThat(cache.get(id, parents::get)).as("ACL %d", id).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not store ACLs outside the record format")
+    void testRejectsUnsupportedAcls() {
+        OffHeapAclCache cache = new OffHeapAclCache(context, 1 << 20, 64 << 10);
+
+        assertThat(cache.put(acl(1L, new ObjectIdentityImpl(Document.class, "draft"), null, ALICE))).isFalse();
+        assertThat(cache.footprint().acls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve heap misses from the off-heap tier and count both tiers")
+    void testTiers() {
+        ConcurrentMapCache heapCache = new ConcurrentMapCache("tieredAclCacheTest");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TieredAclCache cache = new TieredAclCache(new SpringCacheBasedAclCache(heapCache, grantingStrategy, allowAll),
+                new OffHeapAclCache(context, 1 << 20, 64 << 10), meterRegistry);
+        CompactAcl parent = acl(1L, new ObjectIdentityImpl(Document.class, 10L), null, BOB);
+        CompactAcl child = acl(2L, new ObjectIdentityImpl(Comment.class, 20L), parent, ALICE);
+        cache.putInCache(child);
+
+        assertThat(cache.getFromCache(child.getObjectIdentity())).isSameAs(child);
+        heapCache.clear();
+        MutableAcl fromOffHeap = cache.getFromCache(child.getObjectIdentity());
+        assertThat(describe(fromOffHeap)).isEqualTo(describe(child));
+        assertThat(fromOffHeap.getParentAcl().getObjectIdentity()).isEqualTo(parent.getObjectIdentity());
+        assertThat(cache.getFromCache(2L)).isSameAs(fromOffHeap);
+
+        cache.evictFromCache(child.getObjectIdentity());
+        assertThat(cache.getFromCache(2L)).isNull();
+
+        assertThat(count(meterRegistry, "l1", "hit")).isEqualTo(2);
+        assertThat(count(meterRegistry, "l1", "miss")).isEqualTo(3);
+        assertThat(count(meterRegistry, "l2", "hit")).isEqualTo(2);
+        assertThat(count(meterRegistry, "l2", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("acl.cache.size").tag("tier", "l2").gauge().value()).isEqualTo(1);
+    }
+
+    private CompactAcl acl(long id, ObjectIdentity oid, Acl parent, Sid owner) {
+        int ownerId = sidDictionary.id(owner);
+        return new CompactAcl(context, oid, id, parent, false, owner, new long[]{id * 10, id * 10 + 5},
+                new int[]{ownerId, sidDictionary.id(ENGINEERING)},
+                new int[]{BasePermission.WRITE.getMask(), CustomAclPermission.APPROVE.getMask()},
+                new byte[]{CompactAcl.flags(true, true, false), CompactAcl.flags(false, false, true)});
+    }
+
+    private static List<String> describe(Acl acl) {
+        return acl.getEntries().stream()
+                .map(AuditableAccessControlEntry.class::cast)
+                .map(ace -> ace.getId() + ":" + ace.getSid() + ":" + ace.getPermission().getMask() + ":" + ace.isGranting()
+                        + ":" + ace.isAuditSuccess() + ":" + ace.isAuditFailure())
+                .toList();
+    }
+
+    private static double count(SimpleMeterRegistry meterRegistry, String tier, String result) {
+        return meterRegistry.get("acl.cache.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Document;
+import com.example.acl.service.AclBatchLoader;
+import com.example.acl.service.AclPermissionRegistry;
+import com.example.acl.service.AclPermissionService;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ConsoleAuditLogger;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
+import org.springframework.security.acls.jdbc.BasicLookupStrategy;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Round trips and latency of cold lookups of leaf ACLs at the end of parent chains of growing depth,
+ * for {@link BasicLookupStrategy} and {@link RecursiveLookupStrategy}. Every lookup starts from an empty cache.
+ * Run with {@code mvn test -Dtest=RecursiveLookupStrategyBenchmark -Dacl.benchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "acl.benchmark", matches = "true")
+@DisplayName("Recursive Lookup Strategy Benchmark")
+class RecursiveLookupStrategyBenchmark {
+
+    private static final int LEAVES = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclAuthorizationStrategy aclAuthorizationStrategy;
+
+    @Autowired
+    private PermissionGrantingStrategy grantingStrategy;
+
+    @Autowired
+    private AclPermissionRegistry permissionRegistry;
+
+    @Autowired
+    private SidDictionary sidDictionary;
+
+    @Test
+    @DisplayName("Should report round trips and latency per hierarchy depth")
+    void benchmark() {
+        long nextId = 90_000L;
+        for (int depth : new int[]{1, 2, 4, 8}) {
+            List<ObjectIdentity> leaves = new ArrayList<>();
+            for (int leaf = 0; leaf < LEAVES; leaf++) {
+                leaves.add(chain(nextId, depth));
+                nextId += depth;
+            }
+            StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+            report(depth, "basic", leaves, counting, cache -> {
+                BasicLookupStrategy basic = new BasicLookupStrategy(counting, cache, aclAuthorizationStrategy, new ConsoleAuditLogger());
+                basic.setPermissionFactory(permissionRegistry);
+                basic.setBatchSize(AclBatchLoader.BATCH_SIZE);
+                return basic;
+            });
+            report(depth, "recursive", leaves, counting, cache -> new RecursiveLookupStrategy(counting, cache,
+                    aclAuthorizationStrategy, grantingStrategy, permissionRegistry, sidDictionary, AclBatchLoader.BATCH_SIZE));
+        }
+    }
+
+    private void report(int depth, String name, List<ObjectIdentity> leaves, StatementCountingDataSource counting,
+                        Function<AclCache, LookupStrategy> strategies) {
+        for (int i = 0; i < WARMUP; i++) {
+            strategies.apply(newCache()).readAclsById(leaves, List.of());
+        }
+        counting.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            strategies.apply(newCache()).readAclsById(leaves, List.of());
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        System.out.printf("depth %d, %d leaves, %-9s: %d round trips, %.2f ms per lookup%n",
+                depth, leaves.size(), name, counting.statements() / ITERATIONS, millis);
+    }
+
+    /**
+     * A chain of {@code depth} documents, each inheriting from the previous one, with one ACE per level.
+     */
+    private ObjectIdentity chain(long firstId, int depth) {
+        aclPermissionService.grantToUser(Document.class, firstId, "erin", BasePermission.READ);
+        for (int level = 1; level < depth; level++) {
+            aclPermissionService.setParent(Document.class, firstId + level, Document.class, firstId + level - 1, true);
+            aclPermissionService.grantToUser(Document.class, firstId + level, "erin", BasePermission.WRITE);
+        }
+        return new ObjectIdentityImpl(Document.class, firstId + depth - 1);
+    }
+
+    private AclCache newCache() {
+        return new SpringCacheBasedAclCache(new ConcurrentMapCache("benchmark"), grantingStrategy, aclAuthorizationStrategy);
+    }
+}
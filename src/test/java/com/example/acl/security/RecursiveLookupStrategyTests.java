@@ -0,0 +1,189 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.service.AclBatchLoader;
+import com.example.acl.service.AclPermissionRegistry;
+import com.example.acl.service.AclPermissionService;
+import com.example.acl.service.SidDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ConsoleAuditLogger;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.SpringCacheBasedAclCache;
+import org.springframework.security.acls.jdbc.BasicLookupStrategy;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("Recursive Lookup Strategy Tests")
+class RecursiveLookupStrategyTests {
+
+    private static final ObjectIdentity PROJECT = new ObjectIdentityImpl(Project.class, 81_001L);
+    private static final ObjectIdentity DOCUMENT = new ObjectIdentityImpl(Document.class, 81_002L);
+    private static final ObjectIdentity COMMENT = new ObjectIdentityImpl(Comment.class, 81_003L);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclAuthorizationStrategy aclAuthorizationStrategy;
+
+    @Autowired
+    private PermissionGrantingStrategy grantingStrategy;
+
+    @Autowired
+    private AclPermissionRegistry permissionRegistry;
+
+    @Autowired
+    private SidDictionary sidDictionary;
+
+    @Test
+    @DisplayName("Should load an ACL with all of its ancestors in one statement and cache every level")
+    void testAncestorsInOneStatement() {
+        createHierarchy();
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        AclCache cache = newCache();
+
+        Map<ObjectIdentity, Acl> acls = recursive(counting, cache).readAclsById(List.of(COMMENT), List.of());
+
+        assertThat(counting.statements()).isEqualTo(1);
+        Acl comment = acls.get(COMMENT);
+        assertThat(comment.getParentAcl().getObjectIdentity()).isEqualTo(DOCUMENT);
+        assertThat(comment.getParentAcl().getParentAcl().getObjectIdentity()).isEqualTo(PROJECT);
+        assertThat(cache.getFromCache(COMMENT)).isSameAs(comment);
+        assertThat(cache.getFromCache(DOCUMENT)).isSameAs(comment.getParentAcl());
+        assertThat(cache.getFromCache(PROJECT)).isSameAs(comment.getParentAcl().getParentAcl());
+        assertThat(comment.isGranted(List.of(BasePermission.WRITE), List.of(sidDictionary.principal("erin")), false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reuse cached ancestors instead of rebuilding them")
+    void testCachedAncestorsReused() {
+        createHierarchy();
+        AclCache cache = newCache();
+        RecursiveLookupStrategy strategy = recursive(dataSource, cache);
+        Acl project = strategy.readAclsById(List.of(PROJECT), List.of()).get(PROJECT);
+
+        Acl comment = strategy.readAclsById(List.of(COMMENT), List.of()).get(COMMENT);
+
+        assertThat(comment.getParentAcl().getParentAcl()).isSameAs(project);
+    }
+
+    @Test
+    @DisplayName("Should build the same ACLs as BasicLookupStrategy")
+    void testMatchesBasicLookupStrategy() {
+        createHierarchy();
+        List<ObjectIdentity> oids = jdbcTemplate.query("""
+                SELECT ac.class, oi.object_id_identity FROM acl_object_identity oi
+                JOIN acl_class ac ON ac.id = oi.object_id_class
+                """, (rs, rowNum) -> new ObjectIdentityImpl(rs.getString(1), Long.valueOf(rs.getString(2))));
+        BasicLookupStrategy basic = new BasicLookupStrategy(dataSource, newCache(), aclAuthorizationStrategy, new ConsoleAuditLogger());
+        basic.setPermissionFactory(permissionRegistry);
+        basic.setBatchSize(AclBatchLoader.BATCH_SIZE);
+
+        Map<ObjectIdentity, Acl> expected = basic.readAclsById(oids, List.of());
+        Map<ObjectIdentity, Acl> actual = recursive(dataSource, newCache()).readAclsById(oids, List.of());
+
+        assertThat(actual).hasSameSizeAs(oids);
+        for (ObjectIdentity oid : oids) {
+            assertThat(describe(actual.get(oid))).as("%s", oid).isEqualTo(describe(expected.get(oid)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert identifiers to the class id type")
+    void testClassIdType() {
+        UUID uuid = UUID.randomUUID();
+        ObjectIdentity oid = new ObjectIdentityImpl("com.example.acl.domain.Attachment", uuid);
+        jdbcTemplate.update("INSERT INTO acl_class (class, class_id_type) VALUES (?, ?)", oid.getType(), UUID.class.getName());
+        jdbcTemplate.update("""
+                INSERT INTO acl_object_identity (object_id_class, object_id_identity, parent_object, owner_sid, entries_inheriting)
+                SELECT ac.id, ?, NULL, NULL, TRUE FROM acl_class ac WHERE ac.class = ?
+                """, uuid.toString(), oid.getType());
+
+        Acl acl = recursive(dataSource, newCache()).readAclsById(List.of(oid), List.of()).get(oid);
+
+        assertThat(acl.getObjectIdentity().getIdentifier()).isEqualTo(uuid);
+    }
+
+    @Test
+    @DisplayName("Should reject a parent chain that forms a cycle")
+    void testParentCycle() {
+        createHierarchy();
+        jdbcTemplate.update("""
+                UPDATE acl_object_identity SET parent_object = (
+                    SELECT oi.id FROM acl_object_identity oi JOIN acl_class ac ON ac.id = oi.object_id_class
+                    WHERE ac.class = ? AND oi.object_id_identity = ?)
+                WHERE id = (SELECT oi.id FROM acl_object_identity oi JOIN acl_class ac ON ac.id = oi.object_id_class
+                    WHERE ac.class = ? AND oi.object_id_identity = ?)
+                """, COMMENT.getType(), COMMENT.getIdentifier().toString(), PROJECT.getType(), PROJECT.getIdentifier().toString());
+
+        assertThatThrownBy(() -> recursive(dataSource, newCache()).readAclsById(List.of(COMMENT), List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cycle");
+    }
+
+    private void createHierarchy() {
+        aclPermissionService.setParent(Document.class, DOCUMENT.getIdentifier(), Project.class, PROJECT.getIdentifier(), true);
+        aclPermissionService.setParent(Comment.class, COMMENT.getIdentifier(), Document.class, DOCUMENT.getIdentifier(), true);
+        aclPermissionService.grantToUser(Project.class, PROJECT.getIdentifier(), "erin", BasePermission.WRITE);
+        aclPermissionService.grantToUser(Document.class, DOCUMENT.getIdentifier(), "erin", BasePermission.READ);
+        aclPermissionService.grantToUser(Comment.class, COMMENT.getIdentifier(), "frank", BasePermission.READ, BasePermission.DELETE);
+    }
+
+    private RecursiveLookupStrategy recursive(DataSource source, AclCache cache) {
+        return new RecursiveLookupStrategy(source, cache, aclAuthorizationStrategy, grantingStrategy, permissionRegistry,
+                sidDictionary, AclBatchLoader.BATCH_SIZE);
+    }
+
+    private AclCache newCache() {
+        return new SpringCacheBasedAclCache(new ConcurrentMapCache("test"), grantingStrategy, aclAuthorizationStrategy);
+    }
+
+    private String describe(Acl acl) {
+        if (acl == null) {
+            return "none";
+        }
+        String entries = acl.getEntries().stream()
+                .map(ace -> describe(ace))
+                .collect(Collectors.joining(", "));
+        return acl.getObjectIdentity() + " owner=" + acl.getOwner() + " inheriting=" + acl.isEntriesInheriting()
+                + " [" + entries + "] parent=" + describe(acl.getParentAcl());
+    }
+
+    private String describe(AccessControlEntry ace) {
+        return ace.getId() + ":" + ace.getSid() + ":" + ace.getPermission().getMask() + ":" + ace.isGranting();
+    }
+}
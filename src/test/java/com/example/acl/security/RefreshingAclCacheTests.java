@@ -0,0 +1,139 @@
+package com.example.acl.security;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Refreshing ACL Cache Tests")
+class RefreshingAclCacheTests {
+
+    private static final ObjectIdentity DOCUMENT = new ObjectIdentityImpl(Document.class, 1L);
+    private static final ObjectIdentity COMMENT = new ObjectIdentityImpl(Comment.class, 2L);
+
+    private final DefaultPermissionGrantingStrategy grantingStrategy = new DefaultPermissionGrantingStrategy((granted, ace) -> {
+    });
+    private final AclAuthorizationStrategy allowAll = (acl, changeType) -> { };
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should run one load for concurrent misses on the same object")
+    void testSingleFlight() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingAclCache cache = cache((objects, sids) -> {
+            loading.countDown();
+            await(release);
+            return load(objects);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<ObjectIdentity, Acl>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.lookupStrategy().readAclsById(List.of(DOCUMENT), null)));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            Acl first = results.get(0).get(5, TimeUnit.SECONDS).get(DOCUMENT);
+            for (Future<Map<ObjectIdentity, Acl>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).get(DOCUMENT)).isSameAs(first);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the old ACL while it is reloaded in the background")
+    void testRefreshAhead() {
+        RefreshingAclCache cache = cache((objects, sids) -> load(objects));
+        Acl first = cache.lookupStrategy().readAclsById(List.of(DOCUMENT), null).get(DOCUMENT);
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(cache.lookupStrategy().readAclsById(List.of(DOCUMENT), null).get(DOCUMENT)).isSameAs(first);
+        assertThat(cache.getFromCache(DOCUMENT)).isSameAs(first);
+        assertThat(refreshes).hasSize(1);
+        assertThat(loads).hasValue(1);
+
+        refreshes.forEach(Runnable::run);
+        Acl reloaded = cache.getFromCache(DOCUMENT);
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.getObjectIdentity()).isEqualTo(DOCUMENT);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should cache loaded ancestors and evict by primary key")
+    void testAncestorsAndEviction() {
+        RefreshingAclCache cache = cache((objects, sids) -> load(objects));
+
+        Map<ObjectIdentity, Acl> acls = cache.lookupStrategy().readAclsById(List.of(COMMENT, new ObjectIdentityImpl(Document.class, 99L)), null);
+
+        assertThat(acls).containsOnlyKeys(COMMENT);
+        assertThat(cache.getFromCache(DOCUMENT)).isSameAs(acls.get(COMMENT).getParentAcl());
+        assertThat(cache.getFromCache(1L)).isSameAs(cache.getFromCache(DOCUMENT));
+
+        cache.evictFromCache(1L);
+        assertThat(cache.getFromCache(DOCUMENT)).isNull();
+        assertThat(cache.getFromCache(COMMENT)).isNotNull();
+        cache.clearCache();
+        assertThat(cache.getFromCache(2L)).isNull();
+    }
+
+    private RefreshingAclCache cache(LookupStrategy loader) {
+        return new RefreshingAclCache(loader, 100, Duration.ofMinutes(1), Duration.ofMinutes(15), refreshes::add, nanos::get);
+    }
+
+    /**
+     * Fresh ACLs for the known objects: the document, and the comment under it; others have none.
+     */
+    private Map<ObjectIdentity, Acl> load(List<ObjectIdentity> objects) {
+        loads.incrementAndGet();
+        Map<ObjectIdentity, Acl> acls = new HashMap<>();
+        AclImpl document = new AclImpl(DOCUMENT, 1L, allowAll, grantingStrategy, null, null, true, new PrincipalSid("alice"));
+        for (ObjectIdentity object : objects) {
+            if (object.equals(DOCUMENT)) {
+                acls.put(object, document);
+            } else if (object.equals(COMMENT)) {
+                acls.put(object, new AclImpl(COMMENT, 2L, allowAll, grantingStrategy, document, null, true, new PrincipalSid("bob")));
+            }
+        }
+        return acls;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.acl.security;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test DataSource on the current transaction's connection that counts the statements prepared through it,
+ * i.e. database round trips of a lookup strategy.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final AtomicInteger statements = new AtomicInteger();
+
+    public StatementCountingDataSource(DataSource dataSource) {
+        super(new TransactionAwareDataSourceProxy(dataSource));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                        statements.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public void reset() {
+        statements.set(0);
+    }
+}
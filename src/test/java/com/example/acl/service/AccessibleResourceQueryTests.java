@@ -0,0 +1,125 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.CommentRepository;
+import com.example.acl.repository.DocumentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.acl.TestAuthentication.runAsAdmin;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL-Constrained Query Tests")
+class AccessibleResourceQueryTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Admin query should return every row")
+    void testAdminMatchesPostFilter() {
+        assertQueriesMatchPostFilter();
+        assertThat(documentService.getAccessibleDocuments(Pageable.unpaged()).getTotalElements())
+                .isEqualTo(documentRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = "alice", authorities = {"ROLE_MANAGER", "GROUP_ENGINEERING"})
+    @DisplayName("Owner query should match @PostFilter results")
+    void testOwnerMatchesPostFilter() {
+        assertQueriesMatchPostFilter();
+    }
+
+    @Test
+    @WithMockUser(username = "bob", authorities = {"ROLE_MEMBER", "GROUP_ENGINEERING"})
+    @DisplayName("Group member query should match @PostFilter results")
+    void testGroupMemberMatchesPostFilter() {
+        assertQueriesMatchPostFilter();
+    }
+
+    @Test
+    @WithMockUser(username = "carol", authorities = {"ROLE_MEMBER", "GROUP_MARKETING"})
+    @DisplayName("Other group query should match @PostFilter results")
+    void testOtherGroupMatchesPostFilter() {
+        assertQueriesMatchPostFilter();
+    }
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"VIEWER"})
+    @DisplayName("Direct and inherited ACL grants should be found by the query")
+    void testAclGrantsMatchPostFilter() {
+        Document bobDocument = documentRepository.findAll().stream()
+                .filter(d -> d.getTitle().equals("Bob's Private Notes"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(titles(documentService.getAccessibleDocuments(Pageable.unpaged()))).doesNotContain("Bob's Private Notes");
+
+        runAsAdmin(() -> aclPermissionService.grantToUser(Document.class, bobDocument.getId(), "dave", BasePermission.READ));
+
+        assertThat(titles(documentService.getAccessibleDocuments(Pageable.unpaged()))).contains("Bob's Private Notes");
+        assertThat(commentService.getAccessibleComments(Pageable.unpaged()).getContent())
+                .containsAll(commentRepository.findByDocument(bobDocument));
+        assertQueriesMatchPostFilter();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("Query should paginate on the server")
+    void testPagination() {
+        List<Project> all = projectService.getAccessibleProjects(Pageable.unpaged()).getContent();
+
+        Page<Project> first = projectService.getAccessibleProjects(PageRequest.of(0, 1));
+        Page<Project> second = projectService.getAccessibleProjects(PageRequest.of(1, 1));
+
+        assertThat(first.getContent()).containsExactly(all.get(0));
+        assertThat(second.getContent()).containsExactly(all.get(1));
+        assertThat(first.getTotalElements()).isEqualTo(all.size());
+    }
+
+    private void assertQueriesMatchPostFilter() {
+        assertThat(projectService.getAccessibleProjects(Pageable.unpaged()).getContent())
+                .containsExactlyInAnyOrderElementsOf(projectService.getAllProjects());
+        assertThat(documentService.getAccessibleDocuments(Pageable.unpaged()).getContent())
+                .containsExactlyInAnyOrderElementsOf(documentService.getAllDocuments());
+        List<Comment> comments = commentService.getAllComments();
+        assertThat(commentService.getAccessibleComments(Pageable.unpaged()).getContent())
+                .containsExactlyInAnyOrderElementsOf(comments);
+    }
+
+    private List<String> titles(Page<Document> documents) {
+        return documents.map(Document::getTitle).getContent();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.repository.ProjectRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.acl.TestAuthentication.runAsAdmin;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Batch Loading Tests")
+class AclBatchLoadingTests {
+
+    @Autowired
+    private AclBatchLoader aclBatchLoader;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Test
+    @DisplayName("Should load existing ACLs in batches and skip identities without an ACL")
+    void testReadAclsSkipsMissingIdentities() {
+        List<ObjectIdentity> oids = new ArrayList<>();
+        projectRepository.findAll().forEach(project -> oids.add(new ObjectIdentityImpl(Project.class, project.getId())));
+        ObjectIdentity missing = new ObjectIdentityImpl(Project.class, 424242L);
+        oids.add(missing);
+
+        Map<ObjectIdentity, Acl> acls = aclBatchLoader.readAcls(oids, List.of());
+
+        assertThat(acls).hasSize(oids.size() - 1);
+        assertThat(acls).doesNotContainKey(missing);
+    }
+
+    @Test
+    @DisplayName("Should load more identities than one lookup batch")
+    void testReadAclsAcrossSeveralBatches() {
+        List<ObjectIdentity> oids = new ArrayList<>();
+        for (long id = 20_000; id < 20_000 + AclBatchLoader.BATCH_SIZE + 10; id++) {
+            aclPermissionService.ensureAcl(Document.class, id);
+            oids.add(new ObjectIdentityImpl(Document.class, id));
+        }
+
+        Map<ObjectIdentity, Acl> acls = aclBatchLoader.readAcls(oids, List.of());
+
+        assertThat(acls.keySet()).containsExactlyInAnyOrderElementsOf(oids);
+    }
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"VIEWER"})
+    @DisplayName("Should filter collections against batch loaded ACLs")
+    void testPostFilterUsesBatchLoadedAcls() {
+        Document bobDocument = documentRepository.findAll().stream()
+                .filter(d -> d.getTitle().equals("Bob's Private Notes"))
+                .findFirst()
+                .orElseThrow();
+
+        List<String> before = documentService.getAllDocuments().stream().map(Document::getTitle).toList();
+        assertThat(before).containsExactly("Getting Started Guide");
+
+        runAsAdmin(() -> aclPermissionService.grantToUser(Document.class, bobDocument.getId(), "dave", BasePermission.READ));
+
+        List<String> after = documentService.getAllDocuments().stream().map(Document::getTitle).toList();
+        assertThat(after).containsExactlyInAnyOrder("Getting Started Guide", "Bob's Private Notes");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Startup runs the bulk bootstrap (with tiny pages here) on a database of its own, so ACLs committed by other test
+ * classes do not show up; the incremental bootstrap is replayed on the wiped ACL tables for comparison. The
+ * context is discarded afterwards since the replay leaves the ACL caches warm.
+ */
+@SpringBootTest(properties = {
+        "acl.bootstrap.page-size=2",
+        "spring.datasource.url=jdbc:h2:mem:bootstrapdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=LEGACY"
+})
+@ActiveProfiles("test")
+@Transactional
+@DirtiesContext
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Bulk Bootstrap Service Tests")
+class AclBulkBootstrapServiceTests {
+
+    private static final String ACLS = """
+            SELECT ac.class, oi.object_id_identity, owner.sid, pc.class, parent.object_id_identity, oi.entries_inheriting,
+                   (SELECT LISTAGG(s.sid || ':' || e.mask || ':' || e.granting, ',') WITHIN GROUP (ORDER BY s.sid, e.mask)
+                    FROM acl_entry e JOIN acl_sid s ON s.id = e.sid WHERE e.acl_object_identity = oi.id)
+            FROM acl_object_identity oi
+            JOIN acl_class ac ON ac.id = oi.object_id_class
+            LEFT JOIN acl_sid owner ON owner.id = oi.owner_sid
+            LEFT JOIN acl_object_identity parent ON parent.id = oi.parent_object
+            LEFT JOIN acl_class pc ON pc.id = parent.object_id_class
+            ORDER BY ac.class, oi.object_id_identity
+            """;
+
+    private static final String EFFECTIVE = """
+            SELECT ac.class, ep.object_id, s.sid, ep.mask FROM acl_effective_permission ep
+            JOIN acl_class ac ON ac.id = ep.class_id
+            JOIN acl_sid s ON s.id = ep.sid_id
+            ORDER BY ac.class, ep.object_id, s.sid, ep.mask
+            """;
+
+    @Autowired
+    private AclBulkBootstrapService bulkBootstrapService;
+
+    @Autowired
+    private AclInitializationService initializationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AclCache aclCache;
+
+    @Autowired
+    private AclAuditLogStore auditLogStore;
+
+    @Test
+    @DisplayName("Should create the same ACLs and effective permissions as the incremental bootstrap")
+    void testMatchesIncrementalBootstrap() {
+        List<String> bulkAcls = rows(ACLS);
+        List<String> bulkEffective = rows(EFFECTIVE);
+        long objects = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM projects) + (SELECT COUNT(*) FROM documents) + (SELECT COUNT(*) FROM comments)", Long.class);
+        assertThat(bulkAcls).hasSize((int) objects);
+
+        jdbcTemplate.update("DELETE FROM acl_effective_permission");
+        jdbcTemplate.update("DELETE FROM acl_entry");
+        jdbcTemplate.update("UPDATE acl_object_identity SET parent_object = NULL");
+        jdbcTemplate.update("DELETE FROM acl_object_identity");
+        aclCache.clearCache();
+        initializationService.bootstrapAclEntries();
+
+        assertThat(rows(ACLS)).isEqualTo(bulkAcls);
+        assertThat(rows(EFFECTIVE)).isEqualTo(bulkEffective);
+    }
+
+    @Test
+    @DisplayName("Should audit the startup bootstrap with one entry per domain class")
+    void testAuditSummary() {
+        List<AclAuditLogEntry> summaries = auditLogStore.findAll().stream()
+                .filter(entry -> entry.objectId().equals("*"))
+                .toList();
+
+        assertThat(summaries).extracting(AclAuditLogEntry::domainType).containsExactly(
+                Project.class.getName(), Document.class.getName(), Comment.class.getName());
+        assertThat(summaries).allSatisfy(entry -> {
+            assertThat(entry.operation()).isEqualTo(AclAuditOperation.CREATE);
+            assertThat(entry.actor()).isEqualTo("admin");
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave existing ACLs alone when run again")
+    void testRerunCreatesNothing() {
+        List<String> before = rows(ACLS);
+
+        AclBulkBootstrapService.Report report = bulkBootstrapService.bootstrap("admin");
+
+        assertThat(report.aclsCreated()).isZero();
+        assertThat(report.objects()).isEqualTo(before.size());
+        assertThat(rows(ACLS)).isEqualTo(before);
+        assertThat(auditLogStore.findAll()).filteredOn(entry -> entry.objectId().equals("*")).hasSize(3);
+    }
+
+    private List<String> rows(String sql) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            StringBuilder row = new StringBuilder();
+            for (int column = 1; column <= rs.getMetaData().getColumnCount(); column++) {
+                row.append(rs.getString(column)).append('|');
+            }
+            return row.toString();
+        });
+    }
+}
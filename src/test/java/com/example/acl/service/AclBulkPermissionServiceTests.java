@@ -0,0 +1,140 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.service.AclBulkPermissionService.BulkResult;
+import com.example.acl.service.AclBulkPermissionService.ItemResult;
+import com.example.acl.service.AclBulkPermissionService.Outcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.acl.TestAuthentication.runAsAdmin;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@RecordApplicationEvents
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Bulk Permission Service Tests")
+class AclBulkPermissionServiceTests {
+
+    private static final Authentication GRACE = UsernamePasswordAuthenticationToken.authenticated(
+            "grace", null, AuthorityUtils.createAuthorityList("ROLE_MEMBER"));
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private MutableAclService aclService;
+
+    @Autowired
+    private AclEffectivePermissionStore effectivePermissionStore;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    @DisplayName("Should grant in bulk, creating missing ACLs and skipping existing grants")
+    void testBulkGrant() {
+        Sid grace = sidResolver.principalSid("grace");
+        aclPermissionService.grantToUser(Document.class, 9301L, "frank", BasePermission.WRITE);
+        aclPermissionService.grantToUser(Document.class, 9302L, "grace", BasePermission.READ);
+        assertThat(aclPermissionService.hasPermission(GRACE, Document.class, 9301L, BasePermission.READ)).isFalse();
+        long singleEvents = events.stream(AclPermissionChangeEvent.class).count();
+
+        BulkResult result = aclPermissionService.bulkGrant(Document.class, List.of(9301L, 9302L, 9303L, 9301L), grace,
+                List.of(BasePermission.READ));
+
+        assertThat(result.items()).containsExactly(
+                new ItemResult(9301L, Outcome.GRANTED, false),
+                new ItemResult(9302L, Outcome.UNCHANGED, false),
+                new ItemResult(9303L, Outcome.GRANTED, true));
+        assertThat(result.changed()).isEqualTo(2);
+        for (long id : List.of(9301L, 9302L, 9303L)) {
+            assertThat(aclPermissionService.hasPermission(GRACE, Document.class, id, BasePermission.READ)).as("%d", id).isTrue();
+            assertThat(effectivePermissionStore.effectiveGrants(List.of(grace), new ObjectIdentityImpl(Document.class, id)).orElseThrow().masks())
+                    .containsExactly(BasePermission.READ.getMask());
+        }
+        var entries = aclService.readAclById(new ObjectIdentityImpl(Document.class, 9301L)).getEntries();
+        assertThat(entries).extracting(ace -> ace.getSid()).containsExactly(sidResolver.principalSid("frank"), grace);
+        assertThat(aclService.readAclById(new ObjectIdentityImpl(Document.class, 9303L)).getOwner())
+                .isEqualTo(sidResolver.principalSid("admin"));
+
+        assertThat(events.stream(AclPermissionChangeEvent.class).count()).isEqualTo(singleEvents);
+        assertThat(events.stream(AclBulkPermissionChangeEvent.class))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getIdentifiers()).containsExactly(9301L, 9303L));
+    }
+
+    @Test
+    @DisplayName("Should revoke in bulk and reach descendants inheriting the revoked entries")
+    void testBulkRevoke() {
+        Sid grace = sidResolver.principalSid("grace");
+        aclPermissionService.setParent(Comment.class, 9314L, Document.class, 9311L, true);
+        aclPermissionService.bulkGrant(Document.class, List.of(9311L, 9312L), grace, List.of(BasePermission.READ, BasePermission.WRITE));
+        assertThat(aclPermissionService.hasPermission(GRACE, Comment.class, 9314L, BasePermission.READ)).isTrue();
+
+        BulkResult result = aclPermissionService.bulkRevoke(Document.class, List.of(9311L, 9312L, 9313L), grace,
+                List.of(BasePermission.READ));
+
+        assertThat(result.items()).extracting(ItemResult::outcome)
+                .containsExactly(Outcome.REVOKED, Outcome.REVOKED, Outcome.NOT_FOUND);
+        assertThat(aclPermissionService.hasPermission(GRACE, Document.class, 9311L, BasePermission.READ)).isFalse();
+        assertThat(aclPermissionService.hasPermission(GRACE, Document.class, 9311L, BasePermission.WRITE)).isTrue();
+        assertThat(aclPermissionService.hasPermission(GRACE, Comment.class, 9314L, BasePermission.READ)).isFalse();
+        assertThat(effectivePermissionStore.effectiveGrants(List.of(grace), new ObjectIdentityImpl(Comment.class, 9314L)).orElseThrow().masks())
+                .containsExactly(BasePermission.WRITE.getMask());
+
+        BulkResult again = aclPermissionService.bulkRevoke(Document.class, List.of(9311L), grace, List.of(BasePermission.READ));
+        assertThat(again.items()).extracting(ItemResult::outcome).containsExactly(Outcome.UNCHANGED);
+    }
+
+    @Test
+    @WithMockUser(username = "frank", roles = "MANAGER")
+    @DisplayName("Should skip objects whose ACL the caller may not change")
+    void testBulkChangesCheckedPerObject() {
+        Sid grace = sidResolver.principalSid("grace");
+        runAsAdmin(() -> {
+            aclPermissionService.ensureAcl(Document.class, 9321L);
+            aclPermissionService.grantToUser(Document.class, 9322L, "frank", BasePermission.ADMINISTRATION);
+        });
+
+        BulkResult granted = aclPermissionService.bulkGrant(Document.class, List.of(9321L, 9322L, 9323L), grace,
+                List.of(BasePermission.READ));
+
+        assertThat(granted.items()).containsExactly(
+                new ItemResult(9321L, Outcome.DENIED, false),
+                new ItemResult(9322L, Outcome.GRANTED, false),
+                new ItemResult(9323L, Outcome.GRANTED, true));
+        assertThat(aclPermissionService.hasPermission(GRACE, Document.class, 9321L, BasePermission.READ)).isFalse();
+        assertThat(aclService.readAclById(new ObjectIdentityImpl(Document.class, 9323L)).getOwner())
+                .isEqualTo(sidResolver.principalSid("frank"));
+
+        runAsAdmin(() -> aclPermissionService.grantToUser(Document.class, 9321L, "grace", BasePermission.READ));
+        BulkResult revoked = aclPermissionService.bulkRevoke(Document.class, List.of(9321L, 9322L), grace,
+                List.of(BasePermission.READ));
+
+        assertThat(revoked.items()).extracting(ItemResult::outcome).containsExactly(Outcome.DENIED, Outcome.REVOKED);
+        assertThat(aclPermissionService.hasPermission(GRACE, Document.class, 9321L, BasePermission.READ)).isTrue();
+    }
+}
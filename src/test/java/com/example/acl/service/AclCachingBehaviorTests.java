@@ -13,6 +13,7 @@ import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.security.acls.model.Sid;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
 @ActiveProfiles("test")
 @Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
 @DisplayName("ACL Caching Behavior Tests")
 class AclCachingBehaviorTests {
 
@@ -73,6 +75,23 @@ class AclCachingBehaviorTests {
         assertThat(aclAfter.getEntries().size()).isGreaterThan(aclBefore.getEntries().size());
     }
 
+    @Test
+    @DisplayName("Should hand out a private copy for changes and keep the cached ACL")
+    void testEnsureAclKeepsCachedAcl() {
+        Project project = projectRepository.findAll().stream().findFirst().orElseThrow();
+        ObjectIdentity oid = new ObjectIdentityImpl(Project.class, project.getId());
+        mutableAclService.readAclById(oid);
+        MutableAcl cachedAcl = aclCache.getFromCache(oid);
+        int entries = cachedAcl.getEntries().size();
+
+        MutableAcl acl = aclPermissionService.ensureAcl(Project.class, project.getId());
+        acl.insertAce(0, BasePermission.DELETE, sidResolver.principalSid("testuser"), true);
+
+        assertThat(acl).isNotSameAs(cachedAcl);
+        assertThat(aclCache.getFromCache(oid)).isSameAs(cachedAcl);
+        assertThat(cachedAcl.getEntries()).hasSize(entries);
+    }
+
     @Test
     @DisplayName("Should manually evict cache")
     void testManualCacheEviction() {
@@ -0,0 +1,93 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Decision Cache Tests")
+class AclDecisionCacheTests {
+
+    private static final Authentication ERIN = UsernamePasswordAuthenticationToken.authenticated(
+            "erin", null, AuthorityUtils.createAuthorityList("ROLE_MEMBER"));
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclDecisionCache decisionCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should answer repeated checks from the cache")
+    void testRepeatedChecksHit() {
+        aclPermissionService.ensureAcl(Document.class, 9201L);
+        aclPermissionService.grantToUser(Document.class, 9201L, "erin", BasePermission.READ);
+
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9201L, BasePermission.READ)).isTrue();
+        double hits = hits();
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9201L, BasePermission.READ)).isTrue();
+
+        assertThat(hits() - hits).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop cached decisions when the object's entries change")
+    void testInvalidatedOnChange() {
+        aclPermissionService.ensureAcl(Document.class, 9202L);
+        aclPermissionService.grantToUser(Document.class, 9202L, "erin", BasePermission.READ);
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9202L, BasePermission.READ)).isTrue();
+
+        aclPermissionService.revokeAllForSid(Document.class, 9202L, new PrincipalSid("erin"));
+
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9202L, BasePermission.READ)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop cached decisions of descendants when a parent's entries change")
+    void testDescendantsInvalidated() {
+        aclPermissionService.ensureAcl(Project.class, 9203L);
+        aclPermissionService.ensureAcl(Document.class, 9204L);
+        aclPermissionService.setParent(Document.class, 9204L, Project.class, 9203L, true);
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9204L, BasePermission.WRITE)).isFalse();
+
+        aclPermissionService.grantToUser(Project.class, 9203L, "erin", BasePermission.WRITE);
+
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9204L, BasePermission.WRITE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should cache denials for objects without an ACL until one is created")
+    void testMissingAclInvalidatedOnCreate() {
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9205L, BasePermission.READ)).isFalse();
+
+        aclPermissionService.ensureAcl(Document.class, 9205L);
+        aclPermissionService.grantToUser(Document.class, 9205L, "erin", BasePermission.READ);
+
+        assertThat(decisionCache.isEnabled()).isTrue();
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9205L, BasePermission.READ)).isTrue();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "aclDecisionCache").tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.web.dto.EffectivePermissionsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Effective Permission Store Tests")
+class AclEffectivePermissionStoreTests {
+
+    @Autowired
+    private AclEffectivePermissionStore effectivePermissionStore;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private MutableAclService mutableAclService;
+
+    @Autowired
+    private PermissionDiscoveryService discoveryService;
+
+    @Test
+    @DisplayName("Should push grants and revokes down to inheriting descendants")
+    void testGrantAndRevokePropagateToDescendants() {
+        aclPermissionService.ensureAcl(Project.class, 8001L);
+        aclPermissionService.setParent(Document.class, 8002L, Project.class, 8001L, true);
+        aclPermissionService.setParent(Comment.class, 8003L, Document.class, 8002L, true);
+        List<Sid> sids = List.of(sidResolver.principalSid("erin"));
+
+        aclPermissionService.grantToUser(Project.class, 8001L, "erin", BasePermission.READ, BasePermission.WRITE);
+
+        assertThat(effectivePermissionStore.effectiveGrants(sids, new ObjectIdentityImpl(Comment.class, 8003L)).orElseThrow().masks())
+                .containsExactlyInAnyOrder(BasePermission.READ.getMask(), BasePermission.WRITE.getMask());
+
+        aclPermissionService.revokePermissions(Project.class, 8001L, sidResolver.principalSid("erin"), List.of(BasePermission.WRITE));
+
+        assertThat(effectivePermissionStore.effectiveGrants(sids, new ObjectIdentityImpl(Document.class, 8002L)).orElseThrow().masks())
+                .containsExactly(BasePermission.READ.getMask());
+        assertThat(effectivePermissionStore.effectiveGrants(sids, new ObjectIdentityImpl(Comment.class, 8003L)).orElseThrow().masks())
+                .containsExactly(BasePermission.READ.getMask());
+    }
+
+    @Test
+    @DisplayName("Should tell direct from inherited grants in effective permissions")
+    void testEffectivePermissions() {
+        aclPermissionService.grantToUser(Project.class, 8201L, "erin", BasePermission.READ);
+        aclPermissionService.setParent(Document.class, 8202L, Project.class, 8201L, true);
+        aclPermissionService.setParent(Comment.class, 8203L, Document.class, 8202L, true);
+        aclPermissionService.grantToUser(Document.class, 8202L, "erin", BasePermission.WRITE);
+        Authentication erin = UsernamePasswordAuthenticationToken.authenticated(
+                "erin", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        EffectivePermissionsResponse document = discoveryService.getEffectivePermissions(Document.class, 8202L, erin);
+        assertThat(document.getGrantedPermissions()).containsExactly("WRITE");
+        assertThat(document.getInheritedPermissions()).containsExactly("READ");
+        assertThat(document.getParentResource()).isEqualTo(Project.class.getName() + ":8201");
+
+        EffectivePermissionsResponse comment = discoveryService.getEffectivePermissions(Comment.class, 8203L, erin);
+        assertThat(comment.getGrantedPermissions()).isEmpty();
+        assertThat(comment.getInheritedPermissions()).containsExactly("READ", "WRITE");
+        assertThat(comment.isHasAccess()).isTrue();
+
+        assertThat(discoveryService.getEffectivePermissions(Comment.class, 8299L, erin).isHasAccess()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop inherited grants when inheritance is switched off")
+    void testInheritanceSwitchedOff() {
+        aclPermissionService.grantToUser(Project.class, 8101L, "erin", BasePermission.READ);
+        aclPermissionService.setParent(Document.class, 8102L, Project.class, 8101L, true);
+        aclPermissionService.grantToUser(Document.class, 8102L, "erin", BasePermission.WRITE);
+        List<Sid> sids = List.of(sidResolver.principalSid("erin"));
+
+        aclPermissionService.setParent(Document.class, 8102L, Project.class, 8101L, false);
+
+        assertThat(effectivePermissionStore.effectiveGrants(sids, new ObjectIdentityImpl(Document.class, 8102L)).orElseThrow().masks())
+                .containsExactly(BasePermission.WRITE.getMask());
+    }
+
+    @Test
+    @DisplayName("Should let a deny on the child hide the grant inherited from the parent")
+    void testDenyMasksInheritedGrant() {
+        aclPermissionService.grantToUser(Project.class, 8301L, "erin", BasePermission.READ, BasePermission.WRITE);
+        aclPermissionService.setParent(Document.class, 8302L, Project.class, 8301L, true);
+        aclPermissionService.setParent(Comment.class, 8303L, Document.class, 8302L, true);
+        Sid erin = sidResolver.principalSid("erin");
+        MutableAcl document = aclPermissionService.ensureAcl(Document.class, 8302L);
+        document.insertAce(0, BasePermission.READ, erin, false);
+        document.insertAce(1, BasePermission.DELETE, erin, false);
+        mutableAclService.updateAcl(document);
+        effectivePermissionStore.refresh(document.getId());
+        // Appended behind the deny, so the deny still comes first
+        aclPermissionService.grantToUser(Document.class, 8302L, "erin", BasePermission.DELETE);
+
+        for (ObjectIdentityImpl oid : List.of(new ObjectIdentityImpl(Document.class, 8302L), new ObjectIdentityImpl(Comment.class, 8303L))) {
+            assertThat(effectivePermissionStore.effectiveGrants(List.of(erin), oid).orElseThrow().masks())
+                    .as(oid.toString())
+                    .containsExactly(BasePermission.WRITE.getMask());
+        }
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                "erin", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        assertThat(aclPermissionService.hasPermission(authentication, Comment.class, 8303L, BasePermission.READ)).isFalse();
+        assertThat(aclPermissionService.hasPermission(authentication, Document.class, 8302L, BasePermission.DELETE)).isFalse();
+        assertThat(aclPermissionService.hasPermission(authentication, Comment.class, 8303L, BasePermission.WRITE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should agree with ACL evaluation for seeded documents")
+    void testMatchesAclEvaluation() {
+        for (String username : List.of("alice", "bob", "carol", "dave")) {
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    username, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+            List<Sid> sids = sidResolver.authenticationSids(authentication);
+
+            Set<Long> readable = effectivePermissionStore.grantsByObject(sids, Document.class).stream()
+                    .filter(grant -> grant.masks().contains(BasePermission.READ.getMask()))
+                    .map(AclEffectivePermissionStore.ObjectGrants::objectId)
+                    .collect(Collectors.toSet());
+
+            documentRepository.findAll().forEach(document -> assertThat(readable.contains(document.getId()))
+                    .as("%s READ on document %d", username, document.getId())
+                    .isEqualTo(aclPermissionService.hasPermission(authentication, Document.class, document.getId(), BasePermission.READ)));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.security.NegativeCachingLookupStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Negative Cache Tests")
+class AclNegativeCacheTests {
+
+    @Autowired
+    private NegativeCachingLookupStrategy lookupStrategy;
+
+    @Autowired
+    private MutableAclService aclService;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    private final Authentication bob = UsernamePasswordAuthenticationToken.authenticated(
+            "bob", null, AuthorityUtils.createAuthorityList("ROLE_MEMBER"));
+
+    private final Authentication carol = UsernamePasswordAuthenticationToken.authenticated(
+            "carol", null, AuthorityUtils.createAuthorityList("ROLE_MEMBER"));
+
+    @Test
+    @DisplayName("Should answer repeated probes of an ACL-less object from the negative cache")
+    void testRepeatedMissIsCached() {
+        ObjectIdentity oid = new ObjectIdentityImpl(Document.class, 60_001L);
+        long hitsBefore = lookupStrategy.stats().hitCount();
+
+        assertThat(aclPermissionService.hasPermission(bob, Document.class, 60_001L, BasePermission.READ)).isFalse();
+        assertThat(lookupStrategy.cache().getIfPresent(oid)).isTrue();
+        // A different SID list, so the probe reaches the lookup instead of the decision cache
+        assertThat(aclPermissionService.hasPermission(carol, Document.class, 60_001L, BasePermission.READ)).isFalse();
+        assertThatThrownBy(() -> aclService.readAclById(oid)).isInstanceOf(NotFoundException.class);
+
+        assertThat(lookupStrategy.stats().hitCount() - hitsBefore).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should forget a cached miss once the ACL is created")
+    void testCreateInvalidatesMiss() {
+        ObjectIdentity oid = new ObjectIdentityImpl(Document.class, 60_002L);
+        assertThat(aclPermissionService.hasPermission(bob, Document.class, 60_002L, BasePermission.READ)).isFalse();
+
+        aclPermissionService.grantToUser(Document.class, 60_002L, "bob", BasePermission.READ);
+
+        assertThat(lookupStrategy.cache().getIfPresent(oid)).isNull();
+        assertThat(aclPermissionService.hasPermission(bob, Document.class, 60_002L, BasePermission.READ)).isTrue();
+    }
+}
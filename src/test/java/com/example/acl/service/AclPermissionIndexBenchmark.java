@@ -0,0 +1,88 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Footprint and query latency of {@link AclPermissionIndex} at 1M objects and 10k SIDs.
+ * Run with {@code mvn test -Dtest=AclPermissionIndexBenchmark -Dacl.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "acl.benchmark", matches = "true")
+@DisplayName("ACL Permission Index Benchmark")
+class AclPermissionIndexBenchmark {
+
+    private static final int OBJECTS = 1_000_000;
+    private static final int PRINCIPALS = 9_900;
+    private static final int GROUPS = 100;
+    private static final int QUERIES = 1_000;
+
+    @Test
+    @DisplayName("Should report footprint and latency for 1M objects and 10k SIDs")
+    void benchmark() {
+        AclPermissionIndex index = new AclPermissionIndex(null, new SidDictionary(null), null, new SimpleMeterRegistry());
+        Random random = new Random(42);
+        String type = Document.class.getName();
+
+        long start = System.nanoTime();
+        for (int id = 1; id <= OBJECTS; id++) {
+            Sid author = principal(random.nextInt(PRINCIPALS));
+            index.add(author, type, BasePermission.READ.getMask(), id);
+            index.add(author, type, BasePermission.WRITE.getMask(), id);
+            index.add(group(random.nextInt(GROUPS)), type, BasePermission.READ.getMask(), id);
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        AclPermissionIndex.Footprint footprint = index.footprint();
+        System.out.printf("index: %d bitmaps, %d object ids, %.1f MB, loaded in %d ms%n",
+                footprint.bitmaps(), footprint.objectIds(), footprint.bytes() / (1024.0 * 1024.0), loadMillis);
+
+        long[] accessibleNanos = new long[QUERIES];
+        long[] pageNanos = new long[QUERIES];
+        long cardinality = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            List<Sid> sids = new ArrayList<>();
+            sids.add(principal(random.nextInt(PRINCIPALS)));
+            for (int g = 0; g < 3; g++) {
+                sids.add(group(random.nextInt(GROUPS)));
+            }
+            long t0 = System.nanoTime();
+            RoaringBitmap ids = index.accessibleIds(sids, Document.class, BasePermission.READ.getMask());
+            long t1 = System.nanoTime();
+            List<Long> page = AclPermissionIndex.page(ids, ids.getCardinality() / 2, 50);
+            long t2 = System.nanoTime();
+            accessibleNanos[q] = t1 - t0;
+            pageNanos[q] = t2 - t1;
+            cardinality += ids.getCardinality();
+            assertThat(page).hasSizeLessThanOrEqualTo(50);
+        }
+        Arrays.sort(accessibleNanos);
+        Arrays.sort(pageNanos);
+        System.out.printf("accessibleIds (1 principal + 3 groups, avg %d ids): p50 %d us, p99 %d us%n",
+                cardinality / QUERIES, accessibleNanos[QUERIES / 2] / 1_000, accessibleNanos[QUERIES * 99 / 100] / 1_000);
+        System.out.printf("page(offset=mid, 50): p50 %d us, p99 %d us%n",
+                pageNanos[QUERIES / 2] / 1_000, pageNanos[QUERIES * 99 / 100] / 1_000);
+    }
+
+    private static Sid principal(int n) {
+        return new PrincipalSid("user-" + n);
+    }
+
+    private static Sid group(int n) {
+        return new GrantedAuthoritySid("GROUP_" + n);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The index follows committed changes only, so these tests commit their ACL writes and revoke them afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Permission Index Tests")
+class AclPermissionIndexTests {
+
+    private static final long PROJECT_ID = 9101L;
+    private static final long DOCUMENT_ID = 9102L;
+
+    @Autowired
+    private AclPermissionIndex permissionIndex;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void revokeGrants() {
+        inTransaction(() -> {
+            aclPermissionService.revokeAllForSid(Project.class, PROJECT_ID, sidResolver.principalSid("frank"));
+            aclPermissionService.revokeAllForSid(Document.class, DOCUMENT_ID, sidResolver.principalSid("frank"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should index committed grants and drop revoked ones")
+    void testFollowsGrantsAndRevokes() {
+        List<Sid> sids = List.of(sidResolver.principalSid("frank"));
+        assertThat(permissionIndex.accessibleIds(sids, Project.class, BasePermission.READ.getMask()).contains((int) PROJECT_ID)).isFalse();
+
+        inTransaction(() -> aclPermissionService.grantToUser(Project.class, PROJECT_ID, "frank", BasePermission.READ));
+        assertThat(permissionIndex.accessibleIds(sids, Project.class, BasePermission.READ.getMask()).contains((int) PROJECT_ID)).isTrue();
+
+        inTransaction(() -> aclPermissionService.revokePermissions(Project.class, PROJECT_ID, sidResolver.principalSid("frank"), List.of(BasePermission.READ)));
+        assertThat(permissionIndex.accessibleIds(sids, Project.class, BasePermission.READ.getMask()).contains((int) PROJECT_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should index grants inherited from the parent ACL")
+    void testFollowsInheritance() {
+        List<Sid> sids = List.of(sidResolver.principalSid("frank"));
+        inTransaction(() -> {
+            aclPermissionService.setParent(Document.class, DOCUMENT_ID, Project.class, PROJECT_ID, true);
+            aclPermissionService.grantToUser(Project.class, PROJECT_ID, "frank", BasePermission.WRITE);
+        });
+
+        RoaringBitmap documents = permissionIndex.accessibleIds(sids, Document.class, BasePermission.WRITE.getMask());
+        assertThat(documents.contains((int) DOCUMENT_ID)).isTrue();
+        assertThat(permissionIndex.isInheriting(Document.class, DOCUMENT_ID)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should page through an id bitmap by rank")
+    void testPage() {
+        RoaringBitmap ids = RoaringBitmap.bitmapOf(3, 5, 8, 13, 21, 34);
+
+        assertThat(AclPermissionIndex.page(ids, 0, 2)).containsExactly(3L, 5L);
+        assertThat(AclPermissionIndex.page(ids, 4, 10)).containsExactly(21L, 34L);
+        assertThat(AclPermissionIndex.page(ids, 6, 10)).isEmpty();
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.security.NegativeCachingLookupStrategy;
+import com.example.acl.security.StatementCountingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolvers here run on a statement counting DataSource; rows they create are committed, so the SIDs are unique to
+ * this class, while the bulk grant and bootstrap measurements are rolled back.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ACL Primary Key Resolver Tests")
+class AclPrimaryKeyResolverTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AclCache aclCache;
+
+    @Autowired
+    private AclBatchLoader aclBatchLoader;
+
+    @Autowired
+    private AclAuthorizationStrategy aclAuthorizationStrategy;
+
+    @Autowired
+    private NegativeCachingLookupStrategy lookupStrategy;
+
+    @Autowired
+    private AclEffectivePermissionStore effectivePermissionStore;
+
+    @Autowired
+    private AclAuditService auditService;
+
+    @Autowired
+    private AclAuditLogStore auditLogStore;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private AclPermissionRegistry permissionRegistry;
+
+    @Test
+    @DisplayName("Should insert missing keys without an identity query and cache them once committed")
+    void testCachesCommittedKeys() {
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        AclPrimaryKeyResolver resolver = new AclPrimaryKeyResolver(new NamedParameterJdbcTemplate(counting));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Long created = transaction.<Long>execute(status -> resolver.sidId(true, "pk-resolver-user", true));
+        assertThat(counting.statements()).isEqualTo(2);
+
+        counting.reset();
+        assertThat(transaction.<Long>execute(status -> resolver.sidId(true, "pk-resolver-user", false))).isEqualTo(created);
+        assertThat(resolver.sidId(new PrincipalSid("pk-resolver-user"))).isEqualTo(created);
+        assertThat(counting.statements()).isZero();
+
+        long classId = resolver.classId(Document.class);
+        counting.reset();
+        assertThat(resolver.classId(Document.class.getName(), false)).isEqualTo(classId);
+        assertThat(counting.statements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache keys inserted by a rolled back transaction")
+    void testForgetsRolledBackKeys() {
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        AclPrimaryKeyResolver resolver = new AclPrimaryKeyResolver(new NamedParameterJdbcTemplate(counting));
+
+        Long rolledBack = new TransactionTemplate(transactionManager).<Long>execute(status -> {
+            status.setRollbackOnly();
+            return resolver.sidId(false, "ROLE_PK_RESOLVER", true);
+        });
+        assertThat(rolledBack).isNotNull();
+
+        counting.reset();
+        assertThat(resolver.sidId(false, "ROLE_PK_RESOLVER", false)).isNull();
+        assertThat(counting.statements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should save the class and SID lookups of a bulk grant once the keys are cached")
+    void testBulkGrantRoundTrips() {
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        NamedParameterJdbcTemplate countingTemplate = new NamedParameterJdbcTemplate(counting);
+        AclPrimaryKeyResolver warm = new AclPrimaryKeyResolver(countingTemplate);
+        warm.classId(Document.class);
+        warm.sidId(sidResolver.principalSid("grace"));
+        warm.sidId(new PrincipalSid("system"));
+
+        int cold = rolledBack(counting, () -> bulkService(countingTemplate, new AclPrimaryKeyResolver(countingTemplate))
+                .grant(Document.class, List.of(9401L, 9402L), sidResolver.principalSid("grace"), List.of(BasePermission.READ), "system"));
+        int cached = rolledBack(counting, () -> bulkService(countingTemplate, warm)
+                .grant(Document.class, List.of(9401L, 9402L), sidResolver.principalSid("grace"), List.of(BasePermission.READ), "system"));
+        log.info("Bulk grant of 2 new ACLs: {} statements with cold keys, {} with cached keys", cold, cached);
+
+        assertThat(cold - cached).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should save the class lookups of every bootstrap page once the keys are cached")
+    void testBootstrapRoundTrips() {
+        StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+        AclPrimaryKeyResolver warm = new AclPrimaryKeyResolver(new NamedParameterJdbcTemplate(counting));
+        warm.classId(Project.class);
+        warm.classId(Document.class);
+        warm.classId(Comment.class);
+
+        int cold = rolledBack(counting, () -> bootstrapService(new AclPrimaryKeyResolver(new NamedParameterJdbcTemplate(counting)))
+                .bootstrap("system"));
+        int cached = rolledBack(counting, () -> bootstrapService(warm).bootstrap("system"));
+        log.info("Bootstrap in pages of 2: {} key statements with cold keys, {} with cached keys", cold, cached);
+
+        assertThat(cached).isLessThan(cold);
+    }
+
+    private int rolledBack(StatementCountingDataSource counting, Supplier<?> work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            counting.reset();
+            work.get();
+            status.setRollbackOnly();
+        });
+        aclCache.clearCache();
+        return counting.statements();
+    }
+
+    private AclBulkPermissionService bulkService(NamedParameterJdbcTemplate template, AclPrimaryKeyResolver resolver) {
+        return new AclBulkPermissionService(template, resolver, aclCache, aclBatchLoader, aclAuthorizationStrategy,
+                lookupStrategy, effectivePermissionStore, auditService);
+    }
+
+    private AclBulkBootstrapService bootstrapService(AclPrimaryKeyResolver resolver) {
+        return new AclBulkBootstrapService(jdbcTemplate, transactionManager, resolver, sidResolver, permissionRegistry,
+                effectivePermissionStore, lookupStrategy, auditService, auditLogStore, 2);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ACL SID Resolver Tests")
+class AclSidResolverTests {
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Test
+    @DisplayName("Should return the cached SID list for the same principal and authorities")
+    void testSidListCached() {
+        List<Sid> first = sidResolver.getSids(authentication("alice", "ROLE_MEMBER", "GROUP_ENGINEERING"));
+        List<Sid> second = sidResolver.getSids(authentication("alice", "ROLE_MEMBER", "GROUP_ENGINEERING"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).containsExactly(sidResolver.principalSid("alice"),
+                sidResolver.authoritySid("ROLE_MEMBER"), sidResolver.authoritySid("GROUP_ENGINEERING"));
+    }
+
+    @Test
+    @DisplayName("Should resolve a new SID list when the authorities change")
+    void testChangedAuthoritiesResolved() {
+        List<Sid> before = sidResolver.getSids(authentication("alice", "ROLE_MEMBER"));
+        List<Sid> after = sidResolver.getSids(authentication("alice", "ROLE_MEMBER", "GROUP_MARKETING"));
+
+        assertThat(after).isNotSameAs(before).contains(sidResolver.authoritySid("GROUP_MARKETING"));
+    }
+
+    @Test
+    @DisplayName("Should drop a user's SID lists on evict")
+    void testEvict() {
+        Authentication authentication = authentication("carol", "ROLE_MEMBER");
+        List<Sid> before = sidResolver.getSids(authentication);
+
+        sidResolver.evict("carol");
+
+        assertThat(sidResolver.getSids(authentication)).isNotSameAs(before).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached list to authorities with the same fingerprint")
+    void testFingerprintCollisionResolved() {
+        List<Sid> first = sidResolver.getSids(authentication("alice", "Aa"));
+        List<Sid> second = sidResolver.getSids(authentication("alice", "BB"));
+
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(second).isNotSameAs(first).contains(sidResolver.authoritySid("BB"))
+                .doesNotContain(sidResolver.authoritySid("Aa"));
+    }
+
+    @Test
+    @DisplayName("Should evict by username when a SID list without principal is cached")
+    void testEvictWithNullPrincipal() {
+        Authentication anonymous = new TestingAuthenticationToken(null, null, "ROLE_ANONYMOUS") {
+            @Override
+            public String getName() {
+                return null;
+            }
+        };
+        List<Sid> anonymousSids = sidResolver.getSids(anonymous);
+        List<Sid> before = sidResolver.getSids(authentication("dave", "ROLE_MEMBER"));
+
+        sidResolver.evict("dave");
+
+        assertThat(sidResolver.getSids(authentication("dave", "ROLE_MEMBER"))).isNotSameAs(before);
+        assertThat(sidResolver.getSids(anonymous)).isSameAs(anonymousSids)
+                .containsExactly(sidResolver.authoritySid("ROLE_ANONYMOUS"));
+    }
+
+    private Authentication authentication(String username, String... authorities) {
+        return UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.createAuthorityList(authorities));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Authorization Decision Memo Tests")
+class AuthorizationDecisionMemoTests {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"VIEWER"})
+    @DisplayName("Should reuse project role decisions across the elements of one @PostFilter")
+    void testDecisionsReusedWithinInvocation() {
+        double hitsBefore = memoCount("hit");
+        double missesBefore = memoCount("miss");
+
+        List<Document> documents = documentService.getAllDocuments();
+
+        assertThat(documents).isNotEmpty();
+        assertThat(memoCount("hit") - hitsBefore).isPositive();
+        assertThat(memoCount("miss") - missesBefore).isPositive();
+    }
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"VIEWER"})
+    @DisplayName("Should not carry decisions over to the next invocation")
+    void testMemoDiscardedAfterInvocation() {
+        Project project = projectRepository.findAll().stream()
+                .filter(p -> p.getName().equals("Bob's Internal Project"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(documentService.getAllDocuments())
+                .noneMatch(document -> document.getProject().getId().equals(project.getId()));
+
+        project.setPublic(true);
+        projectRepository.saveAndFlush(project);
+
+        assertThat(documentService.getAllDocuments())
+                .anyMatch(document -> document.getProject().getId().equals(project.getId()));
+    }
+
+    private double memoCount(String result) {
+        return meterRegistry.get("acl.decision.memo").tag("result", result).counter().count();
+    }
+}
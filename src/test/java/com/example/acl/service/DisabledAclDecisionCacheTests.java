@@ -0,0 +1,79 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.security.CustomMethodSecurityExpressionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With {@code acl.decision-cache.enabled=false} both the expression handler's permission evaluator and
+ * {@link AclPermissionService} evaluate every check against the ACLs, without touching the decision cache.
+ */
+@SpringBootTest(properties = "acl.decision-cache.enabled=false")
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = "ADMIN")
+@DisplayName("ACL Decision Cache Tests (disabled)")
+class DisabledAclDecisionCacheTests {
+
+    private static final Authentication ERIN = UsernamePasswordAuthenticationToken.authenticated(
+            "erin", null, AuthorityUtils.createAuthorityList("ROLE_MEMBER"));
+    private static final String CAN_READ = "hasPermission(9301L, 'com.example.acl.domain.Document', 'READ')";
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclDecisionCache decisionCache;
+
+    @Autowired
+    private CustomMethodSecurityExpressionHandler expressionHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should evaluate every check without caching decisions")
+    void testUndecoratedPath() throws Exception {
+        aclPermissionService.ensureAcl(Document.class, 9301L);
+        aclPermissionService.grantToUser(Document.class, 9301L, "erin", BasePermission.READ);
+        double gets = gets("hit") + gets("miss");
+
+        assertThat(decisionCache.isEnabled()).isFalse();
+        assertThat(canRead()).isTrue();
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9301L, BasePermission.READ)).isTrue();
+
+        aclPermissionService.revokeAllForSid(Document.class, 9301L, new PrincipalSid("erin"));
+
+        assertThat(canRead()).isFalse();
+        assertThat(aclPermissionService.hasPermission(ERIN, Document.class, 9301L, BasePermission.READ)).isFalse();
+        assertThat(decisionCache.size()).isZero();
+        assertThat(gets("hit") + gets("miss")).isEqualTo(gets);
+    }
+
+    private boolean canRead() throws NoSuchMethodException {
+        EvaluationContext context = expressionHandler.createEvaluationContext(
+                () -> ERIN, new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+        return Boolean.TRUE.equals(expressionHandler.getExpressionParser().parseExpression(CAN_READ)
+                .getValue(context, Boolean.class));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "aclDecisionCache").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("In-Memory ACL Audit Log Store Tests")
+class InMemoryAclAuditLogStoreTests {
+
+    @Test
+    @DisplayName("Should keep only the newest entries")
+    void testBounded() {
+        InMemoryAclAuditLogStore store = new InMemoryAclAuditLogStore(3);
+
+        store.save(entry(1));
+        store.saveAll(IntStream.rangeClosed(2, 5).mapToObj(InMemoryAclAuditLogStoreTests::entry).toList());
+
+        assertThat(store.findAll()).extracting(AclAuditLogEntry::objectId).containsExactly("3", "4", "5");
+    }
+
+    private static AclAuditLogEntry entry(int id) {
+        return new AclAuditLogEntry(Instant.now(), "admin", AclAuditOperation.GRANT, "Document", String.valueOf(id),
+                "grace", List.of("READ"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AclCachingBehaviorTests} against the in-memory ACL engine.
+ */
+@SpringBootTest(properties = "acl.engine=memory")
+@DisplayName("ACL Caching Behavior Tests (in-memory engine)")
+class InMemoryAclCachingBehaviorTests extends AclCachingBehaviorTests {
+}
@@ -0,0 +1,12 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AclServiceIntegrationTests} against the in-memory ACL engine.
+ */
+@SpringBootTest(properties = "acl.engine=memory")
+@DisplayName("ACL Service Integration Tests (in-memory engine)")
+class InMemoryAclServiceIntegrationTests extends AclServiceIntegrationTests {
+}
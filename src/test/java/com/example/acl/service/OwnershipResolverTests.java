@@ -0,0 +1,130 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.domain.Project;
+import com.example.acl.domain.User;
+import com.example.acl.repository.CommentRepository;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.repository.ProjectRepository;
+import com.example.acl.repository.UserRepository;
+import com.example.acl.security.CustomMethodSecurityExpressionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AclService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Ownership Resolver Tests")
+class OwnershipResolverTests {
+
+    @Autowired
+    private OwnershipResolver ownershipResolver;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AclPermissionService aclPermissionService;
+
+    @Autowired
+    private AclService aclService;
+
+    @Autowired
+    private CustomMethodSecurityExpressionHandler expressionHandler;
+
+    @Test
+    @DisplayName("Should resolve a batch of owners matching the entity authors and owners")
+    void testBatchMatchesEntities() {
+        List<Document> documents = documentRepository.findAll();
+        List<Project> projects = projectRepository.findAll();
+        List<Comment> comments = commentRepository.findAll();
+
+        assertThat(ownershipResolver.owners(Document.class, documents.stream().map(Document::getId).toList()))
+                .isEqualTo(documents.stream().collect(Collectors.toMap(Document::getId, d -> d.getAuthor().getUsername())));
+        assertThat(ownershipResolver.owners(Project.class, projects.stream().map(Project::getId).toList()))
+                .isEqualTo(projects.stream().collect(Collectors.toMap(Project::getId, p -> p.getOwner().getUsername())));
+        assertThat(ownershipResolver.owners(Comment.class, comments.stream().map(Comment::getId).toList()))
+                .isEqualTo(comments.stream().collect(Collectors.toMap(Comment::getId, c -> c.getAuthor().getUsername())));
+    }
+
+    @Test
+    @DisplayName("Should resolve owners of objects without an ACL and skip missing ids")
+    void testProjectionFallback() {
+        Document existing = documentRepository.findAll().get(0);
+        Document document = documentRepository.save(Document.builder()
+                .title("Written without ACL")
+                .content("Saved straight through the repository")
+                .project(existing.getProject())
+                .author(existing.getAuthor())
+                .build());
+        String author = existing.getAuthor().getUsername();
+
+        Map<Long, String> owners = ownershipResolver.owners(Document.class, List.of(document.getId(), 999_999L));
+
+        assertThat(owners).containsExactly(Map.entry(document.getId(), author));
+        assertThat(ownershipResolver.isOwner(Document.class, document.getId(), author)).isTrue();
+        assertThat(ownershipResolver.isOwner(Document.class, 999_999L, author)).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "alice", roles = "MANAGER")
+    @DisplayName("Should keep the author as owner when another user's bulk grant creates the ACL")
+    void testBulkGrantCreatedAcl() throws Exception {
+        Document existing = documentRepository.findAll().get(0);
+        User bob = userRepository.findByUsername("bob").orElseThrow();
+        Document document = documentRepository.save(Document.builder()
+                .title("Granted in bulk")
+                .content("The ACL is created by the bulk grant")
+                .project(existing.getProject())
+                .author(bob)
+                .build());
+
+        aclPermissionService.bulkGrantToUsers(Document.class, List.of(document.getId()), "carol", BasePermission.READ);
+
+        assertThat(aclService.readAclById(new ObjectIdentityImpl(Document.class, document.getId())).getOwner())
+                .isEqualTo(new PrincipalSid("alice"));
+        assertThat(ownershipResolver.owners(Document.class, List.of(document.getId())))
+                .containsExactly(Map.entry(document.getId(), "bob"));
+        assertThat(isDocumentOwner(document.getId(), "alice")).isFalse();
+        assertThat(isDocumentOwner(document.getId(), "bob")).isTrue();
+    }
+
+    private boolean isDocumentOwner(Long id, String username) throws NoSuchMethodException {
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        EvaluationContext context = expressionHandler.createEvaluationContext(
+                () -> authentication, new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+        return Boolean.TRUE.equals(expressionHandler.getExpressionParser().parseExpression("isDocumentOwner(" + id + "L)")
+                .getValue(context, Boolean.class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Project;
+import com.example.acl.domain.User;
+import com.example.acl.repository.ProjectMembershipView;
+import com.example.acl.repository.ProjectRepository;
+import com.example.acl.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Project Membership Resolver Tests")
+class ProjectMembershipResolverTests {
+
+    @Autowired
+    private ProjectMembershipResolver membershipResolver;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should agree with the project's owner, shared users, shared groups and public flag")
+    void testMatchesEntityMembership() {
+        List<Project> projects = projectRepository.findAll();
+        List<Long> projectIds = projects.stream().map(Project::getId).toList();
+
+        for (User user : userRepository.findAll()) {
+            Map<Long, ProjectMembershipView> memberships = membershipResolver.memberships(projectIds, user.getUsername());
+            assertThat(memberships).hasSize(projects.size());
+            for (Project project : projects) {
+                boolean owner = project.getOwner().getId().equals(user.getId());
+                boolean shared = project.getSharedWith().stream().anyMatch(u -> u.getId().equals(user.getId()))
+                        || project.getSharedWithGroups().stream().anyMatch(user.getGroups()::contains);
+                ProjectMembershipView membership = memberships.get(project.getId());
+
+                assertThat(membership.hasRole("OWNER")).as("%s OWNER of %s", user.getUsername(), project.getName()).isEqualTo(owner);
+                assertThat(membership.hasRole("CONTRIBUTOR")).as("%s CONTRIBUTOR of %s", user.getUsername(), project.getName())
+                        .isEqualTo(owner || shared);
+                assertThat(membership.hasRole("VIEWER")).as("%s VIEWER of %s", user.getUsername(), project.getName())
+                        .isEqualTo(owner || shared || project.isPublic());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report no membership for unknown projects and users")
+    void testUnknownProjectAndUser() {
+        Project project = projectRepository.findAll().stream().filter(p -> !p.isPublic()).findFirst().orElseThrow();
+
+        assertThat(membershipResolver.membership(999_999L, "alice")).isEmpty();
+        assertThat(membershipResolver.membership(project.getId(), "nobody"))
+                .hasValueSatisfying(membership -> assertThat(membership.hasRole("VIEWER")).isFalse());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AclCachingBehaviorTests} against the refreshing, single-flight ACL cache.
+ */
+@SpringBootTest(properties = "acl.cache.mode=refreshing")
+@DisplayName("ACL Caching Behavior Tests (refreshing cache)")
+class RefreshingAclCachingBehaviorTests extends AclCachingBehaviorTests {
+}
@@ -0,0 +1,12 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AclServiceIntegrationTests} against the refreshing, single-flight ACL cache.
+ */
+@SpringBootTest(properties = "acl.cache.mode=refreshing")
+@DisplayName("ACL Service Integration Tests (refreshing cache)")
+class RefreshingAclServiceIntegrationTests extends AclServiceIntegrationTests {
+}
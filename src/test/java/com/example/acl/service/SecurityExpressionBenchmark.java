@@ -0,0 +1,97 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.security.CustomMethodSecurityExpressionHandler;
+import com.example.acl.web.dto.DocumentUpdateRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * Throughput of the {@link DocumentService} security expressions, interpreted and compiled by SpEL.
+ * Helper decisions come from the per-invocation memo, so the numbers are dominated by expression evaluation.
+ * Run with {@code mvn test -Dtest=SecurityExpressionBenchmark -Dacl.benchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "acl.benchmark", matches = "true")
+@DisplayName("Security Expression Benchmark")
+class SecurityExpressionBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 500_000;
+
+    @Autowired
+    private CustomMethodSecurityExpressionHandler expressionHandler;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Test
+    @DisplayName("Should report interpreted and compiled throughput of the document expressions")
+    void benchmark() throws Exception {
+        Document document = documentRepository.findAll().stream()
+                .filter(d -> d.getTitle().equals("Q4 Marketing Strategy"))
+                .findFirst()
+                .orElseThrow();
+        Method getAll = DocumentService.class.getMethod("getAllDocuments");
+        Method update = DocumentService.class.getMethod("updateDocument", Long.class, DocumentUpdateRequest.class);
+
+        report("@PostFilter getAllDocuments", AnnotationUtils.findAnnotation(getAll, PostFilter.class).value(),
+                context(getAll, new Object[0], document));
+        report("@PreAuthorize updateDocument", AnnotationUtils.findAnnotation(update, PreAuthorize.class).value(),
+                context(update, new Object[]{document.getId(), null}, document));
+    }
+
+    private void report(String name, String expression, EvaluationContext context) {
+        double interpreted = throughput(new SpelExpressionParser().parseExpression(expression), context);
+        double compiled = throughput(new SpelExpressionParser(
+                new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()))
+                .parseExpression(expression), context);
+        System.out.printf("%s: interpreted %.0f ops/ms, compiled %.0f ops/ms (x%.1f)%n",
+                name, interpreted, compiled, compiled / interpreted);
+    }
+
+    private double throughput(Expression expression, EvaluationContext context) {
+        for (int i = 0; i < WARMUP; i++) {
+            expression.getValue(context, Boolean.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            expression.getValue(context, Boolean.class);
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private EvaluationContext context(Method method, Object[] arguments, Document document) {
+        EvaluationContext context = expressionHandler.createEvaluationContext(
+                () -> UsernamePasswordAuthenticationToken.authenticated("dave", null, AuthorityUtils.createAuthorityList("ROLE_VIEWER")),
+                new SimpleMethodInvocation(documentService, method, arguments));
+        MethodSecurityExpressionOperations root = (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        root.setFilterObject(document);
+        return context;
+    }
+}
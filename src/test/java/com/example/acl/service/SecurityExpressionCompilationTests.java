@@ -0,0 +1,128 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Comment;
+import com.example.acl.domain.Document;
+import com.example.acl.repository.CommentRepository;
+import com.example.acl.repository.DocumentRepository;
+import com.example.acl.security.CustomMethodSecurityExpressionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Security Expression Compilation Tests")
+class SecurityExpressionCompilationTests {
+
+    @Autowired
+    private CustomMethodSecurityExpressionHandler expressionHandler;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final Authentication dave = UsernamePasswordAuthenticationToken.authenticated(
+            "dave", null, AuthorityUtils.createAuthorityList("ROLE_VIEWER"));
+
+    @Test
+    @DisplayName("Should compile every service expression and evaluate it like the interpreter")
+    void testServiceExpressionsCompile() throws Exception {
+        Document document = documentRepository.findAll().stream()
+                .filter(d -> d.getTitle().equals("Q4 Marketing Strategy"))
+                .findFirst()
+                .orElseThrow();
+        Comment comment = commentRepository.findByDocument(document).get(0);
+
+        assertCompiles(documentService, DocumentService.class, document.getId(), document);
+        assertCompiles(projectService, ProjectService.class, document.getProject().getId(), document.getProject());
+        assertCompiles(commentService, CommentService.class, comment.getId(), comment);
+    }
+
+    @Test
+    @DisplayName("Should hand out the pre-parsed expression for a warmed annotation")
+    void testExpressionsArePreParsed() throws Exception {
+        String expression = AnnotationUtils.findAnnotation(
+                DocumentService.class.getMethod("getAllDocuments"), PostFilter.class).value();
+
+        assertThat(expressionHandler.getExpressionParser().parseExpression(expression))
+                .isSameAs(expressionHandler.getExpressionParser().parseExpression(expression));
+    }
+
+    private void assertCompiles(Object service, Class<?> serviceClass, Long id, Object domainObject) {
+        SpelExpressionParser interpreted = new SpelExpressionParser();
+        SpelExpressionParser compiled = new SpelExpressionParser(
+                new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+        for (Method method : serviceClass.getDeclaredMethods()) {
+            for (String expression : expressions(method)) {
+                Object[] arguments = new Object[method.getParameterCount()];
+                if (arguments.length > 0 && method.getParameterTypes()[0] == Long.class) {
+                    arguments[0] = id;
+                }
+                EvaluationContext context = context(service, method, arguments, domainObject);
+                SpelExpression compiledExpression = (SpelExpression) compiled.parseExpression(expression);
+
+                Boolean expected = interpreted.parseExpression(expression).getValue(context, Boolean.class);
+                assertThat(compiledExpression.getValue(context, Boolean.class)).isEqualTo(expected);
+                assertThat(compiledExpression.compileExpression()).as(expression).isTrue();
+                assertThat(compiledExpression.getValue(context(service, method, arguments, domainObject), Boolean.class))
+                        .as(expression)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    private EvaluationContext context(Object service, Method method, Object[] arguments, Object domainObject) {
+        EvaluationContext context = expressionHandler.createEvaluationContext(
+                () -> dave, new SimpleMethodInvocation(service, method, arguments));
+        MethodSecurityExpressionOperations root = (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        root.setFilterObject(domainObject);
+        root.setReturnObject(domainObject);
+        return context;
+    }
+
+    private List<String> expressions(Method method) {
+        return Stream.of(
+                        AnnotationUtils.findAnnotation(method, PreAuthorize.class),
+                        AnnotationUtils.findAnnotation(method, PostAuthorize.class),
+                        AnnotationUtils.findAnnotation(method, PostFilter.class))
+                .filter(Objects::nonNull)
+                .map(annotation -> (String) AnnotationUtils.getValue(annotation))
+                .toList();
+    }
+}
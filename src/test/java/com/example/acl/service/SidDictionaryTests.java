@@ -0,0 +1,74 @@
+package com.example.acl.service;
+
+import com.example.acl.domain.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclService;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("SID Dictionary Tests")
+class SidDictionaryTests {
+
+    @Autowired
+    private SidDictionary sidDictionary;
+
+    @Autowired
+    private AclSidResolver sidResolver;
+
+    @Autowired
+    private AclService aclService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should contain every SID of acl_sid after startup")
+    void testSeededFromAclSid() {
+        List<Sid> stored = jdbcTemplate.query("SELECT principal, sid FROM acl_sid",
+                (rs, rowNum) -> sidDictionary.sid(rs.getBoolean(1), rs.getString(2)));
+
+        assertThat(sidDictionary.size()).isGreaterThanOrEqualTo(stored.size());
+        assertThat(stored).allSatisfy(sid -> assertThat(sidDictionary.sid(sidDictionary.id(sid))).isSameAs(sid));
+    }
+
+    @Test
+    @DisplayName("Should hand out the same SID instance to the resolver and the ACL lookup")
+    void testCanonicalInstances() {
+        Acl acl = aclService.readAclById(new ObjectIdentityImpl(Document.class, 1L));
+
+        assertThat(acl.getOwner()).isSameAs(sidDictionary.canonical(acl.getOwner()));
+        for (AccessControlEntry ace : acl.getEntries()) {
+            assertThat(ace.getSid()).isSameAs(sidDictionary.canonical(ace.getSid()));
+        }
+        PrincipalSid owner = (PrincipalSid) acl.getOwner();
+        assertThat(sidResolver.principalSid(owner.getPrincipal())).isSameAs(owner);
+    }
+
+    @Test
+    @DisplayName("Should assign dense ids on first sight")
+    void testDenseIds() {
+        int size = sidDictionary.size();
+        Sid sid = sidDictionary.principal("sid-dictionary-newcomer");
+
+        assertThat(sidDictionary.id(sid)).isEqualTo(size);
+        assertThat(sidDictionary.principal("sid-dictionary-newcomer")).isSameAs(sid);
+        assertThat(sidDictionary.canonical(new PrincipalSid("sid-dictionary-newcomer"))).isSameAs(sid);
+        assertThat(sidDictionary.size()).isEqualTo(size + 1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.acl.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AclCachingBehaviorTests} with the off-heap second cache tier enabled.
+ */
+@SpringBootTest(properties = "acl.cache.off-heap.max-bytes=16MB")
+@DisplayName("ACL Caching Behavior Tests (off-heap tier)")
+class TieredAclCachingBehaviorTests extends AclCachingBehaviorTests {
+}
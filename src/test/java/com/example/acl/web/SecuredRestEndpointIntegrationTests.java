@@ -26,6 +26,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.example.acl.TestAuthentication.runAsAdmin;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
@@ -119,12 +120,12 @@ class SecuredRestEndpointIntegrationTests {
     void testForbiddenUpdate() throws Exception {
         Project project = projectRepository.findAll().stream().findFirst().orElseThrow();
         
-        aclPermissionService.grantToUser(
+        runAsAdmin(() -> aclPermissionService.grantToUser(
                 Project.class,
                 project.getId(),
                 "dave",
                 BasePermission.READ
-        );
+        ));
         
         ProjectUpdateRequest updateRequest = ProjectUpdateRequest.builder()
                 .name("Attempted Update")
@@ -267,6 +268,29 @@ class SecuredRestEndpointIntegrationTests {
                 .andExpect(jsonPath("$", hasSize((int) totalProjects)));
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("List should stay unpaged unless a page is requested")
+    void testListPagedOnlyOnRequest() throws Exception {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        for (int i = 0; i < 101; i++) {
+            projectRepository.save(Project.builder().name("Bulk Project " + i).owner(admin).build());
+        }
+        long totalProjects = projectRepository.count();
+
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(totalProjects)))
+                .andExpect(jsonPath("$", hasSize((int) totalProjects)));
+        mockMvc.perform(get("/api/projects").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(totalProjects)))
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/projects").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize((int) totalProjects - 100)));
+    }
+
     @Test
     @WithMockUser(username = "alice", roles = {"MANAGER"})
     @DisplayName("Owner should be able to create a document")
@@ -386,12 +410,12 @@ class SecuredRestEndpointIntegrationTests {
                 .findFirst()
                 .orElseThrow();
         
-        aclPermissionService.grantToUser(
+        runAsAdmin(() -> aclPermissionService.grantToUser(
                 Project.class,
                 project.getId(),
                 "bob",
                 BasePermission.READ
-        );
+        ));
         
         mockMvc.perform(get("/api/projects/" + project.getId()))
                 .andExpect(status().isOk())
@@ -402,27 +426,28 @@ class SecuredRestEndpointIntegrationTests {
     @WithMockUser(username = "bob", roles = {"MEMBER"})
     @DisplayName("After permission revocation, user should not access project")
     void testRevokedPermissionDenied() throws Exception {
+        // Bob is neither owner of, shared on nor in a group of this project, so only the ACL grant lets him in
         Project project = projectRepository.findAll().stream()
-                .filter(p -> !p.getOwner().getUsername().equals("bob"))
+                .filter(p -> p.getName().equals("Marketing Campaign Project"))
                 .findFirst()
                 .orElseThrow();
         
-        aclPermissionService.grantToUser(
+        runAsAdmin(() -> aclPermissionService.grantToUser(
                 Project.class,
                 project.getId(),
                 "bob",
                 BasePermission.READ
-        );
+        ));
         
         mockMvc.perform(get("/api/projects/" + project.getId()))
                 .andExpect(status().isOk());
         
-        aclPermissionService.revokePermissions(
+        runAsAdmin(() -> aclPermissionService.revokePermissions(
                 Project.class,
                 project.getId(),
                 sidResolver.principalSid("bob"),
                 java.util.List.of(BasePermission.READ)
-        );
+        ));
         
         mockMvc.perform(get("/api/projects/" + project.getId()))
                 .andExpect(status().isForbidden());